@@ -0,0 +1,104 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the supermarkets and products files on a background thread, so the
+ * menu can keep being used while the files are written.
+ * <p>
+ * Each export takes a {@link CatalogueSnapshot} of the list on the calling
+ * thread, which copies no product, and writes it on a single background
+ * thread. Only the supermarkets changed before the export reaches them are
+ * copied. Exports requested while
+ * another one is running are queued and written in order. The result of each
+ * export is reported through {@link UtilsIO#showInfo(String)} or
+ * {@link UtilsIO#showError(String)}.
+ * </p>
+ */
+public class AsyncExporter {
+
+    private final UtilsIO io;
+    private final FileUtils fu;
+    private final CatalogueMetrics metrics;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalogue-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs an exporter.
+     *
+     * @param io The console used to report the result of each export.
+     * @param fu The working directory the files are written to.
+     */
+    public AsyncExporter(UtilsIO io, FileUtils fu) {
+        this(io, fu, null);
+    }
+
+    /**
+     * Constructs an exporter that records every export in some metrics.
+     *
+     * @param io      The console used to report the result of each export.
+     * @param fu      The working directory the files are written to.
+     * @param metrics The metrics the exports are recorded in, or null.
+     */
+    public AsyncExporter(UtilsIO io, FileUtils fu, CatalogueMetrics metrics) {
+        this.io = io;
+        this.fu = fu;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Takes a snapshot of a list and starts writing it in the background.
+     *
+     * @param supermarketList  The list to export.
+     * @param marketFileName   The name of the supermarkets file.
+     * @param productsFileName The name of the products file.
+     * @return The running export, which completes once the result has been
+     *         reported.
+     */
+    public Future<?> export(SupermarketList supermarketList, String marketFileName, String productsFileName) {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        Future<?> export;
+        try {
+            export = executor.submit(() -> write(snapshot, marketFileName, productsFileName));
+        } catch (RejectedExecutionException e) {
+            snapshot.release();
+            throw e;
+        }
+        io.showInfo(Constants.MESSAGE_EXPORT_STARTED);
+        return export;
+    }
+
+    private void write(CatalogueSnapshot snapshot, String marketFileName, String productsFileName) {
+        try {
+            long start = System.nanoTime();
+            snapshot.writeFiles(fu, marketFileName, productsFileName);
+            if (metrics != null) {
+                metrics.recordExport(new File(fu.getFilePath(marketFileName)).length()
+                        + new File(fu.getFilePath(productsFileName)).length(), System.nanoTime() - start);
+            }
+            io.showInfo(Constants.MESSAGE_FILES_CREATED);
+        } catch (IOException | IllegalArgumentException e) {
+            io.showError(Constants.ERROR_WRITING_FILE);
+        }
+    }
+
+    /**
+     * Stops accepting exports and waits for the ones already requested to
+     * finish.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
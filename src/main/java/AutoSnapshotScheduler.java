@@ -0,0 +1,231 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves numbered snapshots of a {@link SupermarketList} to the data directory
+ * in the background.
+ * <p>
+ * A snapshot is written every interval if the list changed since the last
+ * one, and also as soon as the number of changes reported through
+ * {@link #recordChange()} reaches a threshold. Each snapshot is a
+ * {@link CatalogueSnapshot}: taking it copies no product, and writing it locks
+ * the list for one supermarket at a time.
+ * </p>
+ * <p>
+ * Generation {@code n} is stored as {@code snapshot-n-supermarkets.txt} and
+ * {@code snapshot-n-products.txt}, or with the names of the compressed files
+ * if the scheduler is given them. Only the newest generations are kept; older
+ * ones are deleted after every snapshot, and the temporary files of a snapshot
+ * interrupted by a crash are deleted when the scheduler is constructed.
+ * </p>
+ */
+public class AutoSnapshotScheduler {
+
+    private final SupermarketList supermarketList;
+    private final FileUtils fu;
+    private final UtilsIO io;
+    private final long intervalSeconds;
+    private final int changeThreshold;
+    private final int generations;
+    private final String marketFileName;
+    private final String productsFileName;
+    private final AtomicInteger changes = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalogue-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long generation;
+
+    /**
+     * Constructs a scheduler. Nothing is written until {@link #start()} is
+     * called.
+     *
+     * @param supermarketList The list to save.
+     * @param fu              The data directory.
+     * @param io              The console used to report failed snapshots.
+     * @param intervalSeconds The seconds between checks for changes.
+     * @param changeThreshold The number of changes that triggers a snapshot
+     *                        before the interval ends.
+     * @param generations     The number of snapshots to keep.
+     * @throws IllegalArgumentException If the interval, the threshold or the
+     *                                  number of generations is not positive.
+     */
+    public AutoSnapshotScheduler(SupermarketList supermarketList, FileUtils fu, UtilsIO io, long intervalSeconds,
+            int changeThreshold, int generations) {
+        this(supermarketList, fu, io, intervalSeconds, changeThreshold, generations, Constants.SUPERMARKETS_FILE_NAME,
+                Constants.PRODUCTS_FILE_NAME);
+    }
+
+    /**
+     * Constructs a scheduler that names the snapshots after some exported
+     * files, such as the compressed ones. Nothing is written until
+     * {@link #start()} is called.
+     *
+     * @param supermarketList  The list to save.
+     * @param fu               The data directory.
+     * @param io               The console used to report failed snapshots.
+     * @param intervalSeconds  The seconds between checks for changes.
+     * @param changeThreshold  The number of changes that triggers a snapshot
+     *                         before the interval ends.
+     * @param generations      The number of snapshots to keep.
+     * @param marketFileName   The name of the supermarkets file.
+     * @param productsFileName The name of the products file.
+     * @throws IllegalArgumentException If the interval, the threshold or the
+     *                                  number of generations is not positive.
+     */
+    public AutoSnapshotScheduler(SupermarketList supermarketList, FileUtils fu, UtilsIO io, long intervalSeconds,
+            int changeThreshold, int generations, String marketFileName, String productsFileName) {
+        if (intervalSeconds <= 0 || changeThreshold <= 0 || generations <= 0) {
+            throw new IllegalArgumentException(Constants.ERROR_AUTO_SNAPSHOT_SETTINGS);
+        }
+        this.supermarketList = supermarketList;
+        this.fu = fu;
+        this.io = io;
+        this.intervalSeconds = intervalSeconds;
+        this.changeThreshold = changeThreshold;
+        this.generations = generations;
+        this.marketFileName = marketFileName;
+        this.productsFileName = productsFileName;
+        this.generation = lastGeneration();
+    }
+
+    /**
+     * Starts checking for changes every interval.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::snapshotIfChanged, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records one change to the list.
+     *
+     * @see #recordChanges(int)
+     */
+    public void recordChange() {
+        recordChanges(1);
+    }
+
+    /**
+     * Records some changes to the list, such as the rows of an import. The
+     * call that takes the number of changes up to the threshold or past it
+     * requests a snapshot without waiting for the interval.
+     *
+     * @param count The number of changes.
+     */
+    public void recordChanges(int count) {
+        if (count <= 0) {
+            return;
+        }
+        int before = changes.getAndAdd(count);
+        if (before < changeThreshold && before + count >= changeThreshold) {
+            scheduler.execute(this::snapshotIfChanged);
+        }
+    }
+
+    /**
+     * Stops the scheduler, waiting for a snapshot in progress. Changes not
+     * saved yet are not written.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of the newest snapshot written.
+     *
+     * @return The generation, or 0 if there is none.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the name of a snapshot file.
+     *
+     * @param generation The generation of the snapshot.
+     * @param fileName   The name of the exported file.
+     * @return The name of the file for that generation.
+     */
+    static String snapshotFileName(long generation, String fileName) {
+        return Constants.AUTO_SNAPSHOT_FILE_PREFIX + generation + "-" + fileName;
+    }
+
+    /**
+     * Writes a new generation if the list changed since the last one. A
+     * failure is reported and the changes are kept for the next attempt; it
+     * never stops the scheduler.
+     */
+    synchronized void snapshotIfChanged() {
+        int pending = changes.getAndSet(0);
+        if (pending == 0) {
+            return;
+        }
+        long next = generation + 1;
+        try {
+            CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+            snapshot.writeFiles(fu, snapshotFileName(next, marketFileName), snapshotFileName(next, productsFileName));
+            generation = next;
+            deleteOldGenerations();
+        } catch (IOException | RuntimeException e) {
+            // una excepción no capturada cancelaría todas las copias siguientes
+            changes.addAndGet(pending);
+            io.showError(Constants.ERROR_AUTO_SNAPSHOT);
+        }
+    }
+
+    private void deleteOldGenerations() {
+        String[] fileNames = new File(fu.getDataDirectory()).list();
+        if (fileNames == null) {
+            return;
+        }
+        for (String fileName : fileNames) {
+            long fileGeneration = generationOf(fileName);
+            if (fileGeneration > 0 && fileGeneration <= generation - generations) {
+                fu.deleteFile(fileName);
+            }
+        }
+    }
+
+    private long lastGeneration() {
+        long last = 0;
+        String[] fileNames = new File(fu.getDataDirectory()).list();
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                if (fileName.startsWith(Constants.TEMP_FILE_PREFIX + Constants.AUTO_SNAPSHOT_FILE_PREFIX)) {
+                    fu.deleteFile(fileName);
+                } else {
+                    last = Math.max(last, generationOf(fileName));
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Gets the generation of a snapshot file from its name.
+     *
+     * @param fileName The name of a file of the data directory.
+     * @return The generation, or 0 if the file is not a snapshot.
+     */
+    private static long generationOf(String fileName) {
+        if (!fileName.startsWith(Constants.AUTO_SNAPSHOT_FILE_PREFIX)) {
+            return 0;
+        }
+        int start = Constants.AUTO_SNAPSHOT_FILE_PREFIX.length();
+        int end = fileName.indexOf('-', start);
+        if (end <= start || !ConsoleReader.isInteger(fileName.substring(start, end))) {
+            return 0;
+        }
+        return Long.parseLong(fileName.substring(start, end));
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes a script of commands against a {@link SupermarketList} without any
+ * prompt or menu.
+ * <p>
+ * Each line of the script is one command, with its fields separated by commas
+ * in the same way as the data files. Empty lines and lines starting with
+ * {@value Constants#BATCH_COMMENT_PREFIX} are ignored. The supported commands
+ * are:
+ * </p>
+ * <ul>
+ * <li>{@code ADD_SUPERMARKET,[name],[city],[longitude],[latitude]}</li>
+ * <li>{@code ADD_PRODUCT,[name],[city],[product],[price],[stock],FOOD,[yyyyMMdd]}</li>
+ * <li>{@code ADD_PRODUCT,[name],[city],[product],[price],[stock],COSMETIC,[brand]}</li>
+ * <li>{@code EXPORT}</li>
+ * <li>{@code IMPORT}</li>
+ * </ul>
+ * <p>
+ * Invalid commands are counted instead of shown one by one, and a summary with
+ * the number of commands, errors and the throughput is shown at the end. An
+ * export or import that fails counts as an error, and every row rejected by an
+ * import counts as one more.
+ * </p>
+ */
+public class BatchMode {
+
+    private static final int SUPERMARKET_FIELDS = 5;
+    private static final int PRODUCT_FIELDS = 8;
+
+    private final EAC7S22425 program;
+    private final UtilsIO io;
+    private final FileUtils fu;
+    private final SupermarketList supermarketList;
+    private final List<String> reportedErrors = new ArrayList<>();
+    private int commandCount;
+    private int errorCount;
+
+    /**
+     * Constructs a batch runner over a supermarket list.
+     *
+     * @param program         The program used to export and import files.
+     * @param io              The console used for the messages and the summary.
+     * @param fu              The files used by the export and import commands.
+     * @param supermarketList The list the commands are executed against.
+     */
+    public BatchMode(EAC7S22425 program, UtilsIO io, FileUtils fu, SupermarketList supermarketList) {
+        this.program = program;
+        this.io = io;
+        this.fu = fu;
+        this.supermarketList = supermarketList;
+    }
+
+    /**
+     * Executes every command of a script and shows the summary.
+     *
+     * @param script The script to execute.
+     * @throws IOException If the script cannot be read.
+     */
+    public void run(BufferedReader script) throws IOException {
+        long start = System.nanoTime();
+        String line;
+        int lineNumber = 0;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith(Constants.BATCH_COMMENT_PREFIX)) {
+                continue;
+            }
+            commandCount++;
+            String error = execute(line, lineNumber);
+            if (error != null) {
+                addErrors(lineNumber, error, 1);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        showSummary(elapsedNanos);
+    }
+
+    /**
+     * Gets the number of commands executed.
+     *
+     * @return The number of commands, excluding empty lines and comments.
+     */
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Gets the number of commands that failed.
+     *
+     * @return The number of failed commands.
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Counts errors of one line and keeps its message for the summary.
+     *
+     * @param lineNumber The line of the script.
+     * @param error      The error message.
+     * @param count      The number of errors.
+     */
+    private void addErrors(int lineNumber, String error, int count) {
+        errorCount += count;
+        if (reportedErrors.size() < Constants.BATCH_MAX_REPORTED_ERRORS) {
+            reportedErrors.add(String.format(Constants.ERROR_BATCH_LINE, lineNumber, error));
+        }
+    }
+
+    /**
+     * Executes one command.
+     *
+     * @param line       The command line.
+     * @param lineNumber The line of the script.
+     * @return The error message, or null if the command succeeded.
+     */
+    private String execute(String line, int lineNumber) {
+        String[] fields = line.split(",", -1);
+        try {
+            switch (fields[0]) {
+                case Constants.BATCH_COMMAND_ADD_SUPERMARKET:
+                    return addSupermarket(fields);
+                case Constants.BATCH_COMMAND_ADD_PRODUCT:
+                    return addProduct(fields);
+                case Constants.BATCH_COMMAND_EXPORT:
+                    return program.exportSupermarkets(io, fu, supermarketList) ? null
+                            : Constants.ERROR_BATCH_EXPORT_FAILED;
+                case Constants.BATCH_COMMAND_IMPORT:
+                    return importFiles(lineNumber);
+                default:
+                    return Constants.ERROR_BATCH_UNKNOWN_COMMAND;
+            }
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Imports the files, counting every rejected row as an error of the line.
+     *
+     * @param lineNumber The line of the script.
+     * @return The error message if the files could not be imported, or null.
+     */
+    private String importFiles(int lineNumber) {
+        ImportReport report = program.importSupermarkets(io, fu, supermarketList);
+        if (report == null) {
+            return Constants.ERROR_BATCH_IMPORT_FAILED;
+        }
+        if (report.getRejectedCount() > 0) {
+            addErrors(lineNumber, String.format(Constants.ERROR_BATCH_ROWS_REJECTED, report.getRejectedCount()),
+                    report.getRejectedCount());
+        }
+        return null;
+    }
+
+    private String addSupermarket(String[] fields) {
+        if (fields.length != SUPERMARKET_FIELDS) {
+            return Constants.ERROR_BATCH_WRONG_FIELDS;
+        }
+        if (fields[1].isEmpty()) {
+            return Constants.ERROR_SUPERMARKET_NAME_NULL_OR_EMPTY;
+        }
+        if (fields[2].isEmpty()) {
+            return Constants.ERROR_SUPERMARKET_CITY_NULL_OR_EMPTY;
+        }
+        String longitude = ConsoleReader.normalizeDecimal(fields[3]);
+        String latitude = ConsoleReader.normalizeDecimal(fields[4]);
+        if (longitude == null || latitude == null) {
+            return Constants.ERROR_IMPORT_NOT_A_NUMBER;
+        }
+        if (supermarketList.lookForSupermarket(fields[1], fields[2]) != null) {
+            return Constants.ERROR_SUPERMARKET_ALREADY_ON_LIST;
+        }
+        supermarketList.addSupermarket(new Supermarket(fields[1], fields[2], Float.parseFloat(longitude),
+                Float.parseFloat(latitude)));
+        return null;
+    }
+
+    private String addProduct(String[] fields) {
+        if (fields.length != PRODUCT_FIELDS) {
+            return Constants.ERROR_BATCH_WRONG_FIELDS;
+        }
+        Supermarket supermarket = supermarketList.lookForSupermarket(fields[1], fields[2]);
+        if (supermarket == null) {
+            return Constants.ERROR_SUPERMARKET_NOT_FOUND;
+        }
+        String normalizedPrice = ConsoleReader.normalizeDecimal(fields[4]);
+        if (normalizedPrice == null || !ConsoleReader.isInteger(fields[5])) {
+            return Constants.ERROR_IMPORT_NOT_A_NUMBER;
+        }
+        if (supermarket.hasProduct(fields[3])) {
+            return Constants.ERROR_PRODUCT_ALREADY_EXISTS;
+        }
+        float price = Float.parseFloat(normalizedPrice);
+        int stock = Integer.parseInt(fields[5]);
+        ValidationResult<? extends Product> result;
+        if (fields[6].equals(Constants.PRODUCT_IMPORT_TYPE_FOOD)) {
+            result = FoodProduct.create(fields[3], price, stock, fields[7]);
+        } else if (fields[6].equals(Constants.PRODUCT_IMPORT_TYPE_COSMETIC)) {
+            result = CosmeticProduct.create(fields[3], price, stock, fields[7]);
+        } else {
+            return Constants.ERROR_BATCH_UNKNOWN_PRODUCT_TYPE;
+        }
+        if (!result.isValid()) {
+            return result.getError();
+        }
+        supermarket.addProduct(result.getValue());
+        return null;
+    }
+
+    private void showSummary(long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        double commandsPerSecond = elapsedNanos > 0 ? commandCount * 1_000_000_000.0 / elapsedNanos : 0;
+        StringBuilder summary = new StringBuilder(String.format(Constants.MESSAGE_BATCH_SUMMARY,
+                commandCount, errorCount, elapsedMillis, commandsPerSecond));
+        for (String error : reportedErrors) {
+            summary.append(System.lineSeparator()).append(error);
+        }
+        io.showInfo(summary.toString());
+        io.flush();
+    }
+}
@@ -0,0 +1,284 @@
+import java.io.IOException;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder events of the catalogue, in the "Catalogue"
+ * category.
+ * <p>
+ * The events are only filled in when a recording has enabled them, so they
+ * cost next to nothing otherwise. {@link Lookup} is emitted for every search
+ * and is disabled by default; it has to be enabled in the recording settings
+ * ({@code catalogue.Lookup#enabled=true}).
+ * </p>
+ */
+final class CatalogueEvents {
+
+    private CatalogueEvents() {
+    }
+
+    /**
+     * One phase of an import: reading the supermarkets or the products.
+     */
+    @Name("catalogue.ImportPhase")
+    @Label("Import Phase")
+    @Category({ "Catalogue", "Import" })
+    @Description("Reads and imports one of the data files")
+    static final class ImportPhase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("File")
+        String file;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Rejected Rows")
+        int rejected;
+
+        private transient int rejectedAtStart;
+
+        static ImportPhase start(String phase, String file, ImportReport report) {
+            ImportPhase event = new ImportPhase();
+            event.phase = phase;
+            event.file = file;
+            event.rejectedAtStart = report.getRejectedCount();
+            event.begin();
+            return event;
+        }
+
+        void finish(int rows, ImportReport report) {
+            end();
+            if (shouldCommit()) {
+                this.rows = rows;
+                this.rejected = report.getRejectedCount() - rejectedAtStart;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * A batch of {@value #ROWS} rows of the products file, with the time spent
+     * reading the lines apart from the time spent parsing, validating and
+     * merging them, expiration dates included.
+     */
+    @Name("catalogue.ImportBatch")
+    @Label("Import Batch")
+    @Category({ "Catalogue", "Import" })
+    @Description("Imports a batch of rows of the products file")
+    static final class ImportBatch extends Event {
+        static final int ROWS = 10_000;
+
+        @Label("File")
+        String file;
+
+        @Label("First Row")
+        int firstRow;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Rejected Rows")
+        int rejected;
+
+        @Label("Read Time")
+        @Description("Time spent reading and decoding the lines")
+        @Timespan
+        long readTime;
+
+        @Label("Import Time")
+        @Description("Time spent parsing, validating and merging the rows")
+        @Timespan
+        long importTime;
+
+        private transient int rejectedAtStart;
+        private transient boolean timed;
+
+        static ImportBatch start(String file, int firstRow, ImportReport report) {
+            ImportBatch event = new ImportBatch();
+            event.file = file;
+            event.firstRow = firstRow;
+            event.rejectedAtStart = report.getRejectedCount();
+            event.timed = event.isEnabled();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Reads the next line, adding the time taken to the read time.
+         */
+        String readLine(Utf8LineReader reader) throws IOException {
+            if (!timed) {
+                return reader.readLine();
+            }
+            long start = System.nanoTime();
+            String line = reader.readLine();
+            readTime += System.nanoTime() - start;
+            return line;
+        }
+
+        /**
+         * Marks the start of the import of a row.
+         *
+         * @return The value to pass to {@link #endRow(long)}.
+         */
+        long startRow() {
+            rows++;
+            return timed ? System.nanoTime() : 0;
+        }
+
+        void endRow(long start) {
+            if (timed) {
+                importTime += System.nanoTime() - start;
+            }
+        }
+
+        void finish(ImportReport report) {
+            end();
+            if (shouldCommit()) {
+                rejected = report.getRejectedCount() - rejectedAtStart;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * The export of the supermarkets and products files.
+     */
+    @Name("catalogue.Export")
+    @Label("Export")
+    @Category({ "Catalogue", "Export" })
+    @Description("Writes the supermarkets and products files")
+    static final class Export extends Event {
+        @Label("Supermarkets File")
+        String marketsFile;
+
+        @Label("Products File")
+        String productsFile;
+
+        @Label("Supermarkets")
+        int supermarkets;
+
+        @Label("Products")
+        long products;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytes;
+    }
+
+    /**
+     * A data file read through {@link FileUtils#openReader(String)}, from the
+     * moment it is opened until it is closed.
+     */
+    @Name("catalogue.FileRead")
+    @Label("File Read")
+    @Category({ "Catalogue", "File I/O" })
+    static final class FileRead extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Compressed")
+        boolean compressed;
+
+        @Label("Bytes Read")
+        @Description("Bytes read from the disk, before decompression")
+        @DataAmount
+        long bytes;
+
+        @Label("I/O Time")
+        @Description("Time spent waiting for the disk and decompressing")
+        @Timespan
+        long ioTime;
+    }
+
+    /**
+     * A data file written through {@link FileUtils#openWriter(String)}, from
+     * the moment it is opened until it is closed.
+     */
+    @Name("catalogue.FileWrite")
+    @Label("File Write")
+    @Category({ "Catalogue", "File I/O" })
+    static final class FileWrite extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Compressed")
+        boolean compressed;
+
+        @Label("Bytes Written")
+        @Description("Bytes written to the disk, after compression")
+        @DataAmount
+        long bytes;
+
+        @Label("I/O Time")
+        @Description("Time spent compressing and writing to the disk")
+        @Timespan
+        long ioTime;
+    }
+
+    /**
+     * A discount applied to one product of a supermarket, the discount the
+     * program offers through the HTTP server and the shards.
+     */
+    @Name("catalogue.ProductDiscount")
+    @Label("Product Discount")
+    @Category({ "Catalogue", "Discount" })
+    static final class ProductDiscount extends Event {
+        @Label("Supermarket")
+        String supermarket;
+
+        @Label("City")
+        String city;
+
+        @Label("Product")
+        String product;
+
+        @Label("Base Discount")
+        float baseDiscount;
+
+        @Label("Discounted Price")
+        float discountedPrice;
+    }
+
+    /**
+     * The value of the stock of a whole list once a discount is applied to
+     * every product, served by the {@code /stock} endpoint.
+     */
+    @Name("catalogue.DiscountRun")
+    @Label("Discount Run")
+    @Category({ "Catalogue", "Discount" })
+    static final class DiscountRun extends Event {
+        @Label("Base Discount")
+        float baseDiscount;
+
+        @Label("Supermarkets")
+        int supermarkets;
+
+        @Label("Partitions")
+        int partitions;
+    }
+
+    /**
+     * A search of a supermarket by name and city.
+     */
+    @Name("catalogue.Lookup")
+    @Label("Supermarket Lookup")
+    @Category({ "Catalogue", "Lookup" })
+    @Enabled(false)
+    static final class Lookup extends Event {
+        @Label("Found")
+        boolean found;
+
+        @Label("Partitioned")
+        boolean partitioned;
+    }
+}
@@ -0,0 +1,303 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An embedded HTTP server that answers read-only queries over a
+ * {@link SupermarketList}.
+ * <p>
+ * The server only listens on the loopback interface and handles every request
+ * on its own virtual thread. All the endpoints accept GET requests and answer
+ * with plain text in the same format as the data files:
+ * </p>
+ * <ul>
+ * <li>{@code /supermarket?name=&city=} uses
+ * {@link SupermarketList#lookForSupermarket(String, String)}</li>
+ * <li>{@code /supermarkets/city?city=} uses
+ * {@link SupermarketList#filterByCity(String)}</li>
+ * <li>{@code /supermarkets/name?name=} uses
+ * {@link SupermarketList#filterByName(String)}</li>
+ * <li>{@code /product?name=&city=&product=} uses
+ * {@link Supermarket#getProduct(String)}</li>
+ * <li>{@code /discount?name=&city=&product=&discount=} uses
+ * {@link Supermarket#applyDiscountToProduct(String, float)}</li>
+ * <li>{@code /cheapest?product=&count=} uses
+ * {@link ProductPriceIndex#cheapest(String, int)} and answers one line per
+ * store, with the name and city of the store followed by the product</li>
+ * <li>{@code /search?prefix=&count=} and {@code /search?text=&count=} use
+ * {@link ProductNameIndex} and answer one product name per line, from every
+ * supermarket</li>
+ * <li>{@code /stock?discount=} uses {@link SupermarketList#getTotalStock()}
+ * and {@link SupermarketList#getDiscountedStockValue(float)} and answers the
+ * total stock and, on a second line, the value of the stock once the discount
+ * (0 by default) is applied</li>
+ * </ul>
+ * <p>
+ * Handlers read the list while holding its monitor, so code that modifies the
+ * list concurrently must synchronize on it as well.
+ * </p>
+ */
+public class CatalogueHttpServer {
+
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_INTERNAL_ERROR = 500;
+    private static final String CONTENT_TYPE = "text/plain; charset=UTF-8";
+
+    private final SupermarketList supermarketList;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a server bound to a port of the loopback interface. The server
+     * does not accept requests until {@link #start()} is called.
+     *
+     * @param supermarketList The list to query.
+     * @param port            The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public CatalogueHttpServer(SupermarketList supermarketList, int port) throws IOException {
+        if (supermarketList == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
+        }
+        this.supermarketList = supermarketList;
+        synchronized (supermarketList) {
+            supermarketList.enablePriceIndex();
+            supermarketList.enableProductNameIndex();
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(Constants.HTTP_PATH_SUPERMARKET, handler(this::lookForSupermarket));
+        server.createContext(Constants.HTTP_PATH_SUPERMARKETS_BY_CITY, handler(this::filterByCity));
+        server.createContext(Constants.HTTP_PATH_SUPERMARKETS_BY_NAME, handler(this::filterByName));
+        server.createContext(Constants.HTTP_PATH_PRODUCT, handler(this::getProduct));
+        server.createContext(Constants.HTTP_PATH_DISCOUNT, handler(this::applyDiscount));
+        server.createContext(Constants.HTTP_PATH_CHEAPEST, handler(this::cheapest));
+        server.createContext(Constants.HTTP_PATH_SEARCH, handler(this::search));
+        server.createContext(Constants.HTTP_PATH_STOCK, handler(this::stock));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting at most one second for running requests.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private Response lookForSupermarket(Map<String, String> query) {
+        synchronized (supermarketList) {
+            Supermarket supermarket = supermarketList.lookForSupermarket(query.get("name"), query.get("city"));
+            if (supermarket == null) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_SUPERMARKET_NOT_FOUND);
+            }
+            return new Response(STATUS_OK, supermarket.supermarketToString());
+        }
+    }
+
+    private Response filterByCity(Map<String, String> query) {
+        synchronized (supermarketList) {
+            return new Response(STATUS_OK, supermarketList.filterByCity(query.get("city")).listToString());
+        }
+    }
+
+    private Response filterByName(Map<String, String> query) {
+        synchronized (supermarketList) {
+            return new Response(STATUS_OK, supermarketList.filterByName(query.get("name")).listToString());
+        }
+    }
+
+    private Response getProduct(Map<String, String> query) {
+        synchronized (supermarketList) {
+            Supermarket supermarket = supermarketList.lookForSupermarket(query.get("name"), query.get("city"));
+            if (supermarket == null) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_SUPERMARKET_NOT_FOUND);
+            }
+            Product product = supermarket.getProduct(query.get("product"));
+            if (product == null) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_PRODUCT_NOT_FOUND);
+            }
+            return new Response(STATUS_OK, product.toString());
+        }
+    }
+
+    private Response applyDiscount(Map<String, String> query) {
+        String discount = query.get("discount");
+        if (discount == null) {
+            return new Response(STATUS_BAD_REQUEST, Constants.ERROR_BASE_DISCOUNT_OUT_OF_RANGE);
+        }
+        String normalized = ConsoleReader.normalizeDecimal(discount);
+        if (normalized == null) {
+            return new Response(STATUS_BAD_REQUEST, Constants.ERROR_IMPORT_NOT_A_NUMBER);
+        }
+        float baseDiscount = Float.parseFloat(normalized);
+        synchronized (supermarketList) {
+            Supermarket supermarket = supermarketList.lookForSupermarket(query.get("name"), query.get("city"));
+            if (supermarket == null) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_SUPERMARKET_NOT_FOUND);
+            }
+            String productName = query.get("product");
+            if (productName == null || !supermarket.hasProduct(productName)) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_PRODUCT_NOT_FOUND);
+            }
+            float discountedPrice = supermarket.applyDiscountToProduct(productName, baseDiscount);
+            return new Response(STATUS_OK, String.format("%.2f%n", discountedPrice));
+        }
+    }
+
+    private Response stock(Map<String, String> query) {
+        String normalized = ConsoleReader.normalizeDecimal(query.getOrDefault("discount", "0"));
+        if (normalized == null) {
+            return new Response(STATUS_BAD_REQUEST, Constants.ERROR_IMPORT_NOT_A_NUMBER);
+        }
+        float baseDiscount = Float.parseFloat(normalized);
+        synchronized (supermarketList) {
+            long totalStock = supermarketList.getTotalStock();
+            double value = supermarketList.getDiscountedStockValue(baseDiscount);
+            return new Response(STATUS_OK, String.format("%d%n%.2f%n", totalStock, value));
+        }
+    }
+
+    private Response cheapest(Map<String, String> query) {
+        String count = query.getOrDefault("count", "1");
+        if (!ConsoleReader.isInteger(count) || Integer.parseInt(count) < 1) {
+            return new Response(STATUS_BAD_REQUEST, Constants.ERROR_RESULT_COUNT);
+        }
+        StringBuilder body = new StringBuilder();
+        synchronized (supermarketList) {
+            List<ProductPriceIndex.Entry> stores = supermarketList.getPriceIndex().cheapest(query.get("product"),
+                    Integer.parseInt(count));
+            if (stores.isEmpty()) {
+                return new Response(STATUS_NOT_FOUND, Constants.ERROR_PRODUCT_NOT_FOUND);
+            }
+            for (ProductPriceIndex.Entry store : stores) {
+                body.append(store.getSupermarket().getName()).append(',').append(store.getSupermarket().getCity())
+                        .append(',').append(store.getProduct().toString());
+            }
+        }
+        return new Response(STATUS_OK, body.toString());
+    }
+
+    private Response search(Map<String, String> query) {
+        String count = query.getOrDefault("count", "10");
+        if (!ConsoleReader.isInteger(count) || Integer.parseInt(count) < 1) {
+            return new Response(STATUS_BAD_REQUEST, Constants.ERROR_RESULT_COUNT);
+        }
+        ProductNameIndex index = supermarketList.getProductNameIndex();
+        // el índice admite búsquedas concurrentes, no hace falta el monitor de la lista
+        List<String> names = query.containsKey("prefix")
+                ? index.startingWith(query.get("prefix"), Integer.parseInt(count))
+                : index.containing(query.get("text"), Integer.parseInt(count));
+        StringBuilder body = new StringBuilder();
+        for (String name : names) {
+            body.append(name).append('\n');
+        }
+        return new Response(STATUS_OK, body.toString());
+    }
+
+    /**
+     * Wraps an endpoint into an {@link HttpHandler} that checks the method,
+     * parses the query and writes the response.
+     *
+     * @param endpoint The endpoint.
+     * @return The handler.
+     */
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            Response response;
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                response = new Response(STATUS_METHOD_NOT_ALLOWED, exchange.getRequestMethod());
+            } else {
+                try {
+                    response = endpoint.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+                } catch (IllegalArgumentException e) {
+                    response = new Response(STATUS_BAD_REQUEST, e.getMessage());
+                } catch (RuntimeException e) {
+                    // sin respuesta el cliente esperaría hasta agotar su tiempo
+                    response = new Response(STATUS_INTERNAL_ERROR, Constants.ERROR_HTTP_INTERNAL);
+                }
+            }
+            send(exchange, response);
+        };
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body == null ? new byte[0] : response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Parses a raw query string into its decoded parameters.
+     *
+     * @param rawQuery The raw query, possibly null.
+     * @return The parameters by name.
+     */
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * An endpoint computing a response from the query parameters.
+     */
+    private interface Endpoint {
+        Response handle(Map<String, String> query);
+    }
+
+    /**
+     * The status and text body of a response.
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live metrics of a {@link SupermarketList}, published through JMX.
+ * <p>
+ * The product counts and the estimated heap size are {@link LongAdder}s kept
+ * up to date by the supermarkets of the list as their products are added and
+ * removed, so reading them never walks nor locks the list. They count the
+ * supermarkets of the list once it is given these metrics with
+ * {@link SupermarketList#setMetrics(CatalogueMetrics)}. The import, export and
+ * lookup counters are also {@link LongAdder}s updated by the operations
+ * themselves, so recording never contends between threads. Lookup
+ * latencies are kept in a histogram with one bucket per power of two
+ * nanoseconds, from which the percentiles are read.
+ * </p>
+ */
+public class CatalogueMetrics implements CatalogueMetricsMBean {
+
+    private static final int LATENCY_BUCKETS = 64;
+    // tamaños aproximados con referencias comprimidas
+    private static final long SUPERMARKET_BYTES = 112;
+    private static final long PRODUCT_BYTES = 64;
+    private static final long DATE_BYTES = 24;
+    private static final long STRING_BYTES = 40;
+
+    private final SupermarketList supermarketList;
+    private final LongAdder foodProducts = new LongAdder();
+    private final LongAdder cosmeticProducts = new LongAdder();
+    private final LongAdder heapBytes = new LongAdder();
+    private final LongAdder rowsImported = new LongAdder();
+    private final LongAdder importNanos = new LongAdder();
+    private final LongAdder exportBytes = new LongAdder();
+    private final LongAdder exportNanos = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder[] lookupLatency = new LongAdder[LATENCY_BUCKETS];
+
+    /**
+     * Constructs the metrics of a list. The sizes and the lookups of the list
+     * are only recorded once it is given these metrics with
+     * {@link SupermarketList#setMetrics(CatalogueMetrics)}.
+     *
+     * @param supermarketList The list measured.
+     */
+    public CatalogueMetrics(SupermarketList supermarketList) {
+        if (supermarketList == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
+        }
+        this.supermarketList = supermarketList;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            lookupLatency[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server as
+     * {@value Constants#METRICS_OBJECT_NAME}, replacing any metrics registered
+     * before.
+     *
+     * @throws JMException If the metrics cannot be registered.
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Constants.METRICS_OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they are
+     * registered.
+     */
+    public void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(Constants.METRICS_OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            // ya no estaba registrado
+        }
+    }
+
+    /**
+     * Records an import.
+     *
+     * @param rows  The rows imported.
+     * @param nanos The time the import took.
+     */
+    public void recordImport(long rows, long nanos) {
+        rowsImported.add(rows);
+        importNanos.add(nanos);
+    }
+
+    /**
+     * Records an export.
+     *
+     * @param bytes The size of the files written.
+     * @param nanos The time the export took.
+     */
+    public void recordExport(long bytes, long nanos) {
+        exportBytes.add(bytes);
+        exportNanos.add(nanos);
+    }
+
+    /**
+     * Records a search of a supermarket by name and city.
+     *
+     * @param nanos The time the search took.
+     */
+    public void recordLookup(long nanos) {
+        lookups.increment();
+        // el cubo i guarda las latencias desde 2^(i-1) hasta menos de 2^i ns
+        lookupLatency[LATENCY_BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+    }
+
+    /**
+     * Records a supermarket that starts being measured, with its products.
+     *
+     * @param supermarket The supermarket.
+     * @see Supermarket#setMetrics(CatalogueMetrics)
+     */
+    void supermarketAdded(Supermarket supermarket) {
+        heapBytes.add(supermarketBytes(supermarket.getName(), supermarket.getCity()));
+        for (Product product : supermarket.products) {
+            productAdded(product);
+        }
+    }
+
+    /**
+     * Records a supermarket that stops being measured, with its products.
+     *
+     * @param supermarket The supermarket.
+     */
+    void supermarketRemoved(Supermarket supermarket) {
+        heapBytes.add(-supermarketBytes(supermarket.getName(), supermarket.getCity()));
+        for (Product product : supermarket.products) {
+            productRemoved(product);
+        }
+    }
+
+    /**
+     * Records a new name or city of a measured supermarket.
+     *
+     * @param oldText The name or city before the change.
+     * @param newText The name or city after the change.
+     */
+    void supermarketRenamed(String oldText, String newText) {
+        heapBytes.add(stringBytes(newText) - stringBytes(oldText));
+    }
+
+    /**
+     * Records a product added to a measured supermarket.
+     *
+     * @param product The product.
+     */
+    void productAdded(Product product) {
+        LongAdder counter = counterOf(product);
+        if (counter != null) {
+            counter.increment();
+        }
+        heapBytes.add(productBytes(product));
+    }
+
+    /**
+     * Records a product removed from a measured supermarket.
+     *
+     * @param product The product.
+     */
+    void productRemoved(Product product) {
+        LongAdder counter = counterOf(product);
+        if (counter != null) {
+            counter.decrement();
+        }
+        heapBytes.add(-productBytes(product));
+    }
+
+    @Override
+    public int getSupermarketCount() {
+        synchronized (supermarketList) {
+            return supermarketList.getSize();
+        }
+    }
+
+    @Override
+    public long getFoodProductCount() {
+        return foodProducts.sum();
+    }
+
+    @Override
+    public long getCosmeticProductCount() {
+        return cosmeticProducts.sum();
+    }
+
+    @Override
+    public long getEstimatedHeapBytes() {
+        return heapBytes.sum();
+    }
+
+    @Override
+    public long getRowsImported() {
+        return rowsImported.sum();
+    }
+
+    @Override
+    public double getRowsImportedPerSecond() {
+        return perSecond(rowsImported.sum(), importNanos.sum());
+    }
+
+    @Override
+    public long getExportBytes() {
+        return exportBytes.sum();
+    }
+
+    @Override
+    public double getExportBytesPerSecond() {
+        return perSecond(exportBytes.sum(), exportNanos.sum());
+    }
+
+    @Override
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    @Override
+    public double getLookupLatencyP50Micros() {
+        return lookupPercentile(0.50);
+    }
+
+    @Override
+    public double getLookupLatencyP95Micros() {
+        return lookupPercentile(0.95);
+    }
+
+    @Override
+    public double getLookupLatencyP99Micros() {
+        return lookupPercentile(0.99);
+    }
+
+    @Override
+    public void resetCounters() {
+        rowsImported.reset();
+        importNanos.reset();
+        exportBytes.reset();
+        exportNanos.reset();
+        lookups.reset();
+        for (LongAdder bucket : lookupLatency) {
+            bucket.reset();
+        }
+    }
+
+    /**
+     * Reads a percentile of the lookup latencies from the histogram.
+     *
+     * @param fraction The percentile, from 0 to 1.
+     * @return The upper bound of the bucket of the percentile, in
+     *         microseconds, or 0 if there were no lookups.
+     */
+    private double lookupPercentile(double fraction) {
+        long[] counts = new long[LATENCY_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            counts[i] = lookupLatency[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.scalb(1.0, i) / 1000.0;
+            }
+        }
+        return Math.scalb(1.0, LATENCY_BUCKETS - 1) / 1000.0;
+    }
+
+    private static double perSecond(long amount, long nanos) {
+        return nanos > 0 ? amount * 1_000_000_000.0 / nanos : 0;
+    }
+
+    private LongAdder counterOf(Product product) {
+        if (product instanceof FoodProduct) {
+            return foodProducts;
+        }
+        return product instanceof CosmeticProduct ? cosmeticProducts : null;
+    }
+
+    private static long supermarketBytes(String name, String city) {
+        return SUPERMARKET_BYTES + stringBytes(name) + stringBytes(city);
+    }
+
+    private static long productBytes(Product product) {
+        long bytes = PRODUCT_BYTES + stringBytes(product.getName());
+        if (product instanceof CosmeticProduct) {
+            return bytes + stringBytes(((CosmeticProduct) product).getBrand());
+        }
+        return bytes + DATE_BYTES;
+    }
+
+    private static long stringBytes(String text) {
+        return STRING_BYTES + ((text.length() + 7) & ~7);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * The management interface of {@link CatalogueMetrics}, registered as
+ * {@value Constants#METRICS_OBJECT_NAME}.
+ */
+public interface CatalogueMetricsMBean {
+
+    /**
+     * Gets the number of supermarkets in the list.
+     *
+     * @return The number of supermarkets.
+     */
+    int getSupermarketCount();
+
+    /**
+     * Gets the number of food products of every supermarket.
+     *
+     * @return The number of food products.
+     */
+    long getFoodProductCount();
+
+    /**
+     * Gets the number of cosmetic products of every supermarket.
+     *
+     * @return The number of cosmetic products.
+     */
+    long getCosmeticProductCount();
+
+    /**
+     * Gets an estimate of the heap used by the supermarkets and their products,
+     * assuming compressed references and Latin-1 strings.
+     *
+     * @return The estimated size in bytes.
+     */
+    long getEstimatedHeapBytes();
+
+    /**
+     * Gets the number of rows imported since the counters were reset.
+     *
+     * @return The number of rows imported.
+     */
+    long getRowsImported();
+
+    /**
+     * Gets the import throughput since the counters were reset.
+     *
+     * @return The rows imported per second spent importing, or 0 if nothing
+     *         was imported.
+     */
+    double getRowsImportedPerSecond();
+
+    /**
+     * Gets the number of bytes exported since the counters were reset.
+     *
+     * @return The size of the files written by the exports.
+     */
+    long getExportBytes();
+
+    /**
+     * Gets the export throughput since the counters were reset.
+     *
+     * @return The bytes written per second spent exporting, or 0 if nothing
+     *         was exported.
+     */
+    double getExportBytesPerSecond();
+
+    /**
+     * Gets the number of searches of a supermarket by name and city since the
+     * counters were reset.
+     *
+     * @return The number of lookups.
+     */
+    long getLookupCount();
+
+    /**
+     * Gets the median latency of the lookups.
+     *
+     * @return The latency in microseconds, rounded up to a power of two
+     *         nanoseconds.
+     */
+    double getLookupLatencyP50Micros();
+
+    /**
+     * Gets the 95th percentile latency of the lookups.
+     *
+     * @return The latency in microseconds, rounded up to a power of two
+     *         nanoseconds.
+     */
+    double getLookupLatencyP95Micros();
+
+    /**
+     * Gets the 99th percentile latency of the lookups.
+     *
+     * @return The latency in microseconds, rounded up to a power of two
+     *         nanoseconds.
+     */
+    double getLookupLatencyP99Micros();
+
+    /**
+     * Resets the import, export and lookup counters.
+     */
+    void resetCounters();
+}
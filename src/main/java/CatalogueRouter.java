@@ -0,0 +1,310 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Spreads a catalogue over several {@link CatalogueShardServer} processes and
+ * forwards each call to the shard that owns the supermarket.
+ * <p>
+ * The owner of a supermarket is chosen by consistent hashing of its name and
+ * city: every shard is placed at several points of a hash ring
+ * and owns the keys that hash up to each of its points. When a shard is added
+ * it takes over part of the ranges of the other shards, and only the
+ * supermarkets of those ranges are moved to it.
+ * </p>
+ * <p>
+ * The router keeps one connection per shard and serializes its calls, so it can
+ * be shared between threads.
+ * </p>
+ */
+public class CatalogueRouter implements Closeable {
+
+    private static final int VIRTUAL_NODES = 64;
+
+    private final List<ShardClient> shards = new ArrayList<>();
+    private final TreeMap<Long, ShardClient> ring = new TreeMap<>();
+
+    /**
+     * Connects to a shard listening on the loopback interface and moves to it
+     * the supermarkets it now owns.
+     *
+     * @param port The port of the shard.
+     * @return The number of supermarkets moved between shards.
+     * @throws IllegalArgumentException If the shard was already added.
+     * @throws UncheckedIOException     If a shard cannot be reached.
+     */
+    public synchronized int addShard(int port) {
+        for (ShardClient shard : shards) {
+            if (shard.port == port) {
+                throw new IllegalArgumentException(Constants.ERROR_SHARD_ALREADY_ADDED);
+            }
+        }
+        ShardClient shard = new ShardClient(port);
+        shards.add(shard);
+        for (int i = 0; i < VIRTUAL_NODES; i++) {
+            ring.put(hash(shard.port + "#" + i), shard);
+        }
+        return rebalance();
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return The number of shards added.
+     */
+    public synchronized int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Gets the port of the shard that owns a supermarket.
+     *
+     * @param name The name of the supermarket.
+     * @param city The city of the supermarket.
+     * @return The port of the owner.
+     * @throws IllegalStateException If there are no shards.
+     */
+    public synchronized int getShardPort(String name, String city) {
+        return owner(name, city).port;
+    }
+
+    /**
+     * Adds a supermarket and its products to the shard that owns it, merging
+     * them into the supermarket with the same name and city if it exists.
+     *
+     * @param supermarket The supermarket to add.
+     * @throws IllegalArgumentException If the supermarket is null or the shard
+     *                                  rejects it.
+     */
+    public synchronized void addSupermarket(Supermarket supermarket) {
+        if (supermarket == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
+        }
+        StringBuilder text = new StringBuilder();
+        try {
+            supermarket.writeTo(text);
+            supermarket.writeProductSectionTo(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        owner(supermarket.getName(), supermarket.getCity()).request(Constants.SHARD_COMMAND_PUT,
+                text.toString().split("\n"));
+    }
+
+    /**
+     * Searches for a supermarket by its name and city.
+     *
+     * @param name The name of the supermarket (case-sensitive).
+     * @param city The city of the supermarket (case-sensitive).
+     * @return The supermarket line in the export format, or null if no match is
+     *         found.
+     * @see SupermarketList#lookForSupermarket(String, String)
+     */
+    public synchronized String lookForSupermarket(String name, String city) {
+        return firstLine(owner(name, city).request(join(Constants.SHARD_COMMAND_LOOKUP, name, city)));
+    }
+
+    /**
+     * Searches for a product of a supermarket.
+     *
+     * @param name        The name of the supermarket (case-sensitive).
+     * @param city        The city of the supermarket (case-sensitive).
+     * @param productName The name of the product (case-sensitive).
+     * @return The product line in the export format, or null if the supermarket
+     *         or the product is not found.
+     * @see Supermarket#getProduct(String)
+     */
+    public synchronized String getProduct(String name, String city, String productName) {
+        return firstLine(owner(name, city).request(join(Constants.SHARD_COMMAND_PRODUCT, name, city, productName)));
+    }
+
+    /**
+     * Applies a discount to a product of a supermarket.
+     *
+     * @param name         The name of the supermarket (case-sensitive).
+     * @param city         The city of the supermarket (case-sensitive).
+     * @param productName  The name of the product (case-sensitive).
+     * @param baseDiscount The base discount percentage (0-100 inclusive).
+     * @return The discounted price.
+     * @throws IllegalArgumentException If the supermarket or the product is not
+     *                                  found, or the discount is invalid.
+     * @see Supermarket#applyDiscountToProduct(String, float)
+     */
+    public synchronized float applyDiscountToProduct(String name, String city, String productName,
+            float baseDiscount) {
+        String price = firstLine(owner(name, city).request(join(Constants.SHARD_COMMAND_DISCOUNT, name, city,
+                productName, Float.toString(baseDiscount))));
+        if (price == null) {
+            throw new IllegalArgumentException(lookForSupermarket(name, city) == null
+                    ? Constants.ERROR_SUPERMARKET_NOT_FOUND
+                    : Constants.ERROR_PRODUCT_NOT_FOUND);
+        }
+        return Float.parseFloat(price);
+    }
+
+    /**
+     * Closes the connections to every shard. The shards keep running.
+     */
+    @Override
+    public synchronized void close() {
+        for (ShardClient shard : shards) {
+            shard.close();
+        }
+        shards.clear();
+        ring.clear();
+    }
+
+    /**
+     * Moves every supermarket that is not in the shard that owns it. A
+     * supermarket is copied to its owner before it is removed from its old
+     * shard, so a failure never loses it.
+     *
+     * @return The number of supermarkets moved.
+     */
+    private int rebalance() {
+        int moved = 0;
+        for (ShardClient shard : shards) {
+            for (String key : shard.request(Constants.SHARD_COMMAND_KEYS)) {
+                String[] fields = key.split(",", -1);
+                ShardClient owner = owner(fields[0], fields[1]);
+                if (owner == shard) {
+                    continue;
+                }
+                List<String> supermarket = shard.request(join(Constants.SHARD_COMMAND_GET, fields[0], fields[1]));
+                if (supermarket == null) {
+                    continue;
+                }
+                owner.request(Constants.SHARD_COMMAND_PUT, supermarket.toArray(new String[0]));
+                shard.request(join(Constants.SHARD_COMMAND_REMOVE, fields[0], fields[1]));
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private ShardClient owner(String name, String city) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException(Constants.ERROR_NO_SHARDS);
+        }
+        // el primer punto del anillo a partir del hash, volviendo al inicio al final
+        Map.Entry<Long, ShardClient> entry = ring.ceilingEntry(hash(name + "," + city));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * Hashes a key to a point of the ring with 64-bit FNV-1a, followed by the
+     * MurmurHash3 finalizer to spread similar keys.
+     *
+     * @param key The key.
+     * @return The point of the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static String join(String command, String... fields) {
+        StringBuilder line = new StringBuilder(command);
+        for (String field : fields) {
+            line.append(',').append(field);
+        }
+        return line.toString();
+    }
+
+    private static String firstLine(List<String> lines) {
+        return lines == null || lines.isEmpty() ? null : lines.get(0);
+    }
+
+    /**
+     * The connection to one shard.
+     */
+    private static final class ShardClient {
+        private final int port;
+        private final Socket socket;
+        private final Utf8LineReader in;
+        private final Writer out;
+
+        private ShardClient(int port) {
+            this.port = port;
+            try {
+                this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                this.socket.setTcpNoDelay(true);
+                this.in = new Utf8LineReader(socket.getInputStream());
+                this.out = new Utf8Writer(socket.getOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Sends a request and reads its answer.
+         *
+         * @param command The request line.
+         * @param payload The payload lines, sent after the line count.
+         * @return The lines of an {@code OK} answer, or null for a
+         *         {@code NOT_FOUND} answer.
+         * @throws IllegalArgumentException With the message of an
+         *                                  {@code ERROR} answer.
+         */
+        private List<String> request(String command, String... payload) {
+            try {
+                out.append(command);
+                if (payload.length > 0) {
+                    out.append(',').append(Integer.toString(payload.length));
+                }
+                out.append('\n');
+                for (String line : payload) {
+                    out.append(line).append('\n');
+                }
+                out.flush();
+                String status = in.readLine();
+                if (status == null) {
+                    throw new IOException(Constants.ERROR_SHARD_PROTOCOL);
+                }
+                int space = status.indexOf(' ');
+                String code = space < 0 ? status : status.substring(0, space);
+                String argument = space < 0 ? "" : status.substring(space + 1);
+                if (code.equals(Constants.SHARD_RESPONSE_NOT_FOUND)) {
+                    return null;
+                }
+                if (code.equals(Constants.SHARD_RESPONSE_ERROR)) {
+                    throw new IllegalArgumentException(argument);
+                }
+                if (!code.equals(Constants.SHARD_RESPONSE_OK) || !ConsoleReader.isInteger(argument)) {
+                    throw new IOException(Constants.ERROR_SHARD_PROTOCOL);
+                }
+                List<String> lines = new ArrayList<>();
+                for (int i = Integer.parseInt(argument); i > 0; i--) {
+                    String line = in.readLine();
+                    if (line == null) {
+                        throw new IOException(Constants.ERROR_SHARD_PROTOCOL);
+                    }
+                    lines.add(line);
+                }
+                return lines;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // la conexión ya estaba cerrada
+            }
+        }
+    }
+}
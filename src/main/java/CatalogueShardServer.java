@@ -0,0 +1,306 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A catalogue process that owns part of the supermarkets and answers the
+ * requests of a {@link CatalogueRouter} over a local socket.
+ * <p>
+ * The server only listens on the loopback interface and serves every
+ * connection on its own virtual thread. Each request is one line, with its
+ * fields separated by commas in the same way as the data files, optionally
+ * followed by payload lines:
+ * </p>
+ * <ul>
+ * <li>{@code LOOKUP,[name],[city]} answers the supermarket line</li>
+ * <li>{@code PRODUCT,[name],[city],[product]} answers the product line</li>
+ * <li>{@code DISCOUNT,[name],[city],[product],[discount]} answers the
+ * discounted price</li>
+ * <li>{@code GET,[name],[city]} answers the supermarket line followed by its
+ * products in the sectioned products format</li>
+ * <li>{@code PUT,[lines]} followed by the lines answered by {@code GET} adds
+ * the supermarket, merging its products if it already exists</li>
+ * <li>{@code REMOVE,[name],[city]} removes the supermarket</li>
+ * <li>{@code KEYS} answers one {@code [name],[city]} line per supermarket</li>
+ * </ul>
+ * <p>
+ * The answer is {@code OK [lines]} followed by that number of lines,
+ * {@code NOT_FOUND [message]} or {@code ERROR [message]}. Requests are handled
+ * while holding the monitor of the list, so code that modifies the list
+ * concurrently must synchronize on it as well.
+ * </p>
+ */
+public class CatalogueShardServer {
+
+    private final SupermarketList supermarketList;
+    private final ServerSocket serverSocket;
+
+    /**
+     * Constructs a server bound to a port of the loopback interface. The server
+     * does not accept connections until {@link #start()} or {@link #run()} is
+     * called.
+     *
+     * @param supermarketList The supermarkets owned by this shard.
+     * @param port            The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public CatalogueShardServer(SupermarketList supermarketList, int port) throws IOException {
+        if (supermarketList == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
+        }
+        this.supermarketList = supermarketList;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Starts accepting connections on a new thread.
+     */
+    public void start() {
+        Thread.ofVirtual().start(this::run);
+    }
+
+    /**
+     * Accepts connections on the calling thread until the server is stopped.
+     */
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                // el socket se ha cerrado con stop()
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections. Connections already open are served until
+     * the router closes them.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Answers the requests of one connection until the other side closes it.
+     *
+     * @param socket The connection.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+                Utf8LineReader in = new Utf8LineReader(socket.getInputStream());
+                Writer out = new Utf8Writer(socket.getOutputStream())) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                handle(line, in, out);
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // la conexión se ha cerrado a medias
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handle(String line, Utf8LineReader in, Writer out) throws IOException {
+        String[] fields = line.split(",", -1);
+        List<String> payload = null;
+        if (fields[0].equals(Constants.SHARD_COMMAND_PUT)) {
+            // el contenido de PUT se lee entero antes de tocar la lista
+            if (fields.length != 2 || !ConsoleReader.isInteger(fields[1])) {
+                respond(out, Constants.SHARD_RESPONSE_ERROR, Constants.ERROR_BATCH_WRONG_FIELDS);
+                return;
+            }
+            payload = new ArrayList<>();
+            for (int i = Integer.parseInt(fields[1]); i > 0; i--) {
+                String payloadLine = in.readLine();
+                if (payloadLine == null) {
+                    return;
+                }
+                payload.add(payloadLine);
+            }
+        }
+        try {
+            synchronized (supermarketList) {
+                execute(fields, payload, out);
+            }
+        } catch (IllegalArgumentException e) {
+            respond(out, Constants.SHARD_RESPONSE_ERROR, e.getMessage());
+        }
+    }
+
+    private void execute(String[] fields, List<String> payload, Writer out) throws IOException {
+        switch (fields[0]) {
+            case Constants.SHARD_COMMAND_LOOKUP: {
+                Supermarket supermarket = findSupermarket(fields, 3, out);
+                if (supermarket != null) {
+                    respondOk(out, supermarket.supermarketToString());
+                }
+                return;
+            }
+            case Constants.SHARD_COMMAND_PRODUCT: {
+                Product product = findProduct(fields, 4, out);
+                if (product != null) {
+                    respondOk(out, product.toString());
+                }
+                return;
+            }
+            case Constants.SHARD_COMMAND_DISCOUNT: {
+                Supermarket supermarket = findSupermarket(fields, 5, out);
+                if (supermarket == null) {
+                    return;
+                }
+                if (!supermarket.hasProduct(fields[3])) {
+                    respond(out, Constants.SHARD_RESPONSE_NOT_FOUND, Constants.ERROR_PRODUCT_NOT_FOUND);
+                    return;
+                }
+                String discount = ConsoleReader.normalizeDecimal(fields[4]);
+                if (discount == null) {
+                    throw new IllegalArgumentException(Constants.ERROR_IMPORT_NOT_A_NUMBER);
+                }
+                respondOk(out, Float.toString(supermarket.applyDiscountToProduct(fields[3], Float.parseFloat(discount))) + '\n');
+                return;
+            }
+            case Constants.SHARD_COMMAND_GET: {
+                Supermarket supermarket = findSupermarket(fields, 3, out);
+                if (supermarket != null) {
+                    StringBuilder text = new StringBuilder();
+                    supermarket.writeTo(text);
+                    supermarket.writeProductSectionTo(text);
+                    respondOk(out, text.toString());
+                }
+                return;
+            }
+            case Constants.SHARD_COMMAND_PUT:
+                put(payload);
+                respondOk(out, "");
+                return;
+            case Constants.SHARD_COMMAND_REMOVE:
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException(Constants.ERROR_BATCH_WRONG_FIELDS);
+                }
+                if (supermarketList.removeSupermarket(fields[1], fields[2]) == null) {
+                    respond(out, Constants.SHARD_RESPONSE_NOT_FOUND, Constants.ERROR_SUPERMARKET_NOT_FOUND);
+                } else {
+                    respondOk(out, "");
+                }
+                return;
+            case Constants.SHARD_COMMAND_KEYS: {
+                StringBuilder keys = new StringBuilder();
+                for (Supermarket supermarket : supermarketList) {
+                    keys.append(supermarket.getName()).append(',').append(supermarket.getCity()).append('\n');
+                }
+                respondOk(out, keys.toString());
+                return;
+            }
+            default:
+                throw new IllegalArgumentException(Constants.ERROR_BATCH_UNKNOWN_COMMAND);
+        }
+    }
+
+    /**
+     * Adds a supermarket sent with {@code PUT}, or merges its products into the
+     * supermarket with the same name and city.
+     * <p>
+     * Every row is checked on a temporary copy first, so a rejected row leaves
+     * the list as it was instead of a partial supermarket.
+     * </p>
+     *
+     * @param lines The supermarket line followed by its product section.
+     */
+    private void put(List<String> lines) {
+        if (lines.size() < 2 || !lines.get(1).startsWith(Constants.PRODUCTS_STORE_PREFIX)) {
+            throw new IllegalArgumentException(Constants.ERROR_BATCH_WRONG_FIELDS);
+        }
+        String[] marketData = lines.get(0).split(",", -1);
+        if (marketData.length != 4) {
+            throw new IllegalArgumentException(Constants.ERROR_BATCH_WRONG_FIELDS);
+        }
+        String longitude = ConsoleReader.normalizeDecimal(marketData[2]);
+        String latitude = ConsoleReader.normalizeDecimal(marketData[3]);
+        if (longitude == null || latitude == null) {
+            throw new IllegalArgumentException(Constants.ERROR_IMPORT_NOT_A_NUMBER);
+        }
+        // se importa todo en una copia: los errores de una fila no dependen de la tienda destino
+        Supermarket staged = new Supermarket(marketData[0], marketData[1], Float.parseFloat(longitude),
+                Float.parseFloat(latitude));
+        List<String> productLines = lines.subList(2, lines.size());
+        for (String productLine : productLines) {
+            String error = EAC7S22425.importProduct(staged, productLine.split(",", -1), 0);
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+        }
+        Supermarket supermarket = supermarketList.lookForSupermarket(marketData[0], marketData[1]);
+        if (supermarket == null) {
+            supermarketList.addSupermarket(staged);
+            return;
+        }
+        for (String productLine : productLines) {
+            EAC7S22425.importProduct(supermarket, productLine.split(",", -1), 0);
+        }
+    }
+
+    private Supermarket findSupermarket(String[] fields, int fieldCount, Writer out) throws IOException {
+        if (fields.length != fieldCount) {
+            throw new IllegalArgumentException(Constants.ERROR_BATCH_WRONG_FIELDS);
+        }
+        Supermarket supermarket = supermarketList.lookForSupermarket(fields[1], fields[2]);
+        if (supermarket == null) {
+            respond(out, Constants.SHARD_RESPONSE_NOT_FOUND, Constants.ERROR_SUPERMARKET_NOT_FOUND);
+        }
+        return supermarket;
+    }
+
+    private Product findProduct(String[] fields, int fieldCount, Writer out) throws IOException {
+        Supermarket supermarket = findSupermarket(fields, fieldCount, out);
+        if (supermarket == null) {
+            return null;
+        }
+        Product product = supermarket.getProduct(fields[3]);
+        if (product == null) {
+            respond(out, Constants.SHARD_RESPONSE_NOT_FOUND, Constants.ERROR_PRODUCT_NOT_FOUND);
+        }
+        return product;
+    }
+
+    /**
+     * Writes an {@code OK} answer.
+     *
+     * @param out  The connection.
+     * @param text The lines of the answer, each one ending with a line break.
+     */
+    private static void respondOk(Writer out, String text) throws IOException {
+        int lines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        out.append(Constants.SHARD_RESPONSE_OK).append(' ').append(Integer.toString(lines)).append('\n');
+        out.append(text);
+    }
+
+    private static void respond(Writer out, String status, String message) throws IOException {
+        out.append(status).append(' ').append(message).append('\n');
+    }
+}
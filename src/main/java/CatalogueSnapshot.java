@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * A point-in-time view of the supermarkets of a {@link SupermarketList} and of
+ * their products, kept with copy-on-write.
+ * <p>
+ * Taking a snapshot copies no product: while holding the monitor of the list,
+ * it only records which supermarkets the list holds and marks them as pending.
+ * The first change made to a pending supermarket afterwards, under the same
+ * monitor, first hands a copy of the supermarket as it was to the snapshot
+ * (see {@link Supermarket#copy()}). The snapshot then reads each supermarket
+ * from that copy, or from the list if it has not changed, so it sees the data
+ * as it was when it was taken while the list keeps changing.
+ * </p>
+ * <p>
+ * Only the supermarkets changed before being written are ever copied, and
+ * every copy is dropped once it has been written. Reading the snapshot locks
+ * the list for one supermarket at a time, never for the whole catalogue.
+ * </p>
+ */
+public class CatalogueSnapshot {
+
+    private final SupermarketList supermarketList;
+    private final Supermarket[] supermarkets;
+
+    /**
+     * The copies handed over by the supermarkets changed since the snapshot
+     * was taken, by supermarket. Guarded by the monitor of the list.
+     */
+    private final IdentityHashMap<Supermarket, Supermarket> preserved = new IdentityHashMap<>();
+    /**
+     * The number of supermarkets already written. Guarded by the monitor of
+     * the list.
+     */
+    private int written;
+    private boolean released;
+
+    private CatalogueSnapshot(SupermarketList supermarketList, Supermarket[] supermarkets) {
+        this.supermarketList = supermarketList;
+        this.supermarkets = supermarkets;
+    }
+
+    /**
+     * Takes a snapshot of a supermarket list. The list is locked while the
+     * references to its supermarkets are collected, without copying any of
+     * them.
+     *
+     * @param supermarketList The list to take the snapshot of.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If the list is null.
+     */
+    public static CatalogueSnapshot of(SupermarketList supermarketList) {
+        if (supermarketList == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
+        }
+        synchronized (supermarketList) {
+            Supermarket[] supermarkets = new Supermarket[supermarketList.getSize()];
+            int i = 0;
+            for (Supermarket supermarket : supermarketList) {
+                supermarkets[i++] = supermarket;
+            }
+            CatalogueSnapshot snapshot = new CatalogueSnapshot(supermarketList, supermarkets);
+            for (Supermarket supermarket : supermarkets) {
+                supermarket.addPendingSnapshot(snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Keeps the copy of a supermarket taken just before its first change.
+     *
+     * @param supermarket The supermarket of the list.
+     * @param before      The copy, with the data the snapshot has to see.
+     */
+    void preserve(Supermarket supermarket, Supermarket before) {
+        preserved.put(supermarket, before);
+    }
+
+    /**
+     * Gets the number of supermarkets in the snapshot.
+     *
+     * @return The number of supermarkets.
+     */
+    public int getSize() {
+        return supermarkets.length;
+    }
+
+    /**
+     * Gets a copy of the supermarkets as they were when the snapshot was
+     * taken. The supermarkets that have not changed since then are copied
+     * now, one at a time.
+     *
+     * @return The copies, in the order of the list.
+     * @throws IllegalStateException If the snapshot is being written, has
+     *                               already been written or has been released.
+     */
+    public List<Supermarket> getSupermarkets() {
+        List<Supermarket> copies = new ArrayList<>(supermarkets.length);
+        for (Supermarket supermarket : supermarkets) {
+            synchronized (supermarketList) {
+                checkNotReleased();
+                Supermarket before = preserved.get(supermarket);
+                copies.add(before != null ? before : supermarket.copy());
+            }
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Writes the snapshot into the supermarkets file and the products file of
+     * a working directory. The products file uses the sectioned format.
+     * <p>
+     * Each file is first written under a temporary name and then renamed, so
+     * the previous version stays complete until the new one is. If writing
+     * fails, the temporary files are deleted.
+     * </p>
+     * <p>
+     * Each supermarket is rendered while holding the monitor of the list and
+     * written to the files after releasing it. A snapshot is written once:
+     * afterwards it is released, even if writing fails.
+     * </p>
+     *
+     * @param fu               The working directory.
+     * @param marketFileName   The name of the supermarkets file.
+     * @param productsFileName The name of the products file.
+     * @throws IOException           If a file cannot be written.
+     * @throws IllegalStateException If the snapshot has already been written
+     *                               or released.
+     */
+    public void writeFiles(FileUtils fu, String marketFileName, String productsFileName) throws IOException {
+        synchronized (supermarketList) {
+            checkNotReleased();
+        }
+        String marketTempName = Constants.TEMP_FILE_PREFIX + marketFileName;
+        String productsTempName = Constants.TEMP_FILE_PREFIX + productsFileName;
+        StringBuilder marketText = new StringBuilder();
+        StringBuilder productsText = new StringBuilder();
+        boolean complete = false;
+        try {
+            try (Writer markets = fu.openWriter(marketTempName);
+                    Writer products = fu.openWriter(productsTempName)) {
+                products.append(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+                for (int i = 0; i < supermarkets.length; i++) {
+                    marketText.setLength(0);
+                    productsText.setLength(0);
+                    synchronized (supermarketList) {
+                        Supermarket supermarket = preserved.remove(supermarkets[i]);
+                        if (supermarket == null) {
+                            supermarket = supermarkets[i];
+                            supermarket.removePendingSnapshot(this);
+                        }
+                        supermarket.writeTo(marketText);
+                        supermarket.writeProductSectionTo(productsText);
+                        written = i + 1;
+                    }
+                    markets.append(marketText);
+                    products.append(productsText);
+                }
+            } finally {
+                release();
+            }
+            fu.replaceFile(marketTempName, marketFileName);
+            fu.replaceFile(productsTempName, productsFileName);
+            complete = true;
+        } finally {
+            if (!complete) {
+                deleteIfExists(fu, marketTempName);
+                deleteIfExists(fu, productsTempName);
+            }
+        }
+    }
+
+    private static void deleteIfExists(FileUtils fu, String fileName) {
+        if (fu.fileExists(fileName)) {
+            fu.deleteFile(fileName);
+        }
+    }
+
+    /**
+     * Releases a snapshot that is not going to be written, so the
+     * supermarkets stop being copied for it. Releasing it again does nothing.
+     */
+    public void release() {
+        synchronized (supermarketList) {
+            if (released) {
+                return;
+            }
+            released = true;
+            // las ya escritas dejaron de estar pendientes al escribirlas
+            for (int i = written; i < supermarkets.length; i++) {
+                supermarkets[i].removePendingSnapshot(this);
+            }
+            preserved.clear();
+        }
+    }
+
+    private void checkNotReleased() {
+        if (released || written > 0) {
+            throw new IllegalStateException(Constants.ERROR_SNAPSHOT_RELEASED);
+        }
+    }
+}
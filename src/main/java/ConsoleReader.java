@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * A lightweight line and token reader over an input stream.
+ * <p>
+ * Unlike {@link java.util.Scanner}, it does not use regular expressions and it
+ * keeps its buffer between calls, so a single instance can serve every prompt
+ * of the application without losing input that was already read from the
+ * stream. This makes scripted or piped input behave the same as typed input.
+ * </p>
+ */
+public class ConsoleReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream source;
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder(80);
+    private int position;
+    private int limit;
+
+    /**
+     * Constructs a reader over an input stream.
+     *
+     * @param source  The stream to read from.
+     * @param charset The charset used to decode the stream.
+     */
+    public ConsoleReader(InputStream source, Charset charset) {
+        this.source = source;
+        this.reader = new InputStreamReader(source, charset);
+    }
+
+    /**
+     * Gets the stream this reader reads from.
+     *
+     * @return The source stream.
+     */
+    public InputStream getSource() {
+        return source;
+    }
+
+    /**
+     * Reads the rest of the current line.
+     * <p>
+     * Lines may end with "\n", "\r\n" or "\r". The line terminator is consumed
+     * but not returned.
+     * </p>
+     *
+     * @return The line read, without its terminator.
+     * @throws NoSuchElementException If the end of the stream has been reached.
+     */
+    public String readLine() {
+        if (!fill()) {
+            throw new NoSuchElementException();
+        }
+        text.setLength(0);
+        while (fill()) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '\n' || c == '\r') {
+                    text.append(buffer, start, position - start);
+                    position++;
+                    if (c == '\r' && fill() && buffer[position] == '\n') {
+                        position++;
+                    }
+                    return text.toString();
+                }
+                position++;
+            }
+            text.append(buffer, start, position - start);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Discards the rest of the current line, including its terminator.
+     */
+    public void skipLine() {
+        if (fill()) {
+            readLine();
+        }
+    }
+
+    /**
+     * Reads the next token, skipping any whitespace before it, including line
+     * breaks.
+     *
+     * @return The next token.
+     * @throws NoSuchElementException If the end of the stream is reached before
+     *                                a token is found.
+     */
+    public String nextToken() {
+        while (fill() && Character.isWhitespace(buffer[position])) {
+            position++;
+        }
+        if (!fill()) {
+            throw new NoSuchElementException();
+        }
+        text.setLength(0);
+        while (fill() && !Character.isWhitespace(buffer[position])) {
+            text.append(buffer[position++]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks if a token is an integer in the range of {@code int}, written as an
+     * optional sign followed by decimal digits.
+     *
+     * @param token The token to check.
+     * @return True if the token can be parsed as an int, false otherwise.
+     */
+    public static boolean isInteger(String token) {
+        int length = token.length();
+        int start = length > 0 && (token.charAt(0) == '-' || token.charAt(0) == '+') ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return false;
+            }
+        }
+        return token.charAt(0) == '-' || value <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Converts a token into a decimal number that {@link Float#parseFloat} can
+     * read: an optional sign, digits and at most one decimal separator, which
+     * may be a dot or the separator of the default locale.
+     *
+     * @param token The token to convert.
+     * @return The normalized number, or null if the token is not a decimal
+     *         number.
+     */
+    public static String normalizeDecimal(String token) {
+        char localeSeparator = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT))
+                .getDecimalSeparator();
+        int length = token.length();
+        int start = length > 0 && (token.charAt(0) == '-' || token.charAt(0) == '+') ? 1 : 0;
+        boolean digits = false;
+        int separator = -1;
+        for (int i = start; i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if ((c == '.' || c == localeSeparator) && separator < 0) {
+                separator = i;
+            } else {
+                return null;
+            }
+        }
+        if (!digits) {
+            return null;
+        }
+        return separator < 0 || token.charAt(separator) == '.'
+                ? token
+                : token.substring(0, separator) + '.' + token.substring(separator + 1);
+    }
+
+    /**
+     * Makes sure there is at least one character available in the buffer.
+     *
+     * @return True if a character is available, false at the end of the stream.
+     */
+    private boolean fill() {
+        if (position < limit) {
+            return true;
+        }
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            if (read < 0) {
+                position = 0;
+                limit = 0;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
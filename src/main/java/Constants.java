@@ -2,6 +2,7 @@ public class Constants {
     public static final String DEFAULT_DATA_DIRECTORY = "data";
     public static final String PRODUCTS_FILE_NAME = "products.txt";
     public static final String SUPERMARKETS_FILE_NAME = "supermarkets.txt";
+    public static final String CONSOLE_CHARSET = "Cp850";
     public static final String MESSAGE_DEFAULT_ASK_STRING = "Introdueixi una cadena de text";
     public static final String MESSAGE_DEFAULT_ERROR_STRING = "S'ha introduït un text buit";
     public static final String MESSAGE_DEFAULT_ASK_INTEGER = "Introdueixi un valor enter";
@@ -21,6 +22,9 @@ public class Constants {
     public final static String LIST_HEADER = "SUPERMARKET                   CITY                            LONGITUDE   LATITUDE";
     public final static String TEMP_LIN = "-----------------------------------------------------------------------------------";
     public final static String SUPERMARKET_BOARD_FORMAT = "%-28s  %-29s %11.7f %11.7f";
+    public static final int SUPERMARKET_BOARD_PAGE_SIZE = 100;
+    public static final String MESSAGE_BOARD_PAGE = "Pàgina %d de %d";
+    public static final String MESSAGE_ASK_NEXT_PAGE = "Introdueixi 1 per veure la pàgina següent o 0 per tornar al menú";
     public static final String DATE_FORMAT = "yyyyMMdd";
     public static final String EMPTY_SPACE = "";
     public static final String ERROR_HEADER = "ERROR";   
@@ -81,4 +85,86 @@ public class Constants {
     public static final String ERROR_NO_FLOAT = "No s'ha introduït un número amb decimals";
     public static final String PRODUCT_IMPORT_TYPE_FOOD = "FOOD";
     public static final String PRODUCT_IMPORT_TYPE_COSMETIC = "COSMETIC";
+    public static final String BATCH_MODE_ARGUMENT = "--batch";
+    public static final String BATCH_COMMAND_ADD_SUPERMARKET = "ADD_SUPERMARKET";
+    public static final String BATCH_COMMAND_ADD_PRODUCT = "ADD_PRODUCT";
+    public static final String BATCH_COMMAND_EXPORT = "EXPORT";
+    public static final String BATCH_COMMAND_IMPORT = "IMPORT";
+    public static final String BATCH_COMMENT_PREFIX = "#";
+    public static final int BATCH_MAX_REPORTED_ERRORS = 10;
+    public static final String ERROR_BATCH_SCRIPT_READ = "No s'ha pogut llegir l'script d'ordres";
+    public static final String ERROR_BATCH_UNKNOWN_COMMAND = "Ordre desconeguda";
+    public static final String ERROR_BATCH_UNKNOWN_PRODUCT_TYPE = "Tipus de producte desconegut";
+    public static final String ERROR_BATCH_WRONG_FIELDS = "Nombre de camps incorrecte";
+    public static final String ERROR_BATCH_EXPORT_FAILED = "No s'ha pogut exportar la llista";
+    public static final String ERROR_BATCH_IMPORT_FAILED = "No s'han pogut importar els fitxers";
+    public static final String ERROR_BATCH_ROWS_REJECTED = "%d files rebutjades en importar";
+    public static final String ERROR_BATCH_LINE = "Línia %d: %s";
+    public static final String MESSAGE_BATCH_SUMMARY = "Ordres executades: %d%nErrors: %d%nTemps: %d ms%nOrdres per segon: %.0f";
+    public static final String HTTP_MODE_ARGUMENT = "--http";
+    public static final int MAX_PORT = 65535;
+    public static final String ERROR_HTTP_PORT = "El port HTTP ha de ser un número enter entre 0 i 65535";
+    public static final String HTTP_PATH_SUPERMARKET = "/supermarket";
+    public static final String HTTP_PATH_SUPERMARKETS_BY_CITY = "/supermarkets/city";
+    public static final String HTTP_PATH_SUPERMARKETS_BY_NAME = "/supermarkets/name";
+    public static final String HTTP_PATH_PRODUCT = "/product";
+    public static final String HTTP_PATH_DISCOUNT = "/discount";
+    public static final String HTTP_PATH_CHEAPEST = "/cheapest";
+    public static final String HTTP_PATH_SEARCH = "/search";
+    public static final String HTTP_PATH_STOCK = "/stock";
+    public static final String MESSAGE_HTTP_STARTED = "Servidor HTTP escoltant a http://localhost:%d";
+    public static final String ERROR_HTTP_START = "No s'ha pogut iniciar el servidor HTTP";
+    public static final String ERROR_HTTP_INTERNAL = "Error intern en atendre la petició";
+    public static final String TEMP_FILE_PREFIX = ".tmp-";
+    public static final String MESSAGE_EXPORT_STARTED = "Exportant en segon pla, pots continuar treballant";
+    public static final String AUTO_SNAPSHOT_FILE_PREFIX = "snapshot-";
+    public static final long AUTO_SNAPSHOT_INTERVAL_SECONDS = 300;
+    public static final int AUTO_SNAPSHOT_CHANGE_THRESHOLD = 1000;
+    public static final int AUTO_SNAPSHOT_GENERATIONS = 3;
+    public static final String AUTO_SNAPSHOT_ARGUMENT = "--auto-snapshot";
+    public static final String ERROR_AUTO_SNAPSHOT = "No s'ha pogut desar la còpia automàtica";
+    public static final String ERROR_SNAPSHOT_RELEASED = "La còpia del catàleg ja s'ha escrit o descartat";
+    public static final String ERROR_AUTO_SNAPSHOT_SETTINGS = "L'interval, el llindar i les generacions han de ser positius";
+    public static final int IMPORT_MAX_REPORTED_ERRORS = 20;
+    public static final String ERROR_IMPORT_ROW = "%s, línia %d: %s";
+    public static final String ERROR_IMPORT_WRONG_FIELDS = "Nombre de camps incorrecte";
+    public static final String ERROR_IMPORT_NOT_A_NUMBER = "Valor numèric incorrecte";
+    public static final String MESSAGE_IMPORT_SUMMARY = "Files importades: %d, files rebutjades: %d";
+    public static final String MESSAGE_IMPORT_MORE_ERRORS = "... i %d errors més";
+    public static final String COMPRESSED_FILE_EXTENSION = ".gz";
+    public static final String COMPRESS_ARGUMENT = "--compress";
+    public static final String ERROR_COMPRESSION_LEVEL = "El nivell de compressió ha d'estar entre 1 i 9";
+    public static final String ERROR_READING_FILE = "Error llegint l'arxiu";
+    public static final String PRODUCTS_FORMAT_HEADER = "#PRODUCTS v2";
+    public static final String PRODUCTS_STORE_PREFIX = "#STORE,";
+    public static final String PARTITION_BY_CITY_ARGUMENT = "--partition-by-city";
+    public static final String SHARD_MODE_ARGUMENT = "--shard";
+    public static final String SHARD_COMMAND_LOOKUP = "LOOKUP";
+    public static final String SHARD_COMMAND_PRODUCT = "PRODUCT";
+    public static final String SHARD_COMMAND_DISCOUNT = "DISCOUNT";
+    public static final String SHARD_COMMAND_PUT = "PUT";
+    public static final String SHARD_COMMAND_GET = "GET";
+    public static final String SHARD_COMMAND_REMOVE = "REMOVE";
+    public static final String SHARD_COMMAND_KEYS = "KEYS";
+    public static final String SHARD_RESPONSE_OK = "OK";
+    public static final String SHARD_RESPONSE_NOT_FOUND = "NOT_FOUND";
+    public static final String SHARD_RESPONSE_ERROR = "ERROR";
+    public static final String MESSAGE_SHARD_STARTED = "Partició del catàleg escoltant al port %d";
+    public static final String ERROR_SHARD_START = "No s'ha pogut iniciar la partició del catàleg";
+    public static final String ERROR_SHARD_PROTOCOL = "Resposta incorrecta de la partició del catàleg";
+    public static final String ERROR_SHARD_ALREADY_ADDED = "La partició ja forma part del catàleg";
+    public static final String ERROR_NO_SHARDS = "El catàleg no té cap partició";
+    public static final String ERROR_SHARD_PORT = "El port de la partició ha de ser un número enter entre 0 i 65535";
+    public static final String ROUTER_MODE_ARGUMENT = "--router";
+    public static final String MESSAGE_ROUTER_STARTED = "Catàleg repartit en %d particions";
+    public static final String MESSAGE_ROUTER_IMPORTED = "%d supermercats repartits entre %d particions";
+    public static final String ERROR_ROUTER_PORTS = "Els ports de les particions han de ser números enters entre 1 i 65535 separats per comes";
+    public static final String ERROR_ROUTER_CONNECT = "No s'ha pogut connectar amb les particions del catàleg";
+    public static final String IMPORT_PHASE_SUPERMARKETS = "supermarkets";
+    public static final String IMPORT_PHASE_PRODUCTS = "products";
+    public static final String METRICS_OBJECT_NAME = "EAC7S22425:type=CatalogueMetrics";
+    public static final String ERROR_PRICE_RANGE = "El preu mínim no pot ser més gran que el preu màxim";
+    public static final String ERROR_SEARCH_TEXT_NULL = "El text de cerca no pot ser nul";
+    public static final String ERROR_RESULT_COUNT = "El nombre de resultats ha de ser un enter positiu";
+    public static final String ERROR_METRICS_REGISTER = "No s'han pogut publicar les mètriques del catàleg";
 }
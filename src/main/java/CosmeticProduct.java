@@ -1,3 +1,5 @@
+import java.io.IOException;
+
 
 public class CosmeticProduct extends Product {
 
@@ -22,6 +24,28 @@ public class CosmeticProduct extends Product {
 
     }
 
+    /**
+     * Creates a cosmetic product without throwing if a field is invalid.
+     *
+     * @param name The name of the cosmetic product.
+     * @param price The price of the cosmetic product.
+     * @param stock The stock of the cosmetic product.
+     * @param brand The brand of the cosmetic product.
+     * @return The product, or the error message. An empty brand is reported as
+     *         {@link Constants#ERROR_PRODUCT_BRAND_NULL_OR_EMPTY}; any other
+     *         error is the one the constructor would throw.
+     * @see #CosmeticProduct(String, float, int, String)
+     */
+    public static ValidationResult<CosmeticProduct> create(String name, float price, int stock, String brand) {
+        String error = validate(name, price, stock);
+        if (error == null && (brand == null || brand.isEmpty())) {
+            error = Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY;
+        }
+        return error == null
+                ? ValidationResult.valid(new CosmeticProduct(name, price, stock, brand))
+                : ValidationResult.invalid(error);
+    }
+
     /**
      * Constructor for CosmeticProduct.
      *
@@ -61,14 +85,15 @@ public class CosmeticProduct extends Product {
     }
 
     /**
-     * Creates a string representation of the cosmetic product for the toString
-     * method.
+     * Writes the fields of the cosmetic product in the export format.
      *
-     * @return A string in the format "[name], [price], [stock], COSMETIC,
-     * [brand]".
+     * @param out The destination of the fields.
+     * @throws IOException If the destination fails.
+     * @see Product#writeFields(Appendable)
      */
     @Override
-    protected String productToString() {
-        return String.format("%s,%.2f,%d,COSMETIC,%s", getName(), getPrice(), getStock(), brand);
+    protected void writeFields(Appendable out) throws IOException {
+        super.writeFields(out);
+        out.append(",COSMETIC,").append(brand);
     }
 }
@@ -1,20 +1,114 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import javax.management.JMException;
 
 public class EAC7S22425 {
 
     public static void main(String[] args) {
         EAC7S22425 program = new EAC7S22425();
         Locale.setDefault(Locale.US);
-        program.start();
+        boolean batch = false;
+        String scriptPath = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(Constants.BATCH_MODE_ARGUMENT)) {
+                batch = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    scriptPath = args[++i];
+                }
+            } else if (args[i].equals(Constants.HTTP_MODE_ARGUMENT) && i + 1 < args.length) {
+                program.httpPort = parsePort(args[++i], 0);
+                if (program.httpPort < 0) {
+                    new UtilsIO().showError(Constants.ERROR_HTTP_PORT);
+                    return;
+                }
+            } else if (args[i].equals(Constants.COMPRESS_ARGUMENT)) {
+                // --compress [level]: exporta e importa los ficheros comprimidos con gzip
+                program.marketFileName += Constants.COMPRESSED_FILE_EXTENSION;
+                program.productsFileName += Constants.COMPRESSED_FILE_EXTENSION;
+                if (i + 1 < args.length && ConsoleReader.isInteger(args[i + 1])) {
+                    program.compressionLevel = Integer.parseInt(args[++i]);
+                    if (program.compressionLevel != Deflater.DEFAULT_COMPRESSION
+                            && (program.compressionLevel < Deflater.BEST_SPEED
+                                    || program.compressionLevel > Deflater.BEST_COMPRESSION)) {
+                        new UtilsIO().showError(Constants.ERROR_COMPRESSION_LEVEL);
+                        return;
+                    }
+                }
+            } else if (args[i].equals(Constants.PARTITION_BY_CITY_ARGUMENT)) {
+                program.partitionByCity = true;
+            } else if (args[i].equals(Constants.SHARD_MODE_ARGUMENT) && i + 1 < args.length) {
+                program.shardPort = parsePort(args[++i], 0);
+                if (program.shardPort < 0) {
+                    new UtilsIO().showError(Constants.ERROR_SHARD_PORT);
+                    return;
+                }
+            } else if (args[i].equals(Constants.AUTO_SNAPSHOT_ARGUMENT) && i + 1 < args.length) {
+                // --auto-snapshot 300,1000,3: segundos, cambios y generaciones que se guardan
+                program.autoSnapshotSettings = parseAutoSnapshotSettings(args[++i]);
+                if (program.autoSnapshotSettings == null) {
+                    new UtilsIO().showError(Constants.ERROR_AUTO_SNAPSHOT_SETTINGS);
+                    return;
+                }
+            } else if (args[i].equals(Constants.ROUTER_MODE_ARGUMENT) && i + 1 < args.length) {
+                // --router 7001,7002: reparte el catálogo entre las particiones ya iniciadas
+                program.routerPorts = parsePorts(args[++i]);
+                if (program.routerPorts == null) {
+                    new UtilsIO().showError(Constants.ERROR_ROUTER_PORTS);
+                    return;
+                }
+            }
+        }
+        if (program.shardPort >= 0) {
+            program.startShard();
+        } else if (program.routerPorts != null) {
+            program.startRouter(scriptPath);
+        } else if (batch) {
+            program.startBatch(scriptPath);
+        } else {
+            program.start();
+        }
     }
 
+    private static final int MARKET_FIELDS = 4;
+    private static final int PRODUCT_FIELDS = 5;
+
     String marketFileName = Constants.SUPERMARKETS_FILE_NAME;
     String productsFileName = Constants.PRODUCTS_FILE_NAME;
+    int httpPort = -1;
+    int shardPort = -1;
+    int[] routerPorts;
+    int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    boolean partitionByCity;
+    int[] autoSnapshotSettings = { (int) Constants.AUTO_SNAPSHOT_INTERVAL_SECONDS,
+            Constants.AUTO_SNAPSHOT_CHANGE_THRESHOLD, Constants.AUTO_SNAPSHOT_GENERATIONS };
+    private AutoSnapshotScheduler autoSnapshot;
+    private CatalogueMetrics metrics;
 
     public void start() {
         UtilsIO io = new UtilsIO();
         FileUtils fu = new FileUtils(Constants.DEFAULT_DATA_DIRECTORY);
-        SupermarketList supermarketList = new SupermarketList();
+        fu.setCompressionLevel(compressionLevel);
+        SupermarketList supermarketList = newSupermarketList();
+        metrics = startMetrics(io, supermarketList);
+        CatalogueHttpServer httpServer = startHttpServer(io, supermarketList);
+        AsyncExporter exporter = new AsyncExporter(io, fu, metrics);
+        autoSnapshot = new AutoSnapshotScheduler(supermarketList, fu, io, autoSnapshotSettings[0],
+                autoSnapshotSettings[1], autoSnapshotSettings[2], marketFileName, productsFileName);
+        autoSnapshot.start();
 
         boolean exitLoop = false;
         while (!exitLoop) {
@@ -34,7 +128,7 @@ public class EAC7S22425 {
                     break;
                 }
                 case 4: {
-                    exportSupermarkets(io, fu, supermarketList);
+                    exportSupermarketsAsync(io, exporter, supermarketList);
                     break;
                 }
                 case 5: {
@@ -53,14 +147,237 @@ public class EAC7S22425 {
                 }
             }
         }
+        if (httpServer != null) {
+            httpServer.stop();
+        }
+        exporter.close();
+        autoSnapshot.stop();
+        autoSnapshot = null;
+        synchronized (supermarketList) {
+            supermarketList.setMetrics(null);
+        }
+        metrics.unregister();
+        metrics = null;
+        io.flush();
+    }
+
+    /**
+     * Publishes the metrics of the list through JMX.
+     *
+     * @param io              The console used to report a failure.
+     * @param supermarketList The list measured.
+     * @return The metrics, which are recorded even if they could not be
+     *         published.
+     * @see CatalogueMetrics
+     */
+    private CatalogueMetrics startMetrics(UtilsIO io, SupermarketList supermarketList) {
+        CatalogueMetrics catalogueMetrics = new CatalogueMetrics(supermarketList);
+        synchronized (supermarketList) {
+            supermarketList.setMetrics(catalogueMetrics);
+        }
+        try {
+            catalogueMetrics.register();
+        } catch (JMException e) {
+            io.showError(Constants.ERROR_METRICS_REGISTER);
+        }
+        return catalogueMetrics;
+    }
+
+    /**
+     * Starts the HTTP query server over the list if a port was given.
+     * <p>
+     * While the server runs, every change to the list is made while holding
+     * its monitor.
+     * </p>
+     *
+     * @param io              The console used to report the result.
+     * @param supermarketList The list served.
+     * @return The started server, or null if no port was given or it could not
+     *         start.
+     * @see CatalogueHttpServer
+     */
+    private CatalogueHttpServer startHttpServer(UtilsIO io, SupermarketList supermarketList) {
+        if (httpPort < 0) {
+            return null;
+        }
+        try {
+            CatalogueHttpServer httpServer = new CatalogueHttpServer(supermarketList, httpPort);
+            httpServer.start();
+            io.showInfo(String.format(Constants.MESSAGE_HTTP_STARTED, httpServer.getPort()));
+            return httpServer;
+        } catch (IOException e) {
+            io.showError(Constants.ERROR_HTTP_START);
+            return null;
+        }
+    }
+
+    /**
+     * Runs the application as one shard of a catalogue spread over several
+     * processes, without menus, until the process is stopped.
+     *
+     * @see CatalogueShardServer
+     * @see CatalogueRouter
+     */
+    public void startShard() {
+        UtilsIO io = new UtilsIO();
+        try {
+            CatalogueShardServer shard = new CatalogueShardServer(newSupermarketList(), shardPort);
+            io.showInfo(String.format(Constants.MESSAGE_SHARD_STARTED, shard.getPort()));
+            shard.run();
+        } catch (IOException e) {
+            io.showError(Constants.ERROR_SHARD_START);
+        }
+    }
+
+    /**
+     * Parses a TCP port.
+     *
+     * @param port    The text of the port.
+     * @param minPort The lowest port accepted, such as 0 to let the system
+     *                choose a free one.
+     * @return The port, or -1 if the text is not an integer from
+     *         {@code minPort} to {@value Constants#MAX_PORT}.
+     */
+    static int parsePort(String port, int minPort) {
+        if (!ConsoleReader.isInteger(port)) {
+            return -1;
+        }
+        int parsed = Integer.parseInt(port);
+        return parsed >= minPort && parsed <= Constants.MAX_PORT ? parsed : -1;
+    }
+
+    /**
+     * Parses a comma-separated list of ports.
+     *
+     * @param ports The list, such as "7001,7002".
+     * @return The ports, or null if any of them is not an integer from 1 to
+     *         {@value Constants#MAX_PORT}.
+     */
+    static int[] parsePorts(String ports) {
+        String[] fields = ports.split(",", -1);
+        int[] parsed = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            // El router se conecta a puertos concretos: el 0 no vale
+            parsed[i] = parsePort(fields[i], 1);
+            if (parsed[i] < 0) {
+                return null;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the settings of the automatic snapshots.
+     *
+     * @param settings The seconds between checks, the number of changes that
+     *                 triggers a snapshot and the number of snapshots kept,
+     *                 separated by commas, such as "300,1000,3".
+     * @return The three settings, or null if they are not three positive
+     *         integers.
+     * @see AutoSnapshotScheduler
+     */
+    static int[] parseAutoSnapshotSettings(String settings) {
+        String[] fields = settings.split(",", -1);
+        if (fields.length != 3) {
+            return null;
+        }
+        int[] parsed = new int[3];
+        for (int i = 0; i < 3; i++) {
+            if (!ConsoleReader.isInteger(fields[i])) {
+                return null;
+            }
+            parsed[i] = Integer.parseInt(fields[i]);
+            if (parsed[i] <= 0) {
+                return null;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Runs the application as the router of a catalogue spread over the
+     * shards started with {@value Constants#SHARD_MODE_ARGUMENT}, without
+     * menus.
+     * <p>
+     * The router connects to every shard and, if the supermarkets and products
+     * files exist, imports them and sends every supermarket to the shard that
+     * owns it. It then executes the commands of a script (see
+     * {@link RouterMode}), read from a file or from the standard input.
+     * </p>
+     *
+     * @param scriptPath The path of the script, or null or "-" to read the
+     *                   commands from the standard input.
+     * @see CatalogueRouter
+     */
+    public void startRouter(String scriptPath) {
+        UtilsIO io = new UtilsIO();
+        FileUtils fu = new FileUtils(Constants.DEFAULT_DATA_DIRECTORY);
+        fu.setCompressionLevel(compressionLevel);
+        try (CatalogueRouter router = new CatalogueRouter()) {
+            for (int port : routerPorts) {
+                router.addShard(port);
+            }
+            io.showInfo(String.format(Constants.MESSAGE_ROUTER_STARTED, router.getShardCount()));
+            RouterMode mode = new RouterMode(this, io, fu, router);
+            if (fu.fileExists(marketFileName) && fu.fileExists(productsFileName)) {
+                mode.importFiles();
+            }
+            try (BufferedReader script = scriptPath == null || scriptPath.equals("-")
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                    : Files.newBufferedReader(Path.of(scriptPath), StandardCharsets.UTF_8)) {
+                mode.run(script);
+            }
+        } catch (UncheckedIOException | IllegalArgumentException e) {
+            io.showError(Constants.ERROR_ROUTER_CONNECT);
+        } catch (IOException e) {
+            io.showError(Constants.ERROR_BATCH_SCRIPT_READ);
+        }
+        io.flush();
+    }
+
+    /**
+     * Runs the application without menus, executing the commands of a script.
+     * <p>
+     * The output is batched and only a summary with the number of commands,
+     * errors and the throughput is shown at the end.
+     * </p>
+     *
+     * @param scriptPath The path of the script, or null or "-" to read the
+     *                   commands from the standard input.
+     * @see BatchMode
+     */
+    public void startBatch(String scriptPath) {
+        UtilsIO io = new UtilsIO();
+        io.setAutoFlush(false);
+        FileUtils fu = new FileUtils(Constants.DEFAULT_DATA_DIRECTORY);
+        fu.setCompressionLevel(compressionLevel);
+        SupermarketList supermarketList = newSupermarketList();
+        BatchMode batch = new BatchMode(this, io, fu, supermarketList);
+        try (BufferedReader script = scriptPath == null || scriptPath.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(scriptPath), StandardCharsets.UTF_8)) {
+            batch.run(script);
+        } catch (IOException e) {
+            io.showError(Constants.ERROR_BATCH_SCRIPT_READ);
+        }
+        io.flush();
     }
 
     private void showSupermarketList(UtilsIO io, SupermarketList supermarketList) {
-        if (supermarketList.getSupermarketList().isEmpty()) {
+        if (supermarketList.getSize() == 0) {
             io.showError(Constants.ERROR_SUPERMARKET_LIST_EMPTY);
             return;
         }
-        io.showSupermarkets(supermarketList.listToString());
+        if (supermarketList.getSize() <= Constants.SUPERMARKET_BOARD_PAGE_SIZE) {
+            io.showSupermarketBoard(supermarketList);
+            return;
+        }
+        // listas grandes: mostramos página a página
+        int page = 0;
+        while (io.showSupermarketBoardPage(supermarketList, page, Constants.SUPERMARKET_BOARD_PAGE_SIZE)
+                && io.askForInteger(Constants.MESSAGE_ASK_NEXT_PAGE, Constants.ERROR_NO_INTEGER) == 1) {
+            page++;
+        }
     }
 
     private void addSupermarketToList(UtilsIO io, SupermarketList supermarketList) {
@@ -69,12 +386,15 @@ public class EAC7S22425 {
         float longitude = io.askForFloat(Constants.MESSAGE_INSERT_LONGITUDE, Constants.ERROR_NO_FLOAT);
         float latitude = io.askForFloat(Constants.MESSAGE_INSERT_LATITUDE, Constants.ERROR_NO_FLOAT);
         Supermarket supermarket = new Supermarket(name, city, longitude, latitude);
-        // comprobamos si el supermercado existe
-        if (supermarketList.lookForSupermarket(name, city) != null) {
-            io.showError(Constants.ERROR_SUPERMARKET_ALREADY_ON_LIST);
-            return;
+        synchronized (supermarketList) {
+            // comprobamos si el supermercado existe
+            if (supermarketList.lookForSupermarket(name, city) != null) {
+                io.showError(Constants.ERROR_SUPERMARKET_ALREADY_ON_LIST);
+                return;
+            }
+            supermarketList.addSupermarket(supermarket);
         }
-        supermarketList.addSupermarket(supermarket);
+        recordChange();
         io.showInfo(Constants.MESSAGE_MARKET_ADDED_SUCCESSFULLY);
 
     }
@@ -99,11 +419,14 @@ public class EAC7S22425 {
                             Constants.ERROR_EXPIRATION_DATE_FORMAT);
                     try {// creamos el producto si todo va correcto en caso contrario muestra ERROR
                         FoodProduct foodProduct = new FoodProduct(productName, price, expirationDate);
-                        if (supermarket.hasProduct(productName)) {
-                            io.showError(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
-                            return;
+                        synchronized (supermarketList) {
+                            if (supermarket.hasProduct(productName)) {
+                                io.showError(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
+                                return;
+                            }
+                            supermarket.addProduct(foodProduct);
                         }
-                        supermarket.addProduct(foodProduct);
+                        recordChange();
                         io.showInfo(Constants.MESSAGE_PRODUCT_ADDED_SUCCESSFULLY);
                     } catch (IllegalArgumentException e) {
                         io.showError(e.getMessage());
@@ -114,13 +437,16 @@ public class EAC7S22425 {
                             Constants.ERROR_EMPTY_STRING);
                     try {
                         CosmeticProduct cosmeticProduct = new CosmeticProduct(productName, price, brandName);
-                        // comprobamos si el producto existe
-                        if (supermarket.hasProduct(productName)) {
-                            io.showError(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
-                            return;
+                        synchronized (supermarketList) {
+                            // comprobamos si el producto existe
+                            if (supermarket.hasProduct(productName)) {
+                                io.showError(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
+                                return;
+                            }
+                            // agregamos el producto al supermercado
+                            supermarket.addProduct(cosmeticProduct);
                         }
-                        // agregamos el producto al supermercado
-                        supermarket.addProduct(cosmeticProduct);
+                        recordChange();
                         io.showInfo(Constants.MESSAGE_PRODUCT_ADDED_SUCCESSFULLY);
                     } catch (IllegalArgumentException e) {
                         io.showError(e.getMessage());
@@ -136,95 +462,305 @@ public class EAC7S22425 {
 
     }
 
-    private void exportSupermarkets(UtilsIO io, FileUtils fu, SupermarketList supermarketList) {
+    /**
+     * Creates the list the program works with, partitioned by city if the
+     * program was started with {@value Constants#PARTITION_BY_CITY_ARGUMENT}.
+     *
+     * @return A new empty list.
+     */
+    private SupermarketList newSupermarketList() {
+        return partitionByCity ? SupermarketList.partitionedByCity() : new SupermarketList();
+    }
+
+    /**
+     * Exports the list into the supermarkets and products files.
+     *
+     * @param io              The console used for the result.
+     * @param fu              The working directory of the files.
+     * @param supermarketList The list to export.
+     * @return True if the files were written, false if the list is empty or a
+     *         file could not be written.
+     */
+    boolean exportSupermarkets(UtilsIO io, FileUtils fu, SupermarketList supermarketList) {
 
         if (supermarketList == null || supermarketList.getSupermarketList().isEmpty()) {
             io.showError(Constants.ERROR_SUPERMARKET_LIST_EMPTY);
-            return;
+            return false;
         }
         // for each supermarket in the list, write the supermarket data to the file and
-        // the products data to the other file
-        String supermarkets = "";
-        String products = "";
-        for (Supermarket supermarket : supermarketList.getSupermarketList()) {
-            supermarkets += supermarket.supermarketToString();
-            products += supermarket.productsToString();
+        // the products data to the other file, streaming through the (compressed) files
+        long start = System.nanoTime();
+        CatalogueEvents.Export event = new CatalogueEvents.Export();
+        event.begin();
+        try (Writer supermarkets = fu.openWriter(marketFileName);
+                Writer products = fu.openWriter(productsFileName)) {
+            products.append(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+            synchronized (supermarketList) {
+                supermarketList.writeExportTo(supermarkets, products);
+                if (event.isEnabled()) {
+                    event.supermarkets = supermarketList.getSize();
+                    for (Supermarket supermarket : supermarketList) {
+                        event.products += supermarket.products.size();
+                    }
+                }
+            }
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            io.showError(Constants.ERROR_WRITING_FILE);
+            return false;
         }
-        try {
-            fu.createFileFromString(marketFileName, supermarkets);
-            fu.createFileFromString(productsFileName, products);
-            io.showInfo(Constants.MESSAGE_FILES_CREATED);
-        } catch (IllegalArgumentException e) {
-            io.showError(e.getMessage());
+        event.end();
+        if (event.shouldCommit()) {
+            event.marketsFile = marketFileName;
+            event.productsFile = productsFileName;
+            event.bytes = exportedBytes(fu);
+            event.commit();
+        }
+        if (metrics != null) {
+            metrics.recordExport(exportedBytes(fu), System.nanoTime() - start);
+        }
+        io.showInfo(Constants.MESSAGE_FILES_CREATED);
+        return true;
+    }
+
+    /**
+     * Gets the size of the exported files.
+     *
+     * @param fu The working directory of the files.
+     * @return The size of the supermarkets and products files, in bytes.
+     */
+    private long exportedBytes(FileUtils fu) {
+        return new File(fu.getFilePath(marketFileName)).length() + new File(fu.getFilePath(productsFileName)).length();
+    }
+
+    /**
+     * Reads every line of a file.
+     *
+     * @param reader The file.
+     * @return The lines read.
+     * @throws IOException If the file cannot be read.
+     */
+    private static List<String> readLines(Utf8LineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Adds the supermarkets of the supermarkets file that are not on the list.
+     *
+     * @param marketLines     The lines of the supermarkets file.
+     * @param supermarketList The list to import into.
+     * @param report          The report of the rejected lines.
+     * @return The imported or existing supermarkets by their "name,city" key.
+     */
+    private Map<String, Supermarket> importMarkets(List<String> marketLines, SupermarketList supermarketList,
+            ImportReport report) {
+        Map<String, Supermarket> stores = new HashMap<>();
+        for (int marketIndex = 0; marketIndex < marketLines.size(); marketIndex++) {
+            String[] marketData = marketLines.get(marketIndex).split(",");
+            if (marketData.length != MARKET_FIELDS) {
+                report.reject(marketFileName, marketIndex + 1, Constants.ERROR_IMPORT_WRONG_FIELDS);
+                continue;
+            }
+
+            String longitude = ConsoleReader.normalizeDecimal(marketData[2]);
+            String latitude = ConsoleReader.normalizeDecimal(marketData[3]);
+            if (longitude == null || latitude == null) {
+                report.reject(marketFileName, marketIndex + 1, Constants.ERROR_IMPORT_NOT_A_NUMBER);
+                continue;
+            }
+
+            try {
+                // buscamos el supermercado en busca de duplicados
+                Supermarket supermarket = supermarketList.lookForSupermarket(marketData[0], marketData[1]);
+                if (supermarket == null) {
+                    supermarket = new Supermarket(marketData[0], marketData[1], Float.parseFloat(longitude),
+                            Float.parseFloat(latitude));
+                    supermarketList.addSupermarket(supermarket);
+                }
+                stores.put(marketData[0] + "," + marketData[1], supermarket);
+                report.accept();
+            } catch (IllegalArgumentException e) {
+                report.reject(marketFileName, marketIndex + 1, e.getMessage());
+            }
+        }
+        return stores;
+    }
+
+    /**
+     * Adds or updates one product row of the products file without throwing.
+     * <p>
+     * The numbers are checked before they are parsed and the product is merged
+     * into the supermarket with one lookup, so a bad row costs no exception and
+     * an unchanged row creates no product.
+     * </p>
+     *
+     * @param supermarket The supermarket the row belongs to.
+     * @param productData The fields of the row.
+     * @param first       The index of the product name: 2 in the legacy format,
+     *                    where each row starts with the name and city of its
+     *                    supermarket, or 0 in the sectioned format.
+     * @return The reason the row was rejected, or null if it was imported.
+     */
+    static String importProduct(Supermarket supermarket, String[] productData, int first) {
+        if (productData.length != first + PRODUCT_FIELDS) {
+            return Constants.ERROR_IMPORT_WRONG_FIELDS;
+        }
+        String name = productData[first];
+        String price = ConsoleReader.normalizeDecimal(productData[first + 1]);
+        String stock = productData[first + 2];
+        String type = productData[first + 3];
+        if (price == null || !ConsoleReader.isInteger(stock)) {
+            return Constants.ERROR_IMPORT_NOT_A_NUMBER;
+        }
+        // una sola busqueda por fila: si el producto existe se actualiza sin crear otro
+        if (type.equals(Constants.PRODUCT_IMPORT_TYPE_COSMETIC)) {
+            return supermarket.mergeCosmeticProduct(name, Float.parseFloat(price), Integer.parseInt(stock),
+                    productData[first + 4]);
+        } else if (type.equals(Constants.PRODUCT_IMPORT_TYPE_FOOD)) {
+            // los productos caducados de exportaciones antiguas se restauran sin error
+            return supermarket.mergeFoodProduct(name, Float.parseFloat(price), Integer.parseInt(stock),
+                    productData[first + 4]);
         }
+        return Constants.ERROR_BATCH_UNKNOWN_PRODUCT_TYPE;
     }
 
-    private void importSupermarkets(UtilsIO io, FileUtils fu, SupermarketList supermarketList) {
+    /**
+     * Reports a change of the list to the auto-snapshot scheduler, if it is
+     * running.
+     *
+     * @see AutoSnapshotScheduler#recordChange()
+     */
+    private void recordChange() {
+        if (autoSnapshot != null) {
+            autoSnapshot.recordChange();
+        }
+    }
+
+    /**
+     * Reports several changed rows of the list to the auto-snapshot
+     * scheduler, if it is running.
+     *
+     * @param count The number of rows changed.
+     * @see AutoSnapshotScheduler#recordChanges(int)
+     */
+    private void recordChanges(int count) {
+        if (autoSnapshot != null) {
+            autoSnapshot.recordChanges(count);
+        }
+    }
+
+    /**
+     * Exports the supermarkets and products files in the background. The menu
+     * is available again as soon as the snapshot of the list has been taken.
+     *
+     * @param io              The console used to report the result.
+     * @param exporter        The background exporter.
+     * @param supermarketList The list to export.
+     * @see AsyncExporter
+     */
+    void exportSupermarketsAsync(UtilsIO io, AsyncExporter exporter, SupermarketList supermarketList) {
+        if (supermarketList.getSize() == 0) {
+            io.showError(Constants.ERROR_SUPERMARKET_LIST_EMPTY);
+            return;
+        }
+        exporter.export(supermarketList, marketFileName, productsFileName);
+    }
+
+    /**
+     * Imports the supermarkets and products files into the list.
+     * <p>
+     * Rows that cannot be imported are collected into an {@link ImportReport}
+     * instead of being shown one by one; its summary is shown once at the end.
+     * </p>
+     *
+     * @param io              The console used for the result.
+     * @param fu              The working directory of the files.
+     * @param supermarketList The list to import into.
+     * @return The report of the import, or null if the files could not be read.
+     */
+    ImportReport importSupermarkets(UtilsIO io, FileUtils fu, SupermarketList supermarketList) {
         // verify if the files marketFileName and productsFileName exist. If not, show
         // an error message
         if (!fu.fileExists(marketFileName) || !fu.fileExists(productsFileName)) {
             io.showError(Constants.ERROR_FILES_NOT_FOUND);
-            return;
-        }
-        // import the content of the two files into Strings
-        String marketFileContent = fu.extractFileIntoString(marketFileName);
-        String productsFileContent = fu.extractFileIntoString(productsFileName);
-        if (marketFileContent == null || productsFileContent == null) {
-            io.showError(Constants.ERROR_FILES_NOT_FOUND);
-            return;
+            return null;
         }
-        if (marketFileContent.isEmpty() || productsFileContent.isEmpty()) {
-            io.showError(Constants.ERROR_FILES_EMPTY);
-            return;
-        }
-        // for each supermarket in the list, write the supermarket data to the file and
-        // the products data to the other file
-        String[] marketLines = marketFileContent.split("\n");
-        String[] productsLines = productsFileContent.split("\n");
-        for (String marketLine : marketLines) {
-            String[] marketData = marketLine.split(",");
-
-            Supermarket supermarket = null;
-            // buscamos el supermercado en busca de duplicados
-            if (supermarketList.lookForSupermarket(marketData[0], marketData[1]) == null) {
-                supermarket = new Supermarket(marketData[0], marketData[1], Float.parseFloat(marketData[2]),
-                        Float.parseFloat(marketData[3]));
-                supermarketList.addSupermarket(supermarket);
-            } else {// si el supermercado existe lo cargamos
-                supermarket = supermarketList.lookForSupermarket(marketData[0], marketData[1]);
-            }
-
-            for (String productLine : productsLines) {
-                String[] productData = productLine.split(",");
-
-                try {
-                    // nombre y ciudad y tipo de producto coinciden con marketdata entonces importa el producto
-                    if (productData[0].equals(marketData[0]) && productData[1].equals(marketData[1]) && productData[5].equals(Constants.PRODUCT_IMPORT_TYPE_COSMETIC)) {
-                        Product cosmetic = new CosmeticProduct(productData[2], Float.parseFloat(productData[3]),Integer.parseInt(productData[4]), productData[6]);
-                        // comprobamos si el producto ya existe y si existe lo actualizamos
-                        if (supermarket.hasProduct(productData[2])) {
-                            supermarket.updateProduct(cosmetic);
-                        } else {
-                            supermarket.addProduct(cosmetic);
-                        }
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        // the supermarkets file is small and read first; the products file is
+        // streamed line by line, so it is never held in memory
+        try (Utf8LineReader markets = fu.openReader(marketFileName);
+                Utf8LineReader products = fu.openReader(productsFileName)) {
+            CatalogueEvents.ImportPhase marketsPhase = CatalogueEvents.ImportPhase.start(
+                    Constants.IMPORT_PHASE_SUPERMARKETS, marketFileName, report);
+            List<String> marketLines = readLines(markets);
+            String productLine = products.readLine();
+            if (marketLines.isEmpty() || productLine == null) {
+                io.showError(Constants.ERROR_FILES_EMPTY);
+                return null;
+            }
+            synchronized (supermarketList) {
+                Map<String, Supermarket> stores = importMarkets(marketLines, supermarketList, report);
+                marketsPhase.finish(marketLines.size(), report);
+                CatalogueEvents.ImportPhase productsPhase = CatalogueEvents.ImportPhase.start(
+                        Constants.IMPORT_PHASE_PRODUCTS, productsFileName, report);
+                // the sectioned format starts with a header; otherwise every row has its own "name,city"
+                boolean sectioned = productLine.equals(Constants.PRODUCTS_FORMAT_HEADER);
+                Supermarket supermarket = null;
+                int productIndex = 0;
+                CatalogueEvents.ImportBatch batch = CatalogueEvents.ImportBatch.start(productsFileName, 1, report);
+                for (; productLine != null; productLine = batch.readLine(products)) {
+                    productIndex++;
+                    if (batch.rows == CatalogueEvents.ImportBatch.ROWS) {
+                        batch.finish(report);
+                        batch = CatalogueEvents.ImportBatch.start(productsFileName, productIndex, report);
                     }
-                    if (productData[0].equals(marketData[0]) && productData[1].equals(marketData[1]) && productData[5].equals(Constants.PRODUCT_IMPORT_TYPE_FOOD)) {
-                        Product food = new FoodProduct(productData[2], Float.parseFloat(productData[3]), Integer.parseInt(productData[4]), productData[6]);
-                        if (supermarket.hasProduct(productData[2])) {
-                            supermarket.updateProduct(food);
-                        } else {
-                            supermarket.addProduct(food);
+                    long rowStart = batch.startRow();
+                    String error;
+                    if (sectioned) {
+                        if (productLine.startsWith(Constants.PRODUCTS_STORE_PREFIX)) {
+                            supermarket = stores.get(productLine.substring(Constants.PRODUCTS_STORE_PREFIX.length()));
+                            continue;
                         }
-
+                        if (supermarket == null || productLine.isEmpty()) {
+                            continue;
+                        }
+                        error = importProduct(supermarket, productLine.split(","), 0);
+                    } else {
+                        // the key of a row is its "name,city" prefix
+                        int cityEnd = productLine.indexOf(',', productLine.indexOf(',') + 1);
+                        supermarket = cityEnd < 0 ? null : stores.get(productLine.substring(0, cityEnd));
+                        if (supermarket == null) {
+                            continue;
+                        }
+                        error = importProduct(supermarket, productLine.split(","), 2);
                     }
-
-                } catch (IllegalArgumentException e) {
-                    io.showError(e.getMessage());
+                    if (error == null) {
+                        report.accept();
+                    } else {
+                        report.reject(productsFileName, productIndex, error);
+                    }
+                    batch.endRow(rowStart);
                 }
-
+                batch.finish(report);
+                productsPhase.finish(productIndex, report);
             }
-
+        } catch (IOException | UncheckedIOException e) {
+            io.showError(Constants.ERROR_READING_FILE);
+            return null;
+        }
+        recordChanges(report.getImportedCount());
+        if (metrics != null) {
+            metrics.recordImport(report.getImportedCount(), System.nanoTime() - start);
         }
         io.showInfo(Constants.MESSAGE_FILES_IMPORTED);
+        if (report.hasRejections()) {
+            io.showError(report.summary());
+        }
+        return report;
     }
 }
\ No newline at end of file
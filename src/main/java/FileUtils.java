@@ -1,9 +1,19 @@
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * A utility class for handling file operations such as creating, deleting, reading, and writing files.
@@ -11,10 +21,19 @@ import java.io.IOException;
  * This class provides methods to manage files within a specified working directory. It ensures that
  * the directory exists and handles common file-related tasks with proper error checking and validation.
  * </p>
+ * <p>
+ * Files are always read and written as UTF-8, whatever the platform charset.
+ * Files whose name ends with {@value Constants#COMPRESSED_FILE_EXTENSION} are
+ * compressed with gzip transparently: every read and write of this class goes
+ * through the compression stream, so callers do not need to know about it.
+ * </p>
  */
 public class FileUtils {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private final String dataDirectory;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
     /**
      * Constructs a new {@code FileUtils} instance with the specified directory name.
@@ -38,6 +57,45 @@ public class FileUtils {
         return dataDirectory;
     }
 
+    /**
+     * Gets the compression level used when writing compressed files.
+     *
+     * @return The level, from {@link Deflater#BEST_SPEED} to
+     *         {@link Deflater#BEST_COMPRESSION}, or
+     *         {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the compression level used when writing compressed files. Lower
+     * levels are faster; higher levels give smaller files.
+     *
+     * @param compressionLevel The level, from {@link Deflater#BEST_SPEED} to
+     *                         {@link Deflater#BEST_COMPRESSION}, or
+     *                         {@link Deflater#DEFAULT_COMPRESSION}.
+     * @throws IllegalArgumentException If the level is out of range.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+                && (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException(Constants.ERROR_COMPRESSION_LEVEL);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Checks if a file is compressed, judging by its extension.
+     *
+     * @param fileName The name of the file.
+     * @return {@code true} if the name ends with
+     *         {@value Constants#COMPRESSED_FILE_EXTENSION}.
+     */
+    public static boolean isCompressed(String fileName) {
+        return fileName.endsWith(Constants.COMPRESSED_FILE_EXTENSION);
+    }
+
     /**
      * Gets the full file path for a given file name within the working directory.
      *
@@ -133,7 +191,7 @@ public class FileUtils {
             return null;
         }
         StringBuilder content = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new FileReader(getFilePath(fileName)))) {
+        try (Utf8LineReader reader = openReader(fileName)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 content.append(line).append("\n");
@@ -163,10 +221,198 @@ public class FileUtils {
         if (fileExists(fileName)) {
             deleteFile(fileName);
         }
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(getFilePath(fileName)))) {
+        try (Writer writer = openWriter(fileName)) {
             writer.write(content);
         } catch (IOException e) {
             throw new IllegalArgumentException(Constants.ERROR_WRITING_FILE);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Opens a UTF-8 line reader over a file, so large files can be read line
+     * by line without loading them in memory. Compressed files are
+     * decompressed while they are read.
+     *
+     * @param fileName The name of the file to read.
+     * @return The reader, which the caller must close.
+     * @throws IOException If the file cannot be opened.
+     * @throws IllegalArgumentException If the file name is null or empty.
+     * @see Utf8LineReader
+     */
+    public Utf8LineReader openReader(String fileName) throws IOException {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException(Constants.ERROR_FILE_NAME_NULL);
+        }
+        CatalogueEvents.FileRead event = new CatalogueEvents.FileRead();
+        event.begin();
+        FileInputStream file = new FileInputStream(getFilePath(fileName));
+        InputStream in = file;
+        if (isCompressed(fileName)) {
+            try {
+                in = new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        if (event.isEnabled()) {
+            event.file = fileName;
+            event.compressed = isCompressed(fileName);
+            in = new RecordedInputStream(in, file, event);
+        }
+        return new Utf8LineReader(in);
+    }
+
+    /**
+     * Opens a buffered UTF-8 writer that creates or overwrites a file, so
+     * large contents can be written without building them in memory first.
+     * Compressed files are compressed with the current compression level while
+     * they are written.
+     *
+     * @param fileName The name of the file to create or overwrite.
+     * @return The writer, which the caller must close.
+     * @throws IOException If the file cannot be opened.
+     * @throws IllegalArgumentException If the file name is null or empty.
+     * @see Utf8Writer
+     */
+    public Writer openWriter(String fileName) throws IOException {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException(Constants.ERROR_CONTENT_NULL);
+        }
+        CatalogueEvents.FileWrite event = new CatalogueEvents.FileWrite();
+        event.begin();
+        OutputStream out = new FileOutputStream(getFilePath(fileName));
+        if (isCompressed(fileName)) {
+            out = new LeveledGZIPOutputStream(out, STREAM_BUFFER_SIZE, compressionLevel);
+        }
+        if (event.isEnabled()) {
+            event.file = fileName;
+            event.compressed = isCompressed(fileName);
+            out = new RecordedOutputStream(out, new File(getFilePath(fileName)), event);
+        }
+        return new Utf8Writer(out);
+    }
+
+    /**
+     * Renames a file of the working directory, replacing the target if it
+     * exists. The move is atomic when the file system supports it, so the
+     * target is never seen half written.
+     *
+     * @param sourceName The name of the file to rename.
+     * @param targetName The new name of the file.
+     * @throws IOException If the file cannot be renamed.
+     */
+    public void replaceFile(String sourceName, String targetName) throws IOException {
+        Path source = Path.of(getFilePath(sourceName));
+        Path target = Path.of(getFilePath(targetName));
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * A gzip stream that compresses with a given level instead of the default
+     * one.
+     */
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+        private LeveledGZIPOutputStream(OutputStream out, int size, int level) throws IOException {
+            super(out, size);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Measures the time spent reading a file and commits its
+     * {@link CatalogueEvents.FileRead} event when the file is closed.
+     */
+    private static final class RecordedInputStream extends FilterInputStream {
+        private final FileInputStream file;
+        private final CatalogueEvents.FileRead event;
+        private boolean closed;
+
+        private RecordedInputStream(InputStream in, FileInputStream file, CatalogueEvents.FileRead event) {
+            super(in);
+            this.file = file;
+            this.event = event;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int b = super.read();
+            event.ioTime += System.nanoTime() - start;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int read = super.read(b, off, len);
+            event.ioTime += System.nanoTime() - start;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // la posición del fichero son los bytes leídos del disco, antes de descomprimir
+            event.bytes = file.getChannel().position();
+            super.close();
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Measures the time spent writing a file and commits its
+     * {@link CatalogueEvents.FileWrite} event when the file is closed.
+     */
+    private static final class RecordedOutputStream extends FilterOutputStream {
+        private final File file;
+        private final CatalogueEvents.FileWrite event;
+        private boolean closed;
+
+        private RecordedOutputStream(OutputStream out, File file, CatalogueEvents.FileWrite event) {
+            super(out);
+            this.file = file;
+            this.event = event;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            event.ioTime += System.nanoTime() - start;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            event.ioTime += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long start = System.nanoTime();
+            super.close();
+            event.ioTime += System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.bytes = file.length();
+                event.commit();
+            }
+        }
+    }
+}
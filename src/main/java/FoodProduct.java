@@ -1,4 +1,6 @@
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
@@ -53,6 +55,91 @@ public class FoodProduct extends Product {
         this.expirationDate = validateExpirationDate(expirationDate);
     }
 
+    /**
+     * Constructs a FoodProduct with an already parsed expiration date, which
+     * may be in the past.
+     *
+     * @param name           the name of the product
+     * @param price          the price of the product
+     * @param stock          the stock quantity
+     * @param expirationDate the expiration date
+     */
+    private FoodProduct(String name, float price, int stock, LocalDate expirationDate) {
+        super(name, price, stock);
+        this.expirationDate = expirationDate;
+    }
+
+    /**
+     * Creates a FoodProduct restored from an export, accepting expiration dates
+     * in the past.
+     * <p>
+     * Unlike the constructors, a past date is not an error: the product is
+     * created and {@link #isExpired()} returns true. This is the path used to
+     * load old exports and archival snapshots.
+     * </p>
+     *
+     * @param name           the name of the product
+     * @param price          the price of the product (must be > 0)
+     * @param stock          the stock quantity (must be ≥ 0)
+     * @param expirationDate the expiration date in "yyyyMMdd" format
+     * @return the restored product
+     * @throws IllegalArgumentException if the name, price or stock are invalid,
+     *                                  or the expiration date is null, empty or
+     *                                  has an invalid format
+     */
+    public static FoodProduct restore(String name, float price, int stock, String expirationDate) {
+        return new FoodProduct(name, price, stock, parseExpirationDate(expirationDate));
+    }
+
+    /**
+     * Creates a FoodProduct without throwing if a field is invalid.
+     *
+     * @param name           the name of the product
+     * @param price          the price of the product
+     * @param stock          the stock quantity
+     * @param expirationDate the expiration date in "yyyyMMdd" format
+     * @return the product, or the error message the constructor would throw
+     * @see #FoodProduct(String, float, int, String)
+     */
+    public static ValidationResult<FoodProduct> create(String name, float price, int stock, String expirationDate) {
+        return create(name, price, stock, expirationDate, false);
+    }
+
+    /**
+     * Creates a restored FoodProduct without throwing if a field is invalid.
+     * Past expiration dates are accepted.
+     *
+     * @param name           the name of the product
+     * @param price          the price of the product
+     * @param stock          the stock quantity
+     * @param expirationDate the expiration date in "yyyyMMdd" format
+     * @return the product, or the error message
+     *         {@link #restore(String, float, int, String)} would throw
+     */
+    public static ValidationResult<FoodProduct> createRestored(String name, float price, int stock,
+            String expirationDate) {
+        return create(name, price, stock, expirationDate, true);
+    }
+
+    private static ValidationResult<FoodProduct> create(String name, float price, int stock, String expirationDate,
+            boolean allowPast) {
+        String error = validate(name, price, stock);
+        if (error != null) {
+            return ValidationResult.invalid(error);
+        }
+        if (expirationDate == null || expirationDate.isEmpty()) {
+            return ValidationResult.invalid(Constants.ERROR_EXPIRATION_DATE_NULL_OR_EMPTY);
+        }
+        LocalDate date = parseDate(expirationDate);
+        if (date == null) {
+            return ValidationResult.invalid(Constants.ERROR_EXPIRATION_DATE_FORMAT);
+        }
+        if (!allowPast && date.isBefore(LocalDate.now())) {
+            return ValidationResult.invalid(Constants.ERROR_EXPIRATION_DATE_PAST);
+        }
+        return ValidationResult.valid(new FoodProduct(name, price, stock, date));
+    }
+
     /**
      * Applies a discount with additional reduction for products close to
      * expiration.
@@ -91,19 +178,67 @@ public class FoodProduct extends Product {
      *                                  </ul>
      */
     private LocalDate validateExpirationDate(String dateString) {
+        LocalDate date = parseExpirationDate(dateString);
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException(Constants.ERROR_EXPIRATION_DATE_PAST);
+        }
+        return date;
+    }
+
+    /**
+     * Parses an expiration date without checking if it is in the past.
+     *
+     * @param dateString the date string in "yyyyMMdd" format
+     * @return the parsed LocalDate object
+     * @throws IllegalArgumentException if the date string is null, empty or has
+     *                                  an invalid format
+     */
+    private static LocalDate parseExpirationDate(String dateString) {
         if (dateString == null || dateString.isEmpty()) {
             throw new IllegalArgumentException(Constants.ERROR_EXPIRATION_DATE_NULL_OR_EMPTY);
         }
-        try {
-            LocalDate date = LocalDate.parse(dateString, DATE_FORMATTER);
+        LocalDate date = parseDate(dateString);
+        if (date == null) {
+            throw new IllegalArgumentException(Constants.ERROR_EXPIRATION_DATE_FORMAT);
+        }
+        return date;
+    }
 
-            if (date.isBefore(LocalDate.now())) {
-                throw new IllegalArgumentException(Constants.ERROR_EXPIRATION_DATE_PAST);
+    /**
+     * Parses a date in "yyyyMMdd" format without throwing.
+     * <p>
+     * Eight-digit dates are parsed by hand with the same rules as the date
+     * formatter, which moves a day past the end of the month back to its last
+     * day. Any other text goes through the formatter.
+     * </p>
+     *
+     * @param dateString the date string, not null
+     * @return the parsed date, or null if the text is not a valid date
+     */
+    static LocalDate parseDate(String dateString) {
+        if (dateString.length() != 8) {
+            try {
+                return LocalDate.parse(dateString, DATE_FORMATTER);
+            } catch (DateTimeParseException e) {
+                return null;
             }
-            return date;
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException(Constants.ERROR_EXPIRATION_DATE_FORMAT);
         }
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = dateString.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        int year = value / 10000;
+        int month = value / 100 % 100;
+        int day = value % 100;
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return yearMonth.atDay(Math.min(day, yearMonth.lengthOfMonth()));
     }
 
     /**
@@ -113,8 +248,9 @@ public class FoodProduct extends Product {
      * @see #validateExpirationDate(String)
      */
     private void setExpirationDate(String dateString) {
-
-        this.expirationDate = validateExpirationDate(dateString);
+        LocalDate date = validateExpirationDate(dateString);
+        beforeChange();
+        this.expirationDate = date;
     }
 
     /**
@@ -130,6 +266,49 @@ public class FoodProduct extends Product {
 
     }
 
+    /**
+     * Sets the expiration date from an export, accepting past dates.
+     * <p>
+     * When the text is the current date, nothing is parsed or allocated, so
+     * re-importing unchanged rows is cheap.
+     * </p>
+     *
+     * @param dateString the date in "yyyyMMdd" format, not null
+     * @return true if the date was valid and set, false otherwise
+     */
+    boolean restoreExpirationDate(String dateString) {
+        if (dateString.length() == 8) {
+            int value = 0;
+            for (int i = 0; i < 8 && value >= 0; i++) {
+                char c = dateString.charAt(i);
+                value = c < '0' || c > '9' ? -1 : value * 10 + (c - '0');
+            }
+            if (value == expirationDate.getYear() * 10000 + expirationDate.getMonthValue() * 100
+                    + expirationDate.getDayOfMonth()) {
+                return true;
+            }
+        }
+        LocalDate date = parseDate(dateString);
+        if (date == null) {
+            return false;
+        }
+        beforeChange();
+        this.expirationDate = date;
+        return true;
+    }
+
+    /**
+     * Checks if the product is past its expiration date, comparing it with
+     * today's date. Any product expires once that date has passed; products
+     * created through {@link #restore(String, float, int, String)} may already
+     * be expired when they are created.
+     *
+     * @return true if the expiration date is before today, false otherwise
+     */
+    public boolean isExpired() {
+        return expirationDate.isBefore(LocalDate.now());
+    }
+
     /**
      * Updates the expiration date with validation.
      *
@@ -138,8 +317,9 @@ public class FoodProduct extends Product {
      * @see #setExpirationDate(String)
      */
     public void updateExpirationDate(String newDate) {
-
-        this.expirationDate = validateExpirationDate(newDate);
+        LocalDate date = validateExpirationDate(newDate);
+        beforeChange();
+        this.expirationDate = date;
     }
 
     /**
@@ -153,14 +333,27 @@ public class FoodProduct extends Product {
     }
 
     /**
-     * Creates a string representation of the cosmetic product for the toString
-     * method.
+     * Writes the fields of the food product in the export format.
+     * <p>
+     * The expiration date is written digit by digit in "yyyyMMdd" format,
+     * without going through the date formatter.
+     * </p>
      *
-     * @return A string in the format "[name], [price], [stock], COSMETIC, [brand]".
+     * @param out The destination of the fields.
+     * @throws IOException If the destination fails.
+     * @see Product#writeFields(Appendable)
      */
     @Override
-    protected String productToString() {
-        return String.format("%s,FOOD,%s", super.productToString(), getExpirationDate());
-
+    protected void writeFields(Appendable out) throws IOException {
+        super.writeFields(out);
+        out.append(",FOOD,");
+        int year = expirationDate.getYear();
+        if (year < 0 || year > 9999) {
+            out.append(getExpirationDate());
+            return;
+        }
+        FormatUtils.appendDigits(out, year, 4, '0');
+        FormatUtils.appendDigits(out, expirationDate.getMonthValue(), 2, '0');
+        FormatUtils.appendDigits(out, expirationDate.getDayOfMonth(), 2, '0');
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * A utility class for writing numbers into an {@link Appendable} without going
+ * through {@link String#format(String, Object...)}.
+ * <p>
+ * The output is the same as the one produced by {@code String.format} with the
+ * default format locale: {@code %d} for integers, {@code %W.Nf} for floats and
+ * {@code %-Ws} for padded text, including the locale zero digit and decimal separator. Values outside the
+ * range handled here fall back to {@code String.format}.
+ * </p>
+ */
+public class FormatUtils {
+
+    private static final int MAX_DECIMALS = 8;
+    private static final long[] POWERS_OF_TEN = new long[18];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static volatile Symbols symbols = new Symbols(Locale.US);
+
+    private FormatUtils() {
+    }
+
+    /**
+     * Appends a float with a fixed number of decimals, as {@code %.Nf} would.
+     * <p>
+     * The value is rounded half-up from its exact binary value, which gives the
+     * same digits as {@link java.util.Formatter} for every float.
+     * </p>
+     *
+     * @param out      The destination
+     * @param value    The value to write
+     * @param decimals The number of decimals (0 to 8)
+     * @throws IOException If the destination fails
+     */
+    public static void appendFixed(Appendable out, float value, int decimals) throws IOException {
+        int bits = Float.floatToRawIntBits(value);
+        long scaled = scaledMagnitude(bits, decimals);
+        if (scaled < 0) {
+            out.append(String.format("%." + decimals + "f", value));
+            return;
+        }
+        appendScaled(out, bits < 0, scaled, decimals, currentSymbols());
+    }
+
+    /**
+     * Appends a float with a fixed number of decimals, right-justified to a
+     * minimum width, as {@code %W.Nf} would.
+     *
+     * @param out      The destination
+     * @param value    The value to write
+     * @param decimals The number of decimals (0 to 8)
+     * @param width    The minimum number of characters to write
+     * @throws IOException If the destination fails
+     * @see #appendFixed(Appendable, float, int)
+     */
+    public static void appendFixed(Appendable out, float value, int decimals, int width) throws IOException {
+        int bits = Float.floatToRawIntBits(value);
+        long scaled = scaledMagnitude(bits, decimals);
+        if (scaled < 0) {
+            out.append(String.format("%" + width + "." + decimals + "f", value));
+            return;
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        int length = digitCount(scaled / scale) + (decimals > 0 ? decimals + 1 : 0) + (bits < 0 ? 1 : 0);
+        for (int i = length; i < width; i++) {
+            out.append(' ');
+        }
+        appendScaled(out, bits < 0, scaled, decimals, currentSymbols());
+    }
+
+    /**
+     * Appends a text left-justified to a minimum width, as {@code %-Ws} would.
+     *
+     * @param out   The destination
+     * @param text  The text to write ("null" if null)
+     * @param width The minimum number of characters to write
+     * @throws IOException If the destination fails
+     */
+    public static void appendPadded(Appendable out, String text, int width) throws IOException {
+        if (text == null) {
+            text = "null";
+        }
+        out.append(text);
+        for (int i = text.length(); i < width; i++) {
+            out.append(' ');
+        }
+    }
+
+    /**
+     * Appends an integer, as {@code %d} would.
+     *
+     * @param out   The destination
+     * @param value The value to write
+     * @throws IOException If the destination fails
+     */
+    public static void appendInt(Appendable out, int value) throws IOException {
+        long magnitude = value;
+        if (magnitude < 0) {
+            out.append('-');
+            magnitude = -magnitude;
+        }
+        appendDigits(out, magnitude, 1, currentSymbols().zero);
+    }
+
+    /**
+     * Appends a non-negative number left-padded with zeros to a minimum width.
+     *
+     * @param out      The destination
+     * @param value    The value to write (must be 0 or more and below 10^18)
+     * @param minWidth The minimum number of digits to write
+     * @param zero     The character used for the digit zero
+     * @throws IOException If the destination fails
+     */
+    static void appendDigits(Appendable out, long value, int minWidth, char zero) throws IOException {
+        int width = digitCount(value);
+        for (int i = width; i < minWidth; i++) {
+            out.append(zero);
+        }
+        long divisor = POWERS_OF_TEN[width - 1];
+        for (int i = 0; i < width; i++) {
+            out.append((char) (zero + value / divisor));
+            value %= divisor;
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Counts the decimal digits of a non-negative number.
+     *
+     * @param value The number (must be 0 or more and below 10^18)
+     * @return The number of digits, at least 1
+     */
+    private static int digitCount(long value) {
+        int width = 1;
+        while (width < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[width]) {
+            width++;
+        }
+        return width;
+    }
+
+    /**
+     * Scales the magnitude of a float by 10^decimals, rounding half-up from its
+     * exact binary value.
+     *
+     * @param bits     The raw bits of the float
+     * @param decimals The number of decimals
+     * @return The scaled magnitude, or -1 if the value or the number of decimals
+     *         is not handled here
+     */
+    private static long scaledMagnitude(int bits, int decimals) {
+        int exponentBits = (bits >>> 23) & 0xFF;
+        if (exponentBits == 0xFF || decimals < 0 || decimals > MAX_DECIMALS) {
+            return -1;
+        }
+        long mantissa = bits & 0x7FFFFF;
+        int exponent;
+        if (exponentBits == 0) {
+            exponent = -149;
+        } else {
+            mantissa |= 0x800000;
+            exponent = exponentBits - 150;
+        }
+        // mantissa * 10^decimals is below 2^51, so the scaled value is exact in a long
+        long scaled = mantissa * POWERS_OF_TEN[decimals];
+        if (exponent > 11) {
+            return -1;
+        } else if (exponent >= 0) {
+            return scaled << exponent;
+        } else if (exponent > -52) {
+            int shift = -exponent;
+            long remainder = scaled & ((1L << shift) - 1);
+            scaled >>>= shift;
+            return remainder >= 1L << (shift - 1) ? scaled + 1 : scaled;
+        }
+        return 0;
+    }
+
+    private static void appendScaled(Appendable out, boolean negative, long scaled, int decimals, Symbols current)
+            throws IOException {
+        long scale = POWERS_OF_TEN[decimals];
+        if (negative) {
+            out.append('-');
+        }
+        appendDigits(out, scaled / scale, 1, current.zero);
+        if (decimals > 0) {
+            out.append(current.decimalSeparator);
+            appendDigits(out, scaled % scale, decimals, current.zero);
+        }
+    }
+
+    /**
+     * Gets the digit symbols of the default format locale, refreshing the cached
+     * copy only when the default locale changes.
+     *
+     * @return The symbols for the current default format locale
+     */
+    private static Symbols currentSymbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols current = symbols;
+        if (current.locale != locale) {
+            current = new Symbols(locale);
+            symbols = current;
+        }
+        return current;
+    }
+
+    /**
+     * The digit symbols used by {@link java.util.Formatter} for one locale.
+     */
+    private static final class Symbols {
+        private final Locale locale;
+        private final char zero;
+        private final char decimalSeparator;
+
+        private Symbols(Locale locale) {
+            this.locale = locale;
+            if (Locale.US.equals(locale)) {
+                zero = '0';
+                decimalSeparator = '.';
+            } else {
+                DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+                zero = dfs.getZeroDigit();
+                decimalSeparator = dfs.getDecimalSeparator();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the rows rejected while importing the data files.
+ * <p>
+ * Only the first {@value Constants#IMPORT_MAX_REPORTED_ERRORS} rejections are
+ * kept with their file, line number and reason; the rest are only counted.
+ * The import shows the summary once at the end instead of one error per row.
+ * </p>
+ */
+public class ImportReport {
+
+    private final List<String> rejections = new ArrayList<>();
+    private int importedCount;
+    private int rejectedCount;
+
+    /**
+     * Records a row that was imported.
+     */
+    public void accept() {
+        importedCount++;
+    }
+
+    /**
+     * Records a row that was rejected.
+     *
+     * @param fileName   The name of the file the row comes from.
+     * @param lineNumber The line number of the row, starting at 1.
+     * @param reason     The reason the row was rejected.
+     */
+    public void reject(String fileName, int lineNumber, String reason) {
+        rejectedCount++;
+        if (rejections.size() < Constants.IMPORT_MAX_REPORTED_ERRORS) {
+            rejections.add(String.format(Constants.ERROR_IMPORT_ROW, fileName, lineNumber, reason));
+        }
+    }
+
+    /**
+     * Gets the number of rows imported.
+     *
+     * @return The number of imported rows.
+     */
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Gets the number of rows rejected.
+     *
+     * @return The number of rejected rows, including the ones not kept.
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the rejections kept.
+     *
+     * @return An unmodifiable list with one line per kept rejection.
+     */
+    public List<String> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    /**
+     * Checks if any row was rejected.
+     *
+     * @return True if at least one row was rejected, false otherwise.
+     */
+    public boolean hasRejections() {
+        return rejectedCount > 0;
+    }
+
+    /**
+     * Creates the summary of the rejections: the counts followed by the kept
+     * rejections, one per line.
+     *
+     * @return The summary.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder(
+                String.format(Constants.MESSAGE_IMPORT_SUMMARY, importedCount, rejectedCount));
+        for (String rejection : rejections) {
+            summary.append(System.lineSeparator()).append(rejection);
+        }
+        if (rejectedCount > rejections.size()) {
+            summary.append(System.lineSeparator())
+                    .append(String.format(Constants.MESSAGE_IMPORT_MORE_ERRORS, rejectedCount - rejections.size()));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Receives the price changes of a {@link Product}, and is warned before any
+ * other field of the product changes.
+ *
+ * @see Product#setPrice(float)
+ */
+public interface PriceListener {
+    /**
+     * Called before the price, the stock or the expiration date of a product
+     * changes. Does nothing by default.
+     *
+     * @param product The product, which still has its old values.
+     */
+    default void beforeChange(Product product) {
+    }
+
+    /**
+     * Called after the price of a product has changed.
+     *
+     * @param product  The product, which already has the new price.
+     * @param oldPrice The price before the change.
+     */
+    void priceChanged(Product product, float oldPrice);
+
+}
@@ -1,8 +1,12 @@
-public abstract class Product implements Discountable {
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public abstract class Product implements Discountable, Cloneable {
 
   protected String name;
   protected float price;
   protected int stock;
+  private PriceListener priceListener;
 
   /**
    * Constructor for Product.
@@ -13,27 +17,37 @@ public abstract class Product implements Discountable {
    *                                  invalid.
    */
   public Product(String name, float price) {
-    if (name == null || name.isEmpty()) {
-      throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY);
-    } else if (price <= 0) {
-      throw new IllegalArgumentException(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO);
+    this(name, price, 0);
+  }
+
+  public Product(String name, float price, int stock) {
+    String error = validate(name, price, stock);
+    if (error != null) {
+      throw new IllegalArgumentException(error);
     }
     this.name = name;
     this.price = price;
-    this.stock = 0;
+    this.stock = stock;
   }
 
-  public Product(String name, float price, int stock) {
+  /**
+   * Validates the fields of a product without throwing.
+   *
+   * @param name  The name of the product (cannot be null or empty).
+   * @param price The price of the product (must be greater than 0).
+   * @param stock The stock of the product (must be non-negative).
+   * @return The error message the constructor would throw, or null if the
+   *         fields are valid.
+   */
+  public static String validate(String name, float price, int stock) {
     if (name == null || name.isEmpty()) {
-      throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY);
+      return Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY;
     } else if (price <= 0) {
-      throw new IllegalArgumentException(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO);
+      return Constants.ERROR_PRICE_NEGATIVE_OR_ZERO;
     } else if (stock < 0) {
-      throw new IllegalArgumentException(Constants.ERROR_STOCK_NEGATIVE);
+      return Constants.ERROR_STOCK_NEGATIVE;
     }
-    this.name = name;
-    this.price = price;
-    this.stock = stock;
+    return null;
   }
 
   /**
@@ -74,7 +88,42 @@ public abstract class Product implements Discountable {
     if (price <= 0) {
       throw new IllegalArgumentException(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO);
     }
+    float oldPrice = this.price;
+    if (oldPrice != price) {
+      beforeChange();
+    }
     this.price = price;
+    if (priceListener != null && oldPrice != price) {
+      priceListener.priceChanged(this, oldPrice);
+    }
+  }
+
+  /**
+   * Warns the listener that a field of the product is about to change.
+   */
+  protected void beforeChange() {
+    if (priceListener != null) {
+      priceListener.beforeChange(this);
+    }
+  }
+
+  /**
+   * Gets the listener told about the price changes of the product.
+   *
+   * @return The listener, or null if there is none.
+   */
+  PriceListener getPriceListener() {
+    return priceListener;
+  }
+
+  /**
+   * Sets the listener told about the price changes of the product. A product
+   * has at most one listener: the supermarket that holds it.
+   *
+   * @param priceListener The listener, or null to remove it.
+   */
+  void setPriceListener(PriceListener priceListener) {
+    this.priceListener = priceListener;
   }
 
   /**
@@ -87,6 +136,7 @@ public abstract class Product implements Discountable {
     if (stock < 0) {
       throw new IllegalArgumentException(Constants.ERROR_STOCK_NEGATIVE);
     }
+    beforeChange();
     this.stock = stock;
   }
 
@@ -99,6 +149,7 @@ public abstract class Product implements Discountable {
     if (stock <= 0) {
       throw new IllegalArgumentException(Constants.ERROR_STOCK_NEGATIVE);
     }
+    beforeChange();
     stock--;
   }
 
@@ -116,6 +167,7 @@ public abstract class Product implements Discountable {
     if (stock < quantity) {
       throw new IllegalArgumentException(Constants.ERROR_STOCK_NEGATIVE);
     }
+    beforeChange();
     stock -= quantity;
   }
 
@@ -128,15 +180,73 @@ public abstract class Product implements Discountable {
     return stock > 0;
   }
 
+  /**
+   * Creates a copy of the product with the same field values.
+   * <p>
+   * The copy is independent of the original: later changes to the price or
+   * the stock of one are not seen by the other, and the copy has no price
+   * listener.
+   * </p>
+   *
+   * @return The copy of the product.
+   */
+  public Product copy() {
+    try {
+      Product copy = (Product) super.clone();
+      copy.priceListener = null;
+      return copy;
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Writes the fields of the product in the export format, without a line
+   * break.
+   * <p>
+   * Subclasses append their own fields after calling this method. The price is
+   * written with two decimals, exactly as {@code %.2f} would.
+   * </p>
+   *
+   * @param out The destination of the fields.
+   * @throws IOException If the destination fails.
+   */
+  protected void writeFields(Appendable out) throws IOException {
+    out.append(name).append(',');
+    FormatUtils.appendFixed(out, price, 2);
+    out.append(',');
+    FormatUtils.appendInt(out, stock);
+  }
+
+  /**
+   * Writes the product in the export format, followed by a line break.
+   * <p>
+   * The output is the same as {@link #toString()} but is appended directly to
+   * the destination, so no intermediate string is built.
+   * </p>
+   *
+   * @param out The destination of the product line.
+   * @throws IOException If the destination fails.
+   */
+  public void writeTo(Appendable out) throws IOException {
+    writeFields(out);
+    out.append('\n');
+  }
+
   /**
    * Creates a string representation of the product for the toString method.
    *
+   * @see #writeFields(Appendable)
    * @return A string in the format "[name], [price], [stock]".
    */
   protected String productToString() {
-
-   return String.format("%s,%.2f,%d", name, price, stock);
-   
+    StringBuilder sb = new StringBuilder(64);
+    try {
+      writeFields(sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return sb.toString();
   }
 
   /**
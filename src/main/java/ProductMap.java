@@ -0,0 +1,310 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash map from product names to {@link Product} objects.
+ * <p>
+ * Entries are stored in parallel arrays and collisions are resolved with
+ * linear probing, so no entry object is allocated per product. The spread hash
+ * of every key is cached in an {@code int[]}, which lets probes skip most
+ * {@link String#equals(Object)} calls and lets the table grow without
+ * rehashing the keys.
+ * </p>
+ */
+public class ProductMap implements Iterable<Product> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] keys;
+    private Product[] values;
+    private int[] hashes;
+    private int size;
+    private int threshold;
+
+    /**
+     * Constructs an empty map with the default capacity.
+     */
+    public ProductMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map able to hold the given number of products
+     * without growing.
+     *
+     * @param expectedSize The number of products expected
+     */
+    public ProductMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.min(MAX_CAPACITY, (long) (Math.max(0, expectedSize) / LOAD_FACTOR) + 1)));
+    }
+
+    /**
+     * Gets the number of products in the map.
+     *
+     * @return The number of products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map contains no products.
+     *
+     * @return True if the map is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if a product with the given name exists in the map.
+     *
+     * @param name The product name (case-sensitive)
+     * @return True if the product exists, false otherwise
+     */
+    public boolean containsKey(String name) {
+        return name != null && indexOf(name, hash(name)) >= 0;
+    }
+
+    /**
+     * Gets the product stored under the given name.
+     *
+     * @param name The product name (case-sensitive)
+     * @return The product, or null if it does not exist
+     */
+    public Product get(String name) {
+        if (name == null) {
+            return null;
+        }
+        int index = indexOf(name, hash(name));
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Stores a product under the given name, replacing any previous product.
+     *
+     * @param name    The product name (cannot be null)
+     * @param product The product to store (cannot be null)
+     * @return The product previously stored under the name, or null if none
+     * @throws IllegalArgumentException If the name or product is null
+     */
+    public Product put(String name, Product product) {
+        if (name == null) {
+            throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY);
+        }
+        if (product == null) {
+            throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NOT_FOUND);
+        }
+        int hash = hash(name);
+        int index = indexOf(name, hash);
+        if (index >= 0) {
+            Product previous = values[index];
+            values[index] = product;
+            return previous;
+        }
+        insertAt(-index - 1, name, hash, product);
+        return null;
+    }
+
+    /**
+     * Removes the product stored under the given name.
+     *
+     * @param name The product name (case-sensitive)
+     * @return The removed product, or null if it did not exist
+     */
+    public Product remove(String name) {
+        if (name == null) {
+            return null;
+        }
+        int index = indexOf(name, hash(name));
+        if (index < 0) {
+            return null;
+        }
+        Product removed = values[index];
+        deleteAt(index);
+        return removed;
+    }
+
+    /**
+     * Gets a copy of all the products in the map.
+     *
+     * @return A new list with the products, in table order
+     */
+    public ArrayList<Product> values() {
+        ArrayList<Product> result = new ArrayList<>(size);
+        for (Product product : values) {
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the products, in table order.
+     * <p>
+     * The map must not be modified while iterating.
+     * </p>
+     *
+     * @return An iterator over the products
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public Product next() {
+                if (next >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                Product product = values[next];
+                next = advance(next + 1);
+                return product;
+            }
+        };
+    }
+
+    /**
+     * Finds the slot of a key.
+     *
+     * @param name The key to look for
+     * @param hash The spread hash of the key
+     * @return The slot holding the key, or {@code -(slot + 1)} where slot is the
+     *         free slot the key would be inserted into
+     */
+    int indexOf(String name, int hash) {
+        int mask = keys.length - 1;
+        int index = hash & mask;
+        while (true) {
+            String key = keys[index];
+            if (key == null) {
+                return -index - 1;
+            }
+            if (hashes[index] == hash && (key == name || key.equals(name))) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Inserts a new key into a free slot previously returned by
+     * {@link #indexOf(String, int)}.
+     *
+     * @param slot    The free slot
+     * @param name    The key
+     * @param hash    The spread hash of the key
+     * @param product The value
+     */
+    void insertAt(int slot, String name, int hash, Product product) {
+        keys[slot] = name;
+        hashes[slot] = hash;
+        values[slot] = product;
+        if (++size > threshold) {
+            resize(keys.length << 1);
+        }
+    }
+
+    /**
+     * Gets the product stored in a slot returned by {@link #indexOf(String, int)}.
+     *
+     * @param slot An occupied slot
+     * @return The product in the slot
+     */
+    Product valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Replaces the product stored in an occupied slot, keeping its key.
+     *
+     * @param slot    An occupied slot
+     * @param product The new product
+     */
+    void replaceAt(int slot, Product product) {
+        values[slot] = product;
+    }
+
+    /**
+     * Computes the spread hash used to place a key in the table.
+     *
+     * @param name The key
+     * @return The spread hash
+     */
+    static int hash(String name) {
+        int h = name.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void deleteAt(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        // Backward-shift deletion keeps every probe chain unbroken without tombstones
+        while (keys[next] != null) {
+            int home = hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hashes[hole] = hashes[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        hashes[hole] = 0;
+        values[hole] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        if (keys.length >= MAX_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Product[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = oldHashes[i] & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                hashes[index] = oldHashes[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new Product[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Math.max(DEFAULT_CAPACITY, capacity);
+        return n >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit(n - 1) << 1;
+    }
+}
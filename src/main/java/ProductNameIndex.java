@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An index of product names for type-ahead searches, by prefix and by any
+ * part of the name.
+ * <p>
+ * The names are kept sorted, so a prefix search reads only the names it
+ * returns. Every name is also filed under each run of three characters it
+ * contains; a search for a longer text only checks the names filed under its
+ * rarest run, in the order they were filed, and stops as soon as enough names
+ * match. Texts of one or two characters are searched over the sorted names.
+ * </p>
+ * <p>
+ * A name stays in the index while at least one product has it, so the same
+ * index can follow a single supermarket or every supermarket of a list.
+ * Searches are case-sensitive and can run while the index is being modified,
+ * although a search that runs during a removal may miss a name.
+ * </p>
+ *
+ * @see Supermarket#findProductsStartingWith(String, int)
+ * @see SupermarketList#enableProductNameIndex()
+ */
+public class ProductNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * The indexed names, with the number of products that have each one.
+     */
+    private final ConcurrentSkipListMap<String, Integer> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Postings> grams = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the names starting with a text, in alphabetical order.
+     *
+     * @param prefix The start of the names (case-sensitive); an empty prefix
+     *               matches every name.
+     * @param count  The maximum number of names to return.
+     * @return Up to count names.
+     * @throws IllegalArgumentException If the prefix is null or count is not
+     *                                  positive.
+     */
+    public List<String> startingWith(String prefix, int count) {
+        checkSearch(prefix, count);
+        List<String> found = new ArrayList<>(Math.min(count, 16));
+        for (String name : names.tailMap(prefix).keySet()) {
+            if (found.size() == count || !name.startsWith(prefix)) {
+                break;
+            }
+            found.add(name);
+        }
+        return found;
+    }
+
+    /**
+     * Gets names containing a text, in alphabetical order. When more than count
+     * names match, a text of three or more characters returns the first ones
+     * found rather than the first ones in alphabetical order.
+     *
+     * @param text  The text to look for (case-sensitive); an empty text
+     *              matches every name.
+     * @param count The maximum number of names to return.
+     * @return Up to count names.
+     * @throws IllegalArgumentException If the text is null or count is not
+     *                                  positive.
+     */
+    public List<String> containing(String text, int count) {
+        checkSearch(text, count);
+        List<String> found = new ArrayList<>(Math.min(count, 16));
+        if (text.length() < GRAM_LENGTH) {
+            for (String name : names.keySet()) {
+                if (found.size() == count) {
+                    break;
+                }
+                if (name.contains(text)) {
+                    found.add(name);
+                }
+            }
+            return found;
+        }
+        Postings rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            Postings postings = grams.get(text.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return found;
+            }
+            if (rarest == null || postings.size < rarest.size) {
+                rarest = postings;
+            }
+        }
+        // se lee el tamaño antes que el array: add() los publica en el orden contrario
+        int size = rarest.size;
+        String[] candidates = rarest.names;
+        for (int i = 0; i < size && found.size() < count; i++) {
+            String name = candidates[i];
+            if (name != null && name.contains(text)) {
+                found.add(name);
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    /**
+     * Gets the number of different names in the index.
+     *
+     * @return The number of names, counted one by one.
+     */
+    public int getNameCount() {
+        return names.size();
+    }
+
+    synchronized void add(String name) {
+        if (names.merge(name, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            String gram = name.substring(i, i + GRAM_LENGTH);
+            // un trigrama repetido en el nombre solo se archiva una vez
+            if (name.indexOf(gram) == i) {
+                grams.computeIfAbsent(gram, key -> new Postings()).add(name);
+            }
+        }
+    }
+
+    synchronized void remove(String name) {
+        if (names.computeIfPresent(name, (key, products) -> products == 1 ? null : products - 1) != null) {
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            String gram = name.substring(i, i + GRAM_LENGTH);
+            Postings postings = grams.get(gram);
+            if (postings != null && name.indexOf(gram) == i) {
+                // las listas vacías se dejan: borrarlas competiría con una búsqueda
+                postings.remove(name);
+            }
+        }
+    }
+
+    private static void checkSearch(String text, int count) {
+        if (text == null) {
+            throw new IllegalArgumentException(Constants.ERROR_SEARCH_TEXT_NULL);
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException(Constants.ERROR_RESULT_COUNT);
+        }
+    }
+
+    /**
+     * The names containing one run of characters, in the order they were
+     * filed. Appending is much cheaper than inserting into a sorted list, and
+     * the few names a search returns are sorted afterwards.
+     * <p>
+     * Only the index modifies the list, while holding its monitor. A name is
+     * written before the size that makes it visible, so searches can read the
+     * list without locking. The position of every name is kept aside, so a
+     * removal moves the last name into the gap without scanning the list.
+     * </p>
+     */
+    private static final class Postings {
+        private volatile String[] names = new String[4];
+        private volatile int size;
+        /**
+         * The position of each name in the array, only used under the
+         * index monitor.
+         */
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        private void add(String name) {
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = name;
+            positions.put(name, size);
+            names = current;
+            size = size + 1;
+        }
+
+        private void remove(String name) {
+            Integer position = positions.remove(name);
+            if (position == null) {
+                return;
+            }
+            String[] current = names;
+            int last = size - 1;
+            if (position != last) {
+                current[position] = current[last];
+                positions.put(current[last], position);
+            }
+            size = last;
+            current[last] = null;
+        }
+    }
+}
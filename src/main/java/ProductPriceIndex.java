@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * An index of the products of every supermarket of a {@link SupermarketList}
+ * by product name, with the stores that sell each product ordered by price.
+ * <p>
+ * The index is kept up to date by {@link Supermarket#addProduct(Product)},
+ * {@link Supermarket#updateProduct(Product)}, the merge methods of the import
+ * and {@link Product#setPrice(float)}, so finding the cheapest stores for a
+ * product reads only the entries returned. Products stored directly into
+ * {@link Supermarket#products} are not indexed.
+ * </p>
+ * <p>
+ * The entries of each product are kept in a {@link ConcurrentSkipListSet}, so
+ * the queries can run while the list is being modified without holding its
+ * monitor.
+ * </p>
+ *
+ * @see SupermarketList#enablePriceIndex()
+ */
+public class ProductPriceIndex {
+
+    private final ConcurrentHashMap<String, NavigableSet<Entry>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cheapest stores selling a product.
+     *
+     * @param productName The name of the product (case-sensitive).
+     * @param count       The maximum number of stores to return.
+     * @return Up to count entries, from the lowest price to the highest; stores
+     *         with the same price are returned in the order they were created.
+     */
+    public List<Entry> cheapest(String productName, int count) {
+        List<Entry> cheapest = new ArrayList<>(Math.max(0, Math.min(count, 16)));
+        NavigableSet<Entry> stores = productName == null ? null : entries.get(productName);
+        if (stores == null) {
+            return cheapest;
+        }
+        Iterator<Entry> iterator = stores.iterator();
+        while (cheapest.size() < count && iterator.hasNext()) {
+            cheapest.add(iterator.next());
+        }
+        return cheapest;
+    }
+
+    /**
+     * Gets the number of stores selling a product.
+     *
+     * @param productName The name of the product (case-sensitive).
+     * @return The number of stores, counted one by one.
+     */
+    public int getStoreCount(String productName) {
+        NavigableSet<Entry> stores = productName == null ? null : entries.get(productName);
+        return stores == null ? 0 : stores.size();
+    }
+
+    void add(Supermarket supermarket, Product product) {
+        entries.computeIfAbsent(product.getName(), name -> new ConcurrentSkipListSet<>())
+                .add(new Entry(supermarket, product, product.getPrice()));
+    }
+
+    void remove(Supermarket supermarket, Product product) {
+        remove(supermarket, product, product.getPrice());
+    }
+
+    void priceChanged(Supermarket supermarket, Product product, float oldPrice) {
+        remove(supermarket, product, oldPrice);
+        add(supermarket, product);
+    }
+
+    private void remove(Supermarket supermarket, Product product, float price) {
+        NavigableSet<Entry> stores = entries.get(product.getName());
+        if (stores != null) {
+            stores.remove(new Entry(supermarket, product, price));
+            // el conjunto vacío se deja: borrarlo competiría con un add concurrente
+        }
+    }
+
+    /**
+     * A store selling a product, at the price the product had when it was
+     * indexed.
+     */
+    public static final class Entry implements Comparable<Entry> {
+        private final Supermarket supermarket;
+        private final Product product;
+        private final float price;
+
+        private Entry(Supermarket supermarket, Product product, float price) {
+            this.supermarket = supermarket;
+            this.product = product;
+            this.price = price;
+        }
+
+        /**
+         * Gets the store.
+         *
+         * @return The supermarket selling the product.
+         */
+        public Supermarket getSupermarket() {
+            return supermarket;
+        }
+
+        /**
+         * Gets the product.
+         *
+         * @return The product sold by the store.
+         */
+        public Product getProduct() {
+            return product;
+        }
+
+        /**
+         * Gets the price the entry is ordered by.
+         *
+         * @return The price of the product in the store.
+         */
+        public float getPrice() {
+            return price;
+        }
+
+        /**
+         * Gets the current stock of the product in the store.
+         *
+         * @return The stock.
+         */
+        public int getStock() {
+            return product.getStock();
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byPrice = Float.compare(price, other.price);
+            return byPrice != 0 ? byPrice : Long.compare(supermarket.getId(), other.supermarket.getId());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry && compareTo((Entry) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Float.hashCode(price) * 31 + Long.hashCode(supermarket.getId());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Drives a {@link CatalogueRouter} from a script of commands, so an operator
+ * can fill the shards and query them without writing any code.
+ * <p>
+ * Each line of the script is one command, with its fields separated by commas
+ * in the same way as the data files. Empty lines and lines starting with
+ * {@value Constants#BATCH_COMMENT_PREFIX} are ignored. The supported commands
+ * are:
+ * </p>
+ * <ul>
+ * <li>{@code IMPORT} imports the supermarkets and products files and sends
+ * every supermarket to the shard that owns it</li>
+ * <li>{@code LOOKUP,[name],[city]} shows the supermarket line</li>
+ * <li>{@code PRODUCT,[name],[city],[product]} shows the product line</li>
+ * <li>{@code DISCOUNT,[name],[city],[product],[discount]} shows the discounted
+ * price</li>
+ * </ul>
+ * <p>
+ * The answers and errors are shown as they are produced, one per command.
+ * </p>
+ */
+public class RouterMode {
+
+    private final EAC7S22425 program;
+    private final UtilsIO io;
+    private final FileUtils fu;
+    private final CatalogueRouter router;
+
+    /**
+     * Constructs a runner over a router.
+     *
+     * @param program The program used to import the files.
+     * @param io      The console used for the answers.
+     * @param fu      The files used by the import command.
+     * @param router  The router connected to the shards.
+     */
+    public RouterMode(EAC7S22425 program, UtilsIO io, FileUtils fu, CatalogueRouter router) {
+        this.program = program;
+        this.io = io;
+        this.fu = fu;
+        this.router = router;
+    }
+
+    /**
+     * Executes every command of a script.
+     *
+     * @param script The script to execute.
+     * @throws IOException If the script cannot be read.
+     */
+    public void run(BufferedReader script) throws IOException {
+        String line;
+        while ((line = script.readLine()) != null) {
+            if (line.isBlank() || line.startsWith(Constants.BATCH_COMMENT_PREFIX)) {
+                continue;
+            }
+            try {
+                execute(line.split(",", -1));
+            } catch (IllegalArgumentException e) {
+                io.showError(e.getMessage());
+            } catch (UncheckedIOException e) {
+                io.showError(Constants.ERROR_SHARD_PROTOCOL);
+            }
+            io.flush();
+        }
+    }
+
+    /**
+     * Imports the supermarkets and products files and sends them to the
+     * shards.
+     *
+     * @return The number of supermarkets sent, or -1 if the files could not be
+     *         imported.
+     */
+    public int importFiles() {
+        SupermarketList imported = new SupermarketList();
+        if (program.importSupermarkets(io, fu, imported) == null) {
+            return -1;
+        }
+        for (Supermarket supermarket : imported) {
+            router.addSupermarket(supermarket);
+        }
+        io.showInfo(String.format(Constants.MESSAGE_ROUTER_IMPORTED, imported.getSize(), router.getShardCount()));
+        return imported.getSize();
+    }
+
+    private void execute(String[] fields) {
+        switch (fields[0]) {
+            case Constants.BATCH_COMMAND_IMPORT:
+                importFiles();
+                return;
+            case Constants.SHARD_COMMAND_LOOKUP:
+                checkFields(fields, 3);
+                show(router.lookForSupermarket(fields[1], fields[2]), Constants.ERROR_SUPERMARKET_NOT_FOUND);
+                return;
+            case Constants.SHARD_COMMAND_PRODUCT:
+                checkFields(fields, 4);
+                show(router.getProduct(fields[1], fields[2], fields[3]), Constants.ERROR_PRODUCT_NOT_FOUND);
+                return;
+            case Constants.SHARD_COMMAND_DISCOUNT:
+                checkFields(fields, 5);
+                String discount = ConsoleReader.normalizeDecimal(fields[4]);
+                if (discount == null) {
+                    throw new IllegalArgumentException(Constants.ERROR_IMPORT_NOT_A_NUMBER);
+                }
+                float discountedPrice = router.applyDiscountToProduct(fields[1], fields[2], fields[3],
+                        Float.parseFloat(discount));
+                io.showInfo(String.format("%.2f", discountedPrice));
+                return;
+            default:
+                throw new IllegalArgumentException(Constants.ERROR_BATCH_UNKNOWN_COMMAND);
+        }
+    }
+
+    private void show(String answer, String notFound) {
+        if (answer == null) {
+            io.showError(notFound);
+        } else {
+            io.showInfo(answer);
+        }
+    }
+
+    private static void checkFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException(Constants.ERROR_BATCH_WRONG_FIELDS);
+        }
+    }
+}
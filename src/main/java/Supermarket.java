@@ -1,6 +1,12 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a supermarket with geographic coordinates and product inventory
@@ -18,7 +24,52 @@ public class Supermarket {
     private String city;
     private float longitude;
     private float latitude;
-    public final Map<String, Product> products = new HashMap<>();
+    public final ProductMap products = new ProductMap();
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * A number that tells supermarkets apart in the indexes, in creation order.
+     */
+    private final long id = SEQUENCE.incrementAndGet();
+    private final PriceListener priceListener = new PriceListener() {
+        @Override
+        public void beforeChange(Product product) {
+            Supermarket.this.beforeChange();
+        }
+
+        @Override
+        public void priceChanged(Product product, float oldPrice) {
+            Supermarket.this.priceChanged(product, oldPrice);
+        }
+    };
+    private ProductPriceIndex priceIndex;
+    private CatalogueMetrics metrics;
+
+    /**
+     * The products ordered by price and name, or null until the first price
+     * query.
+     */
+    private ConcurrentSkipListMap<PriceKey, Product> productsByPrice;
+
+    /**
+     * The names of the products, or null until the first search.
+     */
+    private ProductNameIndex productNames;
+    private ProductNameIndex listProductNames;
+
+    /**
+     * The products by their folded name, or null until the first lookup that
+     * ignores case and accents.
+     */
+    private HashMap<String, List<Product>> productsByFoldedName;
+
+    /**
+     * The snapshots that still have to write this supermarket as it was when
+     * they were taken, or null if there are none. Guarded by the monitor of
+     * the list, like every change.
+     */
+    private ArrayList<CatalogueSnapshot> pendingSnapshots;
 
     /**
      * Constructs a Supermarket with basic details.
@@ -60,6 +111,10 @@ public class Supermarket {
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NAME_NULL_OR_EMPTY);
         }
+        beforeChange();
+        if (metrics != null) {
+            metrics.supermarketRenamed(this.name, name);
+        }
         this.name = name;
 
     }
@@ -83,6 +138,10 @@ public class Supermarket {
         if (city == null || city.isEmpty()) {
             throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_CITY_NULL_OR_EMPTY);
         }
+        beforeChange();
+        if (metrics != null) {
+            metrics.supermarketRenamed(this.city, city);
+        }
         this.city = city;
 
     }
@@ -103,6 +162,7 @@ public class Supermarket {
      * @param longitude The new longitude in decimal degrees
      */
     public void setLongitude(float longitude) {
+        beforeChange();
         this.longitude = longitude;
 
     }
@@ -123,6 +183,7 @@ public class Supermarket {
      * @param latitude The new latitude in decimal degrees
      */
     public void setLatitude(float latitude) {
+        beforeChange();
         this.latitude = latitude;
 
     }
@@ -134,8 +195,132 @@ public class Supermarket {
      *         and values are {@link Product} objects
      */
     public ArrayList<Product> getProducts() {
-        return new ArrayList<>(products.values());
+        return products.values();
+
+    }
+
+    /**
+     * Gets the products with a price in a range, from the cheapest to the most
+     * expensive; products with the same price are ordered by name.
+     * <p>
+     * The first price query orders the products of the supermarket, and from
+     * then on the order is kept up to date by {@link #addProduct(Product)},
+     * {@link #updateProduct(Product)}, the merge methods and
+     * {@link Product#setPrice(float)}, so a query only reads the products it
+     * returns. Products stored directly into {@link #products} after the first
+     * query are not seen.
+     * </p>
+     *
+     * @param minPrice The lowest price (inclusive)
+     * @param maxPrice The highest price (inclusive)
+     * @return The products in the range
+     * @throws IllegalArgumentException If minPrice is greater than maxPrice
+     */
+    public List<Product> getProductsByPrice(float minPrice, float maxPrice) {
+        if (!(minPrice <= maxPrice)) {
+            throw new IllegalArgumentException(Constants.ERROR_PRICE_RANGE);
+        }
+        return new ArrayList<>(productsByPrice()
+                .subMap(new PriceKey(minPrice, ""), true, new PriceKey(maxPrice, null), true).values());
+    }
+
+    /**
+     * Gets the cheapest products, in the order of
+     * {@link #getProductsByPrice(float, float)}.
+     *
+     * @param count The maximum number of products to return
+     * @return Up to count products, from the cheapest
+     * @throws IllegalArgumentException If count is not positive
+     */
+    public List<Product> getCheapestProducts(int count) {
+        return first(productsByPrice().values(), count);
+    }
+
+    /**
+     * Gets the most expensive products, from the most expensive to the
+     * cheapest; products with the same price are in reverse name order.
+     *
+     * @param count The maximum number of products to return
+     * @return Up to count products, from the most expensive
+     * @throws IllegalArgumentException If count is not positive
+     */
+    public List<Product> getMostExpensiveProducts(int count) {
+        return first(productsByPrice().descendingMap().values(), count);
+    }
+
+    private static List<Product> first(Collection<Product> products, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException(Constants.ERROR_RESULT_COUNT);
+        }
+        List<Product> first = new ArrayList<>(Math.min(count, 16));
+        Iterator<Product> iterator = products.iterator();
+        while (first.size() < count && iterator.hasNext()) {
+            first.add(iterator.next());
+        }
+        return first;
+    }
+
+    /**
+     * Gets the products whose name starts with a text, in alphabetical order.
+     * <p>
+     * The first search indexes the names of the products of the supermarket,
+     * and from then on the index is kept up to date in the same way as the
+     * price order (see {@link #getProductsByPrice(float, float)}).
+     * </p>
+     *
+     * @param prefix The start of the names (case-sensitive)
+     * @param count  The maximum number of products to return
+     * @return Up to count products
+     * @throws IllegalArgumentException If the prefix is null or count is not
+     *                                  positive
+     * @see ProductNameIndex#startingWith(String, int)
+     */
+    public List<Product> findProductsStartingWith(String prefix, int count) {
+        return productsNamed(productNames().startingWith(prefix, count));
+    }
+
+    /**
+     * Gets the products whose name contains a text, in alphabetical order.
+     *
+     * @param text  The text to look for (case-sensitive)
+     * @param count The maximum number of products to return
+     * @return Up to count products
+     * @throws IllegalArgumentException If the text is null or count is not
+     *                                  positive
+     * @see ProductNameIndex#containing(String, int)
+     */
+    public List<Product> findProductsContaining(String text, int count) {
+        return productsNamed(productNames().containing(text, count));
+    }
 
+    private List<Product> productsNamed(List<String> names) {
+        List<Product> found = new ArrayList<>(names.size());
+        for (String name : names) {
+            found.add(products.get(name));
+        }
+        return found;
+    }
+
+    private ProductNameIndex productNames() {
+        if (productNames == null) {
+            ProductNameIndex names = new ProductNameIndex();
+            for (Product product : products) {
+                names.add(product.getName());
+            }
+            productNames = names;
+        }
+        return productNames;
+    }
+
+    private ConcurrentSkipListMap<PriceKey, Product> productsByPrice() {
+        if (productsByPrice == null) {
+            ConcurrentSkipListMap<PriceKey, Product> byPrice = new ConcurrentSkipListMap<>();
+            for (Product product : products) {
+                byPrice.put(new PriceKey(product.getPrice(), product.getName()), product);
+            }
+            productsByPrice = byPrice;
+        }
+        return productsByPrice;
     }
 
     /**
@@ -166,8 +351,9 @@ public class Supermarket {
         if (products.containsKey(product.getName())) {
             throw new IllegalArgumentException(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
         }
+        beforeChange();
         products.put(product.getName(), product);
-
+        attach(product);
     }
 
     /**
@@ -185,6 +371,56 @@ public class Supermarket {
 
     }
 
+    /**
+     * Gets a product by its name, ignoring case and accents, so "cafe molido"
+     * finds "Café Molido".
+     * <p>
+     * The first lookup folds the names of the products of the supermarket with
+     * {@link TextNormalizer#fold(String)}; from then on the name of each
+     * product is folded once when it is added, in the same way as the price
+     * order (see {@link #getProductsByPrice(float, float)}), and a lookup only
+     * folds the name searched for.
+     * </p>
+     *
+     * @param productName The name of the product to retrieve
+     * @return The product whose name is exactly the one given if there is one;
+     *         otherwise the matching product whose name comes first in
+     *         alphabetical order, or null if none matches
+     * @throws IllegalArgumentException If the product name is null or empty
+     */
+    public Product getProductInsensitive(String productName) {
+        if (productName == null || productName.isEmpty()) {
+            throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY);
+        }
+        if (productsByFoldedName == null) {
+            productsByFoldedName = new HashMap<>();
+            for (Product product : products) {
+                addFolded(product);
+            }
+        }
+        List<Product> found = productsByFoldedName.get(TextNormalizer.fold(productName));
+        if (found == null) {
+            return null;
+        }
+        Product exact = products.get(productName);
+        return exact != null ? exact : found.get(0);
+    }
+
+    /**
+     * Files a product under its folded name, keeping the products that share
+     * it in alphabetical order so the lookup does not depend on the order of
+     * the product map.
+     */
+    private void addFolded(Product product) {
+        List<Product> sameKey = productsByFoldedName.computeIfAbsent(TextNormalizer.fold(product.getName()),
+                key -> new ArrayList<>(1));
+        int position = 0;
+        while (position < sameKey.size() && sameKey.get(position).getName().compareTo(product.getName()) < 0) {
+            position++;
+        }
+        sameKey.add(position, product);
+    }
+
     /**
      * Updates a product in the supermarket.
      *
@@ -204,10 +440,13 @@ public class Supermarket {
         if (!hasProduct(product.getName())) {
             throw new IllegalArgumentException(Constants.ERROR_PRODUCT_ALREADY_EXISTS);
         }
-        if (products.containsKey(product.getName())) {
+        Product previous = products.get(product.getName());
+        if (previous != product) {
+            beforeChange();
             products.put(product.getName(), product);
+            detach(previous);
+            attach(product);
         }
-
     }
 
     /**
@@ -217,10 +456,35 @@ public class Supermarket {
      *         [longitude], Latitude: [latitude]"
      */
     public String supermarketToString() {
-        return String.format(Constants.SUPERMARKET_FILE_FORMAT, name, city, longitude, latitude);
+        StringBuilder supermarketString = new StringBuilder(64);
+        try {
+            writeTo(supermarketString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return supermarketString.toString();
 
     }
 
+    /**
+     * Writes the supermarket in the export format, followed by a line break.
+     * <p>
+     * The output is the same as {@link #supermarketToString()}, with the
+     * coordinates written at 7 decimals, but is appended directly to the
+     * destination.
+     * </p>
+     *
+     * @param out The destination of the supermarket line
+     * @throws IOException If the destination fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        out.append(name).append(',').append(city).append(',');
+        FormatUtils.appendFixed(out, longitude, 7);
+        out.append(',');
+        FormatUtils.appendFixed(out, latitude, 7);
+        out.append('\n');
+    }
+
     /**
      * Returns a string representation of all products in the supermarket.
      *
@@ -229,13 +493,371 @@ public class Supermarket {
      */
     public String productsToString() {
         StringBuilder productsString = new StringBuilder();
-        for (Map.Entry<String, Product> entry : products.entrySet()) {
-            productsString.append(String.format("%s,%s,%s", name, city, entry.getValue()));
+        try {
+            writeProductsTo(productsString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return productsString.toString();
 
     }
 
+    /**
+     * Writes all products in the supermarket in the export format.
+     * <p>
+     * Each product is written as "[name],[city],[product]" followed by a line
+     * break, the same as {@link #productsToString()}, but directly into the
+     * destination.
+     * </p>
+     *
+     * @param out The destination of the product lines
+     * @throws IOException If the destination fails
+     */
+    public void writeProductsTo(Appendable out) throws IOException {
+        for (Product product : products) {
+            out.append(name).append(',').append(city).append(',');
+            product.writeTo(out);
+        }
+    }
+
+    /**
+     * Adds a cosmetic product or updates the existing one in place, with a
+     * single lookup and without throwing.
+     * <p>
+     * If a cosmetic product with the same name and brand exists, its price and
+     * stock are updated and no object is created. Otherwise a new product is
+     * stored, replacing any product with the same name.
+     * </p>
+     *
+     * @param productName The name of the product
+     * @param price       The price of the product
+     * @param stock       The stock of the product
+     * @param brand       The brand of the product
+     * @return The error message if a value is invalid, or null if the product
+     *         was merged
+     */
+    public String mergeCosmeticProduct(String productName, float price, int stock, String brand) {
+        String error = Product.validate(productName, price, stock);
+        if (error != null) {
+            return error;
+        }
+        if (brand == null || brand.isEmpty()) {
+            return Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY;
+        }
+        int hash = ProductMap.hash(productName);
+        int slot = products.indexOf(productName, hash);
+        if (slot >= 0) {
+            Product existing = products.valueAt(slot);
+            if (existing instanceof CosmeticProduct && ((CosmeticProduct) existing).getBrand().equals(brand)) {
+                existing.setPrice(price);
+                restoreStock(existing, stock);
+            } else {
+                beforeChange();
+                replaceAt(slot, new CosmeticProduct(productName, price, stock, brand));
+            }
+        } else {
+            Product product = new CosmeticProduct(productName, price, stock, brand);
+            beforeChange();
+            products.insertAt(-slot - 1, productName, hash, product);
+            attach(product);
+        }
+        return null;
+    }
+
+    /**
+     * Adds a food product or updates the existing one in place, with a single
+     * lookup and without throwing. Past expiration dates are accepted, as in
+     * {@link FoodProduct#restore(String, float, int, String)}.
+     * <p>
+     * If a food product with the same name exists, its price, stock and
+     * expiration date are updated and no object is created when the date does
+     * not change. Otherwise a new product is stored, replacing any product with
+     * the same name.
+     * </p>
+     *
+     * @param productName    The name of the product
+     * @param price          The price of the product
+     * @param stock          The stock of the product
+     * @param expirationDate The expiration date in "yyyyMMdd" format
+     * @return The error message if a value is invalid, or null if the product
+     *         was merged
+     */
+    public String mergeFoodProduct(String productName, float price, int stock, String expirationDate) {
+        String error = Product.validate(productName, price, stock);
+        if (error != null) {
+            return error;
+        }
+        if (expirationDate == null || expirationDate.isEmpty()) {
+            return Constants.ERROR_EXPIRATION_DATE_NULL_OR_EMPTY;
+        }
+        int hash = ProductMap.hash(productName);
+        int slot = products.indexOf(productName, hash);
+        if (slot >= 0 && products.valueAt(slot) instanceof FoodProduct) {
+            FoodProduct existing = (FoodProduct) products.valueAt(slot);
+            if (!existing.restoreExpirationDate(expirationDate)) {
+                return Constants.ERROR_EXPIRATION_DATE_FORMAT;
+            }
+            existing.setPrice(price);
+            restoreStock(existing, stock);
+            return null;
+        }
+        ValidationResult<FoodProduct> result = FoodProduct.createRestored(productName, price, stock, expirationDate);
+        if (!result.isValid()) {
+            return result.getError();
+        }
+        beforeChange();
+        if (slot >= 0) {
+            replaceAt(slot, result.getValue());
+        } else {
+            products.insertAt(-slot - 1, productName, hash, result.getValue());
+            attach(result.getValue());
+        }
+        return null;
+    }
+
+    /**
+     * Sets the stock of a merged product, warning the pending snapshots only
+     * if it changes. The stock has already been validated.
+     */
+    private void restoreStock(Product product, int stock) {
+        if (product.stock != stock) {
+            beforeChange();
+            product.stock = stock;
+        }
+    }
+
+    private void replaceAt(int slot, Product product) {
+        Product previous = products.valueAt(slot);
+        products.replaceAt(slot, product);
+        detach(previous);
+        attach(product);
+    }
+
+    /**
+     * Starts following the price of a product held by this supermarket.
+     *
+     * @param product The product
+     */
+    private void attach(Product product) {
+        product.setPriceListener(priceListener);
+        if (productsByPrice != null) {
+            productsByPrice.put(new PriceKey(product.getPrice(), product.getName()), product);
+        }
+        if (priceIndex != null) {
+            priceIndex.add(this, product);
+        }
+        if (productNames != null) {
+            productNames.add(product.getName());
+        }
+        if (listProductNames != null) {
+            listProductNames.add(product.getName());
+        }
+        if (metrics != null) {
+            metrics.productAdded(product);
+        }
+        if (productsByFoldedName != null) {
+            addFolded(product);
+        }
+    }
+
+    /**
+     * Stops following the price of a product no longer held by this
+     * supermarket.
+     *
+     * @param product The product, or null
+     */
+    private void detach(Product product) {
+        if (product == null) {
+            return;
+        }
+        if (product.getPriceListener() == priceListener) {
+            product.setPriceListener(null);
+        }
+        if (productsByPrice != null) {
+            productsByPrice.remove(new PriceKey(product.getPrice(), product.getName()), product);
+        }
+        if (priceIndex != null) {
+            priceIndex.remove(this, product);
+        }
+        if (productNames != null) {
+            productNames.remove(product.getName());
+        }
+        if (listProductNames != null) {
+            listProductNames.remove(product.getName());
+        }
+        if (metrics != null) {
+            metrics.productRemoved(product);
+        }
+        if (productsByFoldedName != null) {
+            String key = TextNormalizer.fold(product.getName());
+            List<Product> sameKey = productsByFoldedName.get(key);
+            if (sameKey != null && sameKey.remove(product) && sameKey.isEmpty()) {
+                productsByFoldedName.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Hands a copy of the supermarket as it is now to the snapshots that have
+     * not written it yet, before it changes. Later changes find no pending
+     * snapshot and copy nothing.
+     */
+    private void beforeChange() {
+        if (pendingSnapshots == null) {
+            return;
+        }
+        Supermarket before = copy();
+        for (CatalogueSnapshot snapshot : pendingSnapshots) {
+            snapshot.preserve(this, before);
+        }
+        pendingSnapshots = null;
+    }
+
+    /**
+     * Asks for a copy of the supermarket to be handed to a snapshot before the
+     * next change.
+     *
+     * @param snapshot The snapshot taken
+     * @see CatalogueSnapshot#of(SupermarketList)
+     */
+    void addPendingSnapshot(CatalogueSnapshot snapshot) {
+        if (pendingSnapshots == null) {
+            pendingSnapshots = new ArrayList<>(1);
+        }
+        pendingSnapshots.add(snapshot);
+    }
+
+    /**
+     * Stops handing copies of the supermarket to a snapshot, once it has been
+     * written or discarded.
+     *
+     * @param snapshot The snapshot
+     */
+    void removePendingSnapshot(CatalogueSnapshot snapshot) {
+        if (pendingSnapshots != null && pendingSnapshots.remove(snapshot) && pendingSnapshots.isEmpty()) {
+            pendingSnapshots = null;
+        }
+    }
+
+    private void priceChanged(Product product, float oldPrice) {
+        if (productsByPrice != null && productsByPrice.remove(new PriceKey(oldPrice, product.getName()), product)) {
+            productsByPrice.put(new PriceKey(product.getPrice(), product.getName()), product);
+        }
+        if (priceIndex != null) {
+            priceIndex.priceChanged(this, product, oldPrice);
+        }
+    }
+
+    /**
+     * Gets the number that tells this supermarket apart from the others in the
+     * indexes.
+     *
+     * @return A number unique to this supermarket, increasing in creation order
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Moves the products of the supermarket to another price index.
+     *
+     * @param priceIndex The index of the list the supermarket now belongs to,
+     *                   or null if it no longer belongs to an indexed list
+     * @see SupermarketList#enablePriceIndex()
+     */
+    void setPriceIndex(ProductPriceIndex priceIndex) {
+        if (this.priceIndex == priceIndex) {
+            return;
+        }
+        for (Product product : products) {
+            if (this.priceIndex != null) {
+                this.priceIndex.remove(this, product);
+            }
+            if (priceIndex != null) {
+                priceIndex.add(this, product);
+            }
+        }
+        this.priceIndex = priceIndex;
+    }
+
+    /**
+     * Moves the counts and sizes of the supermarket to the metrics of another
+     * list.
+     *
+     * @param metrics The metrics of the list the supermarket now belongs to,
+     *                or null if it no longer belongs to a measured list
+     * @see SupermarketList#setMetrics(CatalogueMetrics)
+     */
+    void setMetrics(CatalogueMetrics metrics) {
+        if (this.metrics == metrics) {
+            return;
+        }
+        if (this.metrics != null) {
+            this.metrics.supermarketRemoved(this);
+        }
+        if (metrics != null) {
+            metrics.supermarketAdded(this);
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * Moves the product names of the supermarket to the name index of another
+     * list.
+     *
+     * @param listProductNames The index of the list the supermarket now
+     *                         belongs to, or null if it no longer belongs to
+     *                         an indexed list
+     * @see SupermarketList#enableProductNameIndex()
+     */
+    void setListProductNameIndex(ProductNameIndex listProductNames) {
+        if (this.listProductNames == listProductNames) {
+            return;
+        }
+        for (Product product : products) {
+            if (this.listProductNames != null) {
+                this.listProductNames.remove(product.getName());
+            }
+            if (listProductNames != null) {
+                listProductNames.add(product.getName());
+            }
+        }
+        this.listProductNames = listProductNames;
+    }
+
+    /**
+     * Creates a copy of the supermarket and of every one of its products.
+     *
+     * @return A supermarket with the same data that shares no mutable state
+     *         with this one
+     * @see Product#copy()
+     */
+    public Supermarket copy() {
+        Supermarket copy = new Supermarket(name, city, longitude, latitude);
+        for (Product product : products) {
+            Product productCopy = product.copy();
+            copy.products.put(product.getName(), productCopy);
+            copy.attach(productCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * Writes the products of the supermarket as a section of the sectioned
+     * products format: a {@value Constants#PRODUCTS_STORE_PREFIX} line with the
+     * name and city, followed by one line per product without them.
+     *
+     * @param out The destination of the section
+     * @throws IOException If the destination fails
+     * @see Constants#PRODUCTS_FORMAT_HEADER
+     */
+    public void writeProductSectionTo(Appendable out) throws IOException {
+        out.append(Constants.PRODUCTS_STORE_PREFIX).append(name).append(',').append(city).append('\n');
+        for (Product product : products) {
+            product.writeTo(out);
+        }
+    }
+
     /**
      * Applies a discount to a specific product.
      *
@@ -255,6 +877,8 @@ public class Supermarket {
         if (!hasProduct(productName)) {
             throw new IllegalArgumentException(Constants.ERROR_PRODUCT_NOT_FOUND);
         }
+        CatalogueEvents.ProductDiscount event = new CatalogueEvents.ProductDiscount();
+        event.begin();
         float discountedPrice = 0.0f;
         // buscamos el producto por el nombre
         Product product = products.get(productName);
@@ -268,9 +892,54 @@ public class Supermarket {
             FoodProduct food = (FoodProduct) product;
             discountedPrice = food.applyDiscount(baseDiscount);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.supermarket = name;
+            event.city = city;
+            event.product = productName;
+            event.baseDiscount = baseDiscount;
+            event.discountedPrice = discountedPrice;
+            event.commit();
+        }
 
         return discountedPrice;
 
     }
 
-}
\ No newline at end of file
+    /**
+     * The position of a product in {@link #productsByPrice}: its price when it
+     * was placed, then its name. A null name sorts after every name, so it
+     * closes a range of prices.
+     */
+    private static final class PriceKey implements Comparable<PriceKey> {
+        private final float price;
+        private final String name;
+
+        private PriceKey(float price, String name) {
+            this.price = price;
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(PriceKey other) {
+            int byPrice = Float.compare(price, other.price);
+            if (byPrice != 0) {
+                return byPrice;
+            }
+            if (name == null || other.name == null) {
+                return name == other.name ? 0 : name == null ? 1 : -1;
+            }
+            return name.compareTo(other.name);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PriceKey && compareTo((PriceKey) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Float.hashCode(price) * 31 + (name == null ? 0 : name.hashCode());
+        }
+    }
+}
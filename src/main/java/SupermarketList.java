@@ -1,5 +1,13 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Represents a collection of {@link Supermarket} objects and provides
@@ -9,10 +17,21 @@ import java.util.List;
  * This class allows adding supermarkets, searching for specific supermarkets by
  * name and city,
  * filtering supermarkets by name or city, and generating a string
- * representation of the list.
+ * representation of the list. It can be iterated directly, without the copy
+ * made by {@link #getSupermarketList()}.
+ * </p>
+ * <p>
+ * A list created with {@link #partitionedByCity()} also keeps the supermarkets
+ * grouped by city: {@link #lookForSupermarket(String, String)} and
+ * {@link #filterByCity(String)} only look at the stores of one city, and the
+ * operations over the whole list ({@link #writeExportTo(Appendable, Appendable)},
+ * {@link #getTotalStock()} and {@link #getDiscountedStockValue(float)}, served
+ * by the {@code /stock} endpoint of {@link CatalogueHttpServer}) process the
+ * cities in parallel and merge the results. The city of a supermarket must
+ * not change while it is in a partitioned list.
  * </p>
  */
-public class SupermarketList {
+public class SupermarketList implements Iterable<Supermarket> {
     /**
      * The list of supermarkets.
      * <p>
@@ -23,6 +42,150 @@ public class SupermarketList {
      */
     private final List<Supermarket> supermarketList = new ArrayList<>();
 
+    /**
+     * The supermarkets of each city, in the order the cities were added, or null
+     * if the list is not partitioned.
+     */
+    private final Map<String, List<Supermarket>> cityPartitions;
+
+    /**
+     * The metrics that record the lookups, or null.
+     */
+    private volatile CatalogueMetrics metrics;
+
+    /**
+     * The index of the products of every supermarket by price, or null if it
+     * has not been enabled.
+     */
+    private ProductPriceIndex priceIndex;
+
+    /**
+     * The index of the product names of every supermarket, or null if it has
+     * not been enabled.
+     */
+    private ProductNameIndex productNameIndex;
+
+    /**
+     * The supermarkets by their folded name and city, or null until the first
+     * lookup that ignores case and accents.
+     */
+    private Map<String, List<Supermarket>> foldedKeys;
+
+    /**
+     * Constructs an empty list.
+     */
+    public SupermarketList() {
+        this(false);
+    }
+
+    private SupermarketList(boolean partitioned) {
+        this.cityPartitions = partitioned ? new LinkedHashMap<>() : null;
+    }
+
+    /**
+     * Creates an empty list that keeps its supermarkets partitioned by city.
+     *
+     * @return A new partitioned list
+     */
+    public static SupermarketList partitionedByCity() {
+        return new SupermarketList(true);
+    }
+
+    /**
+     * Sets the metrics that record the searches made with
+     * {@link #lookForSupermarket(String, String)} and keep the sizes of the
+     * list. The supermarkets of the list are counted once here; from then on
+     * they update the sizes as their products change. A supermarket can only
+     * be measured by one list at a time.
+     *
+     * @param metrics The metrics, or null to stop recording
+     */
+    public void setMetrics(CatalogueMetrics metrics) {
+        for (Supermarket supermarket : supermarketList) {
+            supermarket.setMetrics(metrics);
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts indexing the products of every supermarket of the list by name
+     * and price, so the cheapest stores for a product can be found without
+     * scanning the list. A supermarket can only be in one indexed list at a
+     * time.
+     *
+     * @return The index, which is kept up to date from then on
+     * @see ProductPriceIndex
+     */
+    public ProductPriceIndex enablePriceIndex() {
+        if (priceIndex == null) {
+            priceIndex = new ProductPriceIndex();
+            for (Supermarket supermarket : supermarketList) {
+                supermarket.setPriceIndex(priceIndex);
+            }
+        }
+        return priceIndex;
+    }
+
+    /**
+     * Gets the price index of the list.
+     *
+     * @return The index, or null if {@link #enablePriceIndex()} was not called
+     */
+    public ProductPriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    /**
+     * Starts indexing the names of the products of every supermarket of the
+     * list, for type-ahead searches over the whole list. A name stays in the
+     * index while any supermarket of the list sells it, and a supermarket can
+     * only be in one indexed list at a time.
+     *
+     * @return The index, which is kept up to date from then on
+     * @see ProductNameIndex
+     */
+    public ProductNameIndex enableProductNameIndex() {
+        if (productNameIndex == null) {
+            productNameIndex = new ProductNameIndex();
+            for (Supermarket supermarket : supermarketList) {
+                supermarket.setListProductNameIndex(productNameIndex);
+            }
+        }
+        return productNameIndex;
+    }
+
+    /**
+     * Gets the product name index of the list.
+     *
+     * @return The index, or null if {@link #enableProductNameIndex()} was not
+     *         called
+     */
+    public ProductNameIndex getProductNameIndex() {
+        return productNameIndex;
+    }
+
+    /**
+     * Checks if the list keeps its supermarkets partitioned by city.
+     *
+     * @return True if the list was created with {@link #partitionedByCity()}
+     */
+    public boolean isPartitioned() {
+        return cityPartitions != null;
+    }
+
+    /**
+     * Gets the number of cities with at least one supermarket.
+     *
+     * @return The number of partitions, or 1 if the list is not partitioned and
+     *         not empty
+     */
+    public int getPartitionCount() {
+        if (cityPartitions == null) {
+            return supermarketList.isEmpty() ? 0 : 1;
+        }
+        return cityPartitions.size();
+    }
+
     /*
      * Gets the size of the supermarket list.
      *
@@ -44,6 +207,30 @@ public class SupermarketList {
         return new ArrayList<>(supermarketList);
     }
 
+    /**
+     * Gets the supermarket at a position of the list.
+     *
+     * @param index The position, from 0 to {@link #getSize()} - 1
+     * @return The supermarket at that position
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    public Supermarket getSupermarket(int index) {
+        return supermarketList.get(index);
+    }
+
+    /**
+     * Returns a read-only iterator over the supermarkets, in insertion order.
+     * <p>
+     * The list must not be modified while iterating.
+     * </p>
+     *
+     * @return An iterator over the supermarkets
+     */
+    @Override
+    public Iterator<Supermarket> iterator() {
+        return Collections.unmodifiableList(supermarketList).iterator();
+    }
+
     /**
      * Adds a supermarket to the list.
      *
@@ -55,7 +242,62 @@ public class SupermarketList {
             throw new IllegalArgumentException(Constants.ERROR_SUPERMARKET_NULL);
         }
         supermarketList.add(supermarket);
+        if (priceIndex != null) {
+            supermarket.setPriceIndex(priceIndex);
+        }
+        if (metrics != null) {
+            supermarket.setMetrics(metrics);
+        }
+        if (productNameIndex != null) {
+            supermarket.setListProductNameIndex(productNameIndex);
+        }
+        if (foldedKeys != null) {
+            foldedKeys.computeIfAbsent(foldedKey(supermarket.getName(), supermarket.getCity()),
+                    key -> new ArrayList<>(1)).add(supermarket);
+        }
+        if (cityPartitions != null) {
+            cityPartitions.computeIfAbsent(supermarket.getCity(), city -> new ArrayList<>()).add(supermarket);
+        }
+    }
 
+    /**
+     * Removes a supermarket, found by its name and city, from the list.
+     *
+     * @param name The name of the supermarket to remove (case-sensitive)
+     * @param city The city of the supermarket to remove (case-sensitive)
+     * @return The removed supermarket, or null if no match is found
+     */
+    public Supermarket removeSupermarket(String name, String city) {
+        Supermarket supermarket = findSupermarket(name, city);
+        if (supermarket == null) {
+            return null;
+        }
+        supermarketList.remove(supermarket);
+        if (priceIndex != null) {
+            supermarket.setPriceIndex(null);
+        }
+        if (metrics != null) {
+            supermarket.setMetrics(null);
+        }
+        if (productNameIndex != null) {
+            supermarket.setListProductNameIndex(null);
+        }
+        if (foldedKeys != null) {
+            String key = foldedKey(name, city);
+            List<Supermarket> sameKey = foldedKeys.get(key);
+            sameKey.remove(supermarket);
+            if (sameKey.isEmpty()) {
+                foldedKeys.remove(key);
+            }
+        }
+        if (cityPartitions != null) {
+            List<Supermarket> partition = cityPartitions.get(city);
+            partition.remove(supermarket);
+            if (partition.isEmpty()) {
+                cityPartitions.remove(city);
+            }
+        }
+        return supermarket;
     }
 
     /**
@@ -69,7 +311,65 @@ public class SupermarketList {
      * @return The matching supermarket, or null if no match is found
      */
     public Supermarket lookForSupermarket(String name, String city) {
-        for (Supermarket supermarket : supermarketList) {
+        CatalogueMetrics recorder = metrics;
+        long start = recorder != null ? System.nanoTime() : 0;
+        CatalogueEvents.Lookup event = new CatalogueEvents.Lookup();
+        event.begin();
+        Supermarket found = findSupermarket(name, city);
+        event.end();
+        if (recorder != null) {
+            recorder.recordLookup(System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.found = found != null;
+            event.partitioned = cityPartitions != null;
+            event.commit();
+        }
+        return found;
+    }
+
+    /**
+     * Searches for a supermarket by its name and city, ignoring case and
+     * accents, so "dia" in "malaga" finds "Día" in "Málaga".
+     * <p>
+     * The first lookup folds the name and city of every supermarket of the
+     * list with {@link TextNormalizer#fold(String)}; from then on the key of
+     * each supermarket is folded once when it is added, and a lookup only folds
+     * the text searched for. The name and city of a supermarket must not
+     * change while it is in the list.
+     * </p>
+     *
+     * @param name The name of the supermarket
+     * @param city The city of the supermarket
+     * @return The first supermarket added whose name and city match, or null if
+     *         no match is found or the name or city is null or empty
+     */
+    public Supermarket lookForSupermarketInsensitive(String name, String city) {
+        if (name == null || name.isEmpty() || city == null || city.isEmpty()) {
+            return null;
+        }
+        if (foldedKeys == null) {
+            Map<String, List<Supermarket>> keys = new HashMap<>();
+            for (Supermarket supermarket : supermarketList) {
+                keys.computeIfAbsent(foldedKey(supermarket.getName(), supermarket.getCity()),
+                        key -> new ArrayList<>(1)).add(supermarket);
+            }
+            foldedKeys = keys;
+        }
+        List<Supermarket> found = foldedKeys.get(foldedKey(name, city));
+        return found == null ? null : found.get(0);
+    }
+
+    private static String foldedKey(String name, String city) {
+        return TextNormalizer.fold(name) + '\0' + TextNormalizer.fold(city);
+    }
+
+    private Supermarket findSupermarket(String name, String city) {
+        List<Supermarket> candidates = cityPartitions == null ? supermarketList : cityPartitions.get(city);
+        if (candidates == null) {
+            return null;
+        }
+        for (Supermarket supermarket : candidates) {
             // if the name and city match, return the supermarket
             if (supermarket.getName().equals(name) && supermarket.getCity().equals(city)) {
                 return supermarket;
@@ -118,6 +418,11 @@ public class SupermarketList {
         if (city == null || city.isEmpty()) {
             return filteredList;
         }
+        if (cityPartitions != null) {
+            // la partición ya contiene solo los supermercados de la ciudad
+            filteredList.supermarketList.addAll(cityPartitions.getOrDefault(city, Collections.emptyList()));
+            return filteredList;
+        }
         for (Supermarket supermarket : supermarketList) {
             if (supermarket.getCity().equals(city)) {
                 filteredList.addSupermarket(supermarket);
@@ -139,10 +444,176 @@ public class SupermarketList {
      */
     public String listToString() {
 
-        String result = "";
+        StringBuilder result = new StringBuilder();
+        try {
+            writeTo(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes every supermarket of the list in the export format.
+     *
+     * @param out The destination of the supermarket lines
+     * @throws IOException If the destination fails
+     * @see Supermarket#writeTo(Appendable)
+     */
+    public void writeTo(Appendable out) throws IOException {
         for (Supermarket supermarket : supermarketList) {
-            result += supermarket.supermarketToString();
+            supermarket.writeTo(out);
+        }
+    }
+
+    /**
+     * Writes every supermarket in the export format, with its products in the
+     * sectioned products format.
+     * <p>
+     * A list that is not partitioned is written in insertion order, straight to
+     * the destinations. A partitioned list writes the cities in the order they
+     * were added. With several processors, the cities are rendered in parallel
+     * in windows of one city per processor, and each window is written before
+     * the next one is rendered, so only that window is held in memory; with a
+     * single processor every city is written straight to the destinations.
+     * </p>
+     *
+     * @param markets  The destination of the supermarket lines
+     * @param products The destination of the product sections
+     * @throws IOException If a destination fails
+     * @see Supermarket#writeTo(Appendable)
+     * @see Supermarket#writeProductSectionTo(Appendable)
+     */
+    public void writeExportTo(Appendable markets, Appendable products) throws IOException {
+        writeExportTo(markets, products, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Writes the export, rendering up to window cities at a time.
+     *
+     * @param markets  The destination of the supermarket lines
+     * @param products The destination of the product sections
+     * @param window   The number of cities rendered in parallel
+     * @throws IOException If a destination fails
+     * @see #writeExportTo(Appendable, Appendable)
+     */
+    void writeExportTo(Appendable markets, Appendable products, int window) throws IOException {
+        if (cityPartitions == null) {
+            writeExportTo(supermarketList, markets, products);
+            return;
+        }
+        if (window <= 1) {
+            for (List<Supermarket> partition : cityPartitions.values()) {
+                writeExportTo(partition, markets, products);
+            }
+            return;
+        }
+        List<List<Supermarket>> partitions = new ArrayList<>(cityPartitions.values());
+        for (int from = 0; from < partitions.size(); from += window) {
+            List<StringBuilder[]> sections = partitions.subList(from, Math.min(from + window, partitions.size()))
+                    .parallelStream().map(SupermarketList::renderExport).toList();
+            for (StringBuilder[] section : sections) {
+                markets.append(section[0]);
+                products.append(section[1]);
+            }
+        }
+    }
+
+    private static void writeExportTo(List<Supermarket> supermarkets, Appendable markets, Appendable products)
+            throws IOException {
+        for (Supermarket supermarket : supermarkets) {
+            supermarket.writeTo(markets);
+            supermarket.writeProductSectionTo(products);
+        }
+    }
+
+    /**
+     * Renders the export of one city.
+     *
+     * @param partition The supermarkets of the city
+     * @return The supermarket lines and the product sections
+     */
+    private static StringBuilder[] renderExport(List<Supermarket> partition) {
+        StringBuilder partitionMarkets = new StringBuilder();
+        StringBuilder partitionProducts = new StringBuilder();
+        try {
+            writeExportTo(partition, partitionMarkets, partitionProducts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new StringBuilder[] { partitionMarkets, partitionProducts };
+    }
+
+    /**
+     * Gets the stock of every product of every supermarket.
+     *
+     * @return The sum of the stock of all the products
+     */
+    public long getTotalStock() {
+        long total = 0;
+        for (long partitionStock : mapPartitions(partition -> {
+            long stock = 0;
+            for (Supermarket supermarket : partition) {
+                for (Product product : supermarket.products) {
+                    stock += product.getStock();
+                }
+            }
+            return stock;
+        })) {
+            total += partitionStock;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the value of the stock of every supermarket once a discount is
+     * applied to all of its products.
+     *
+     * @param baseDiscount The base discount percentage (0-100 inclusive)
+     * @return The sum of the discounted price times the stock of every product
+     * @throws IllegalArgumentException If baseDiscount is out of range
+     * @see Product#applyDiscount(float)
+     */
+    public double getDiscountedStockValue(float baseDiscount) {
+        if (baseDiscount < 0 || baseDiscount > 100) {
+            throw new IllegalArgumentException(Constants.ERROR_BASE_DISCOUNT_OUT_OF_RANGE);
+        }
+        CatalogueEvents.DiscountRun event = new CatalogueEvents.DiscountRun();
+        event.begin();
+        double total = 0;
+        for (double partitionValue : mapPartitions(partition -> {
+            double value = 0;
+            for (Supermarket supermarket : partition) {
+                for (Product product : supermarket.products) {
+                    value += (double) product.applyDiscount(baseDiscount) * product.getStock();
+                }
+            }
+            return value;
+        })) {
+            total += partitionValue;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.baseDiscount = baseDiscount;
+            event.supermarkets = supermarketList.size();
+            event.partitions = getPartitionCount();
+            event.commit();
+        }
+        return total;
+    }
+
+    /**
+     * Runs a task over every partition and collects the results in partition
+     * order. The partitions are processed in parallel; a list that is not
+     * partitioned is a single partition processed by the calling thread.
+     *
+     * @param task The task computing the result of one partition
+     * @return The results, one per partition
+     */
+    private <T> List<T> mapPartitions(Function<List<Supermarket>, T> task) {
+        if (cityPartitions == null) {
+            return List.of(task.apply(supermarketList));
         }
-        return result;
+        return cityPartitions.values().parallelStream().map(task).toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * A utility class for folding texts into keys that ignore case and accents,
+ * so "Día", "dia" and "DIA" all give the same key.
+ * <p>
+ * The keys are meant to be computed once, when a supermarket or a product is
+ * indexed, and compared with {@link String#equals(Object)} afterwards.
+ * </p>
+ */
+public class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Folds a text into its key: the text is decomposed, its combining marks
+     * are removed and it is lowercased with {@link Locale#ROOT}.
+     * <p>
+     * Texts made only of ASCII characters, which are most of the names, are
+     * lowercased without decomposing them, and a text that is already folded is
+     * returned as it is.
+     * </p>
+     *
+     * @param text The text to fold
+     * @return The key of the text, or null if the text is null
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        int firstUpper = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return foldUnicode(text);
+            }
+            if (firstUpper < 0 && c >= 'A' && c <= 'Z') {
+                firstUpper = i;
+            }
+        }
+        if (firstUpper < 0) {
+            return text;
+        }
+        char[] folded = text.toCharArray();
+        for (int i = firstUpper; i < folded.length; i++) {
+            char c = folded[i];
+            if (c >= 'A' && c <= 'Z') {
+                folded[i] = (char) (c + ('a' - 'A'));
+            }
+        }
+        return new String(folded);
+    }
+
+    private static String foldUnicode(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,115 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads lines of UTF-8 text from a byte stream.
+ * <p>
+ * Lines are found by scanning the bytes for the line terminator, while noting
+ * if any byte is outside ASCII. An ASCII-only line, which is most rows of the
+ * data files, becomes a string with a plain byte copy; only lines with other
+ * characters go through the full UTF-8 decoder. Malformed bytes are replaced
+ * with U+FFFD, as {@link String#String(byte[], java.nio.charset.Charset)}
+ * does.
+ * </p>
+ */
+public class Utf8LineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private byte[] pending = new byte[256];
+    private int pendingLength;
+    private boolean pendingAscii = true;
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+
+    /**
+     * Constructs a reader over a byte stream.
+     *
+     * @param in The stream with the UTF-8 text.
+     */
+    public Utf8LineReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads a line of text. Lines may end with "\n", "\r\n" or "\r"; the
+     * terminator is not returned.
+     *
+     * @return The line, or null at the end of the stream.
+     * @throws IOException If the stream cannot be read.
+     */
+    public String readLine() throws IOException {
+        pendingLength = 0;
+        pendingAscii = true;
+        while (true) {
+            if (position >= limit && !fill()) {
+                return pendingLength > 0 ? decode(pending, 0, pendingLength, pendingAscii) : null;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            int start = position;
+            boolean ascii = true;
+            while (position < limit) {
+                byte b = buffer[position];
+                if (b == '\n' || b == '\r') {
+                    int end = position++;
+                    skipLineFeed = b == '\r';
+                    if (pendingLength == 0) {
+                        return decode(buffer, start, end - start, ascii);
+                    }
+                    appendPending(start, end, ascii);
+                    return decode(pending, 0, pendingLength, pendingAscii);
+                }
+                ascii &= b >= 0;
+                position++;
+            }
+            appendPending(start, limit, ascii);
+        }
+    }
+
+    /**
+     * Closes the stream.
+     *
+     * @throws IOException If the stream cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String decode(byte[] bytes, int offset, int length, boolean ascii) {
+        // ISO-8859-1 copies the bytes as they are, which is exact for ASCII
+        return new String(bytes, offset, length, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    private void appendPending(int start, int end, boolean ascii) {
+        int length = end - start;
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(buffer, start, pending, pendingLength, length);
+        pendingLength += length;
+        pendingAscii &= ascii;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * A buffered writer that encodes text as UTF-8 into a byte stream.
+ * <p>
+ * ASCII characters, which are most of the data files, are stored as one byte
+ * each without going through a {@link java.nio.charset.CharsetEncoder}; other
+ * characters are encoded by hand. A surrogate that is not part of a valid pair
+ * is written as '?', as the JDK encoder does.
+ * </p>
+ */
+public class Utf8Writer extends Writer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 1024;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final char[] chars = new char[CHAR_BUFFER_SIZE];
+    private int count;
+    private char highSurrogate;
+
+    /**
+     * Constructs a writer over a byte stream.
+     *
+     * @param out The stream the UTF-8 bytes are written to.
+     */
+    public Utf8Writer(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            off = writeAscii(cbuf, off, end);
+            if (off < end) {
+                writeChar(cbuf[off++]);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            int chunk = Math.min(end - off, chars.length);
+            str.getChars(off, off + chunk, chars, 0);
+            write(chars, 0, chunk);
+            off += chunk;
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        String text = String.valueOf(csq);
+        write(text, 0, text.length());
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Writes the buffered bytes and closes the stream. A high surrogate left
+     * without its pair is written as '?'.
+     *
+     * @throws IOException If the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                writeChar('?');
+            }
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Copies the ASCII characters at the start of a range straight into the
+     * buffer.
+     *
+     * @return The index of the first character that was not copied.
+     */
+    private int writeAscii(char[] cbuf, int off, int end) throws IOException {
+        if (highSurrogate != 0) {
+            return off;
+        }
+        while (off < end) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int stop = Math.min(end, off + buffer.length - count);
+            int i = off;
+            while (i < stop && cbuf[i] < 0x80) {
+                buffer[count++] = (byte) cbuf[i++];
+            }
+            if (i < stop) {
+                return i;
+            }
+            off = i;
+        }
+        return off;
+    }
+
+    private void writeChar(char c) throws IOException {
+        if (count + 4 > buffer.length) {
+            flushBuffer();
+        }
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            buffer[count++] = '?';
+        }
+        if (c < 0x80) {
+            buffer[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
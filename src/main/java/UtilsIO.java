@@ -1,4 +1,6 @@
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 
 /**
  * A utility class for handling input and output operations in the console.
@@ -6,9 +8,130 @@ import java.util.Scanner;
  * This class provides methods to display messages, menus, errors, and information,
  * as well as methods to read user input for strings, integers, and floats.
  * </p>
+ * <p>
+ * All output goes through an internal buffer that is written to
+ * {@code System.out} in one call. In auto-flush mode (the default) the buffer is
+ * flushed after every message, listing and prompt; with auto-flush disabled it
+ * is only flushed before reading input, when it grows past
+ * {@value #OUTPUT_FLUSH_THRESHOLD} characters or when {@link #flush()} is
+ * called.
+ * </p>
+ * <p>
+ * All input is read through one {@link ConsoleReader} shared by every
+ * instance, so input buffered for one prompt is kept for the next one.
+ * </p>
  */
 public class UtilsIO {
 
+    private static final int BOARD_NAME_WIDTH = 28;
+    private static final int BOARD_CITY_WIDTH = 29;
+    private static final int BOARD_COORDINATE_WIDTH = 11;
+    private static final int BOARD_COORDINATE_DECIMALS = 7;
+
+    private static final int OUTPUT_FLUSH_THRESHOLD = 64 * 1024;
+    private static final int MAX_RETAINED_OUTPUT_CAPACITY = 1 << 20;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Buffer holding the output not yet written to {@code System.out}. It also
+     * serves as the lock for every output operation.
+     */
+    private final StringBuilder outputBuffer = new StringBuilder(8192);
+    private boolean autoFlush = true;
+
+    private static ConsoleReader sharedReader;
+
+    /**
+     * Gets the reader shared by every prompt, creating a new one if
+     * {@code System.in} has been replaced since it was created.
+     *
+     * @return The shared reader over {@code System.in}.
+     */
+    private static synchronized ConsoleReader reader() {
+        if (sharedReader == null || sharedReader.getSource() != System.in) {
+            sharedReader = new ConsoleReader(System.in, Charset.forName(Constants.CONSOLE_CHARSET));
+        }
+        return sharedReader;
+    }
+
+    /**
+     * Checks if the output is flushed after every message.
+     *
+     * @return True if auto-flush is enabled, false otherwise.
+     */
+    public boolean isAutoFlush() {
+        synchronized (outputBuffer) {
+            return autoFlush;
+        }
+    }
+
+    /**
+     * Enables or disables flushing the output after every message.
+     * <p>
+     * Disabling it batches messages, menus and listings into the buffer, which
+     * is useful when the output is piped. Enabling it flushes any pending
+     * output.
+     * </p>
+     *
+     * @param autoFlush True to flush after every message, false to batch.
+     */
+    public void setAutoFlush(boolean autoFlush) {
+        synchronized (outputBuffer) {
+            this.autoFlush = autoFlush;
+            if (autoFlush) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered output to {@code System.out} and flushes it.
+     */
+    public void flush() {
+        synchronized (outputBuffer) {
+            if (outputBuffer.length() > 0) {
+                System.out.print(outputBuffer);
+                outputBuffer.setLength(0);
+                if (outputBuffer.capacity() > MAX_RETAINED_OUTPUT_CAPACITY) {
+                    outputBuffer.trimToSize();
+                }
+            }
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Appends a line to the output buffer.
+     *
+     * @param line The text of the line.
+     */
+    private void appendLine(CharSequence line) {
+        outputBuffer.append(line).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Ends an output operation, flushing the buffer if auto-flush is enabled or
+     * if it has grown past the threshold.
+     */
+    private void endOutput() {
+        if (autoFlush || outputBuffer.length() >= OUTPUT_FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Shows a prompt and flushes all pending output so that it is visible
+     * before the program waits for input.
+     *
+     * @param message The prompt message.
+     */
+    private void prompt(String message) {
+        synchronized (outputBuffer) {
+            appendLine(message);
+            flush();
+        }
+    }
+
     /**
      * Displays a message with a header and main text in a formatted way.
      *
@@ -20,12 +143,15 @@ public class UtilsIO {
             || header == null || header.isEmpty()) {
             return;
         }
-        System.out.println(Constants.EMPTY_SPACE);
-        System.out.println(Constants.MESSAGE_SEPARATOR);
-        System.out.println(header);
-        System.out.println(Constants.MESSAGE_SEPARATOR);
-        System.out.println(mainText);
-        System.out.println(Constants.EMPTY_SPACE);
+        synchronized (outputBuffer) {
+            appendLine(Constants.EMPTY_SPACE);
+            appendLine(Constants.MESSAGE_SEPARATOR);
+            appendLine(header);
+            appendLine(Constants.MESSAGE_SEPARATOR);
+            appendLine(mainText);
+            appendLine(Constants.EMPTY_SPACE);
+            endOutput();
+        }
     }
 
     /**
@@ -69,13 +195,12 @@ public class UtilsIO {
         if (errorMessage == null || errorMessage.isEmpty()) {
             errorMessage = Constants.MESSAGE_DEFAULT_ERROR_STRING;
         }
-        Scanner scanner = new Scanner(System.in, "Cp850");
-        System.out.println(message);
-        String inputText = scanner.nextLine();
+        ConsoleReader reader = reader();
+        prompt(message);
+        String inputText = reader.readLine();
         while (inputText.isEmpty()) {
-            System.out.println(errorMessage);
-            System.out.println(message);
-            inputText = scanner.nextLine();
+            prompt(errorMessage + LINE_SEPARATOR + message);
+            inputText = reader.readLine();
         }
         return inputText;
     }
@@ -94,20 +219,19 @@ public class UtilsIO {
         if (errorMessage == null || errorMessage.isEmpty()) {
             errorMessage = Constants.MESSAGE_DEFAULT_ERROR_INTEGER;
         }
-        Scanner scan = new Scanner(System.in);
-        int inputInt;
+        ConsoleReader reader = reader();
+        String token;
         boolean correct;
         do {
-            System.out.print(message + "\n");
-            correct = scan.hasNextInt();
+            prompt(message);
+            token = reader.nextToken();
+            correct = ConsoleReader.isInteger(token);
             if (!correct) {
-                scan.next();
-                System.out.println(errorMessage);
+                prompt(errorMessage);
             }
         } while (!correct);
-        inputInt = scan.nextInt();
-        scan.nextLine();
-        return inputInt;
+        reader.skipLine();
+        return Integer.parseInt(token);
     }
 
     /**
@@ -124,20 +248,19 @@ public class UtilsIO {
         if (errorMessage == null || errorMessage.isEmpty()) {
             errorMessage = Constants.MESSAGE_DEFAULT_ERROR_FLOAT;
         }
-        Scanner scan = new Scanner(System.in);
-        float inputFloat;
+        ConsoleReader reader = reader();
+        String number;
         boolean correct;
         do {
-            System.out.print(message + "\n");
-            correct = scan.hasNextFloat();
+            prompt(message);
+            number = ConsoleReader.normalizeDecimal(reader.nextToken());
+            correct = number != null;
             if (!correct) {
-                scan.next();
-                System.out.println(errorMessage);
+                prompt(errorMessage);
             }
         } while (!correct);
-        inputFloat = scan.nextFloat();
-        scan.nextLine();
-        return inputFloat;
+        reader.skipLine();
+        return Float.parseFloat(number);
     }
 
     /**
@@ -149,21 +272,113 @@ public class UtilsIO {
         if (supermarketsList == null || supermarketsList.isEmpty()) {
             return;
         }
-        System.out.println("\n");
-        System.out.println(Constants.LIST_HEADER);
-        System.out.println(Constants.TEMP_LIN);
-        String[] supermarkets = supermarketsList.split("\n");
-        for (String supermarket1 : supermarkets) {
-            String[] supermarket = supermarket1.split(",");
-            if (supermarket.length == 4) {
-                try {
-                    float longitude = Float.parseFloat(supermarket[2]);
-                    float latitude = Float.parseFloat(supermarket[3]);
-                    System.out.println(String.format(Constants.SUPERMARKET_BOARD_FORMAT, supermarket[0], supermarket[1], longitude, latitude));
-                } catch (NumberFormatException e) {
-                    continue;
+        synchronized (outputBuffer) {
+            appendBoardHeader(outputBuffer);
+            String[] supermarkets = supermarketsList.split("\n");
+            for (String supermarket1 : supermarkets) {
+                String[] supermarket = supermarket1.split(",");
+                if (supermarket.length == 4) {
+                    try {
+                        float longitude = Float.parseFloat(supermarket[2]);
+                        float latitude = Float.parseFloat(supermarket[3]);
+                        appendLine(String.format(Constants.SUPERMARKET_BOARD_FORMAT, supermarket[0], supermarket[1], longitude, latitude));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                }
+            }
+            endOutput();
+        }
+    }
+
+    /**
+     * Displays a list of supermarkets in a formatted table, reading the data
+     * directly from the {@link Supermarket} objects.
+     * <p>
+     * The header and every row, in the {@link Constants#SUPERMARKET_BOARD_FORMAT}
+     * layout, are written into the output buffer and printed with a single
+     * write, so the coordinates are never converted to text and parsed back.
+     * </p>
+     *
+     * @param supermarkets The supermarkets to display.
+     */
+    public void showSupermarketBoard(Iterable<Supermarket> supermarkets) {
+        if (supermarkets == null || !supermarkets.iterator().hasNext()) {
+            return;
+        }
+        synchronized (outputBuffer) {
+            appendBoardHeader(outputBuffer);
+            for (Supermarket supermarket : supermarkets) {
+                appendBoardRow(outputBuffer, supermarket);
+                if (outputBuffer.length() >= OUTPUT_FLUSH_THRESHOLD && !autoFlush) {
+                    flush();
                 }
             }
+            endOutput();
+        }
+    }
+
+    /**
+     * Displays one page of a list of supermarkets in a formatted table.
+     * <p>
+     * Only the rows of the requested page are formatted, followed by a footer
+     * with the page number.
+     * </p>
+     *
+     * @param supermarketList The list of supermarkets.
+     * @param page            The page to display, starting at 0.
+     * @param pageSize        The number of supermarkets per page (1 or more).
+     * @return True if there are more pages after this one, false otherwise.
+     */
+    public boolean showSupermarketBoardPage(SupermarketList supermarketList, int page, int pageSize) {
+        if (supermarketList == null || supermarketList.getSize() == 0 || page < 0 || pageSize < 1) {
+            return false;
+        }
+        int size = supermarketList.getSize();
+        int pages = (size + pageSize - 1) / pageSize;
+        if (page >= pages) {
+            return false;
+        }
+        int from = page * pageSize;
+        int to = Math.min(size, from + pageSize);
+        synchronized (outputBuffer) {
+            appendBoardHeader(outputBuffer);
+            for (int i = from; i < to; i++) {
+                appendBoardRow(outputBuffer, supermarketList.getSupermarket(i));
+            }
+            appendLine(Constants.TEMP_LIN);
+            appendLine(String.format(Constants.MESSAGE_BOARD_PAGE, page + 1, pages));
+            endOutput();
+        }
+        return page + 1 < pages;
+    }
+
+    private void appendBoardHeader(StringBuilder board) {
+        board.append('\n').append(LINE_SEPARATOR);
+        board.append(Constants.LIST_HEADER).append(LINE_SEPARATOR);
+        board.append(Constants.TEMP_LIN).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends one supermarket as a board row, as
+     * {@link Constants#SUPERMARKET_BOARD_FORMAT} would, followed by a line
+     * separator.
+     *
+     * @param board       The destination of the row.
+     * @param supermarket The supermarket to write.
+     */
+    private void appendBoardRow(StringBuilder board, Supermarket supermarket) {
+        try {
+            FormatUtils.appendPadded(board, supermarket.getName(), BOARD_NAME_WIDTH);
+            board.append("  ");
+            FormatUtils.appendPadded(board, supermarket.getCity(), BOARD_CITY_WIDTH);
+            board.append(' ');
+            FormatUtils.appendFixed(board, supermarket.getLongitude(), BOARD_COORDINATE_DECIMALS, BOARD_COORDINATE_WIDTH);
+            board.append(' ');
+            FormatUtils.appendFixed(board, supermarket.getLatitude(), BOARD_COORDINATE_DECIMALS, BOARD_COORDINATE_WIDTH);
+            board.append(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
-}
\ No newline at end of file
+}
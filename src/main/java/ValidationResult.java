@@ -0,0 +1,71 @@
+/**
+ * The result of validating and building a value without throwing: either the
+ * value or the error message that explains why it could not be built.
+ * <p>
+ * The error messages are the same {@link Constants} the constructors use for
+ * their {@link IllegalArgumentException}s, so both paths report the same
+ * errors. It is meant for bulk paths such as the import, where building an
+ * exception for every bad row is too expensive.
+ * </p>
+ *
+ * @param <T> The type of the value.
+ */
+public final class ValidationResult<T> {
+
+    private final T value;
+    private final String error;
+
+    private ValidationResult(T value, String error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param <T>   The type of the value.
+     * @param value The value built.
+     * @return The result holding the value.
+     */
+    public static <T> ValidationResult<T> valid(T value) {
+        return new ValidationResult<>(value, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param <T>   The type of the value.
+     * @param error The error message, usually one of the {@link Constants}.
+     * @return The result holding the error.
+     */
+    public static <T> ValidationResult<T> invalid(String error) {
+        return new ValidationResult<>(null, error);
+    }
+
+    /**
+     * Checks if the value could be built.
+     *
+     * @return True if the result holds a value, false if it holds an error.
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Gets the value built.
+     *
+     * @return The value, or null if the result is an error.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the error message.
+     *
+     * @return The error message, or null if the result is valid.
+     */
+    public String getError() {
+        return error;
+    }
+}
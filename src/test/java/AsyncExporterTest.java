@@ -0,0 +1,68 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncExporterTest {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_export";
+
+    private SupermarketList supermarketList;
+    private FileUtils fu;
+    private AsyncExporter exporter;
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        supermarketList = new SupermarketList();
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        fu = new FileUtils(TEST_DIR_PATH);
+        exporter = new AsyncExporter(new UtilsIO(), fu);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        exporter.close();
+        System.setOut(originalOut);
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void export_WritesSnapshotTakenAtRequest() throws Exception {
+        StringBuilder expectedProducts = new StringBuilder(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+        supermarketList.getSupermarket(0).writeProductSectionTo(expectedProducts);
+        Future<?> export = exporter.export(supermarketList, "markets.txt", "products.txt");
+        supermarketList.getSupermarket(0).getProduct("Shampoo").setStock(0);
+        export.get();
+        assertEquals(expectedProducts.toString(), fu.extractFileIntoString("products.txt"));
+        assertTrue(fu.extractFileIntoString("markets.txt").startsWith("Super One,Barcelona,"));
+    }
+
+    @Test
+    void close_WaitsForQueuedExports() {
+        exporter.export(supermarketList, "markets1.txt", "products1.txt");
+        exporter.export(supermarketList, "markets2.txt", "products2.txt");
+        exporter.close();
+        assertTrue(fu.fileExists("products1.txt"));
+        assertTrue(fu.fileExists("products2.txt"));
+    }
+}
@@ -0,0 +1,205 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoSnapshotSchedulerTest {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_autosnapshot";
+
+    private SupermarketList supermarketList;
+    private FileUtils fu;
+    private UtilsIO io;
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        supermarketList = new SupermarketList();
+        supermarketList.addSupermarket(new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f));
+        fu = new FileUtils(TEST_DIR_PATH);
+        io = new UtilsIO();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.setOut(originalOut);
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private AutoSnapshotScheduler scheduler(int threshold, int generations) {
+        return new AutoSnapshotScheduler(supermarketList, fu, io, 3600, threshold, generations);
+    }
+
+    private static String marketsFile(long generation) {
+        return AutoSnapshotScheduler.snapshotFileName(generation, Constants.SUPERMARKETS_FILE_NAME);
+    }
+
+    @Test
+    void constructor_InvalidSettings_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AutoSnapshotScheduler(supermarketList, fu, io, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> scheduler(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> scheduler(1, 0));
+    }
+
+    @Test
+    void recordChange_ThresholdReached_WritesSnapshot() {
+        AutoSnapshotScheduler scheduler = scheduler(2, 3);
+        scheduler.recordChange();
+        scheduler.recordChange();
+        scheduler.stop();
+        assertEquals(1, scheduler.getGeneration());
+        assertEquals(supermarketList.listToString(), fu.extractFileIntoString(marketsFile(1)));
+        assertTrue(fu.fileExists(AutoSnapshotScheduler.snapshotFileName(1, Constants.PRODUCTS_FILE_NAME)));
+    }
+
+    @Test
+    void recordChanges_ThresholdCrossed_WritesSnapshot() {
+        AutoSnapshotScheduler scheduler = scheduler(1000, 3);
+        scheduler.recordChanges(999);
+        scheduler.recordChanges(100_000);
+        scheduler.recordChanges(5);
+        scheduler.stop();
+        assertEquals(1, scheduler.getGeneration());
+    }
+
+    @Test
+    void recordChanges_BelowThreshold_WritesNothing() {
+        AutoSnapshotScheduler scheduler = scheduler(1000, 3);
+        scheduler.recordChanges(999);
+        scheduler.recordChanges(0);
+        scheduler.stop();
+        assertEquals(0, scheduler.getGeneration());
+    }
+
+    @Test
+    void parseAutoSnapshotSettings_ChecksThreePositiveIntegers() {
+        assertArrayEquals(new int[] { 60, 500, 5 }, EAC7S22425.parseAutoSnapshotSettings("60,500,5"));
+        assertNull(EAC7S22425.parseAutoSnapshotSettings("60,500"));
+        assertNull(EAC7S22425.parseAutoSnapshotSettings("60,0,5"));
+        assertNull(EAC7S22425.parseAutoSnapshotSettings("60,abc,5"));
+    }
+
+    @Test
+    void snapshotIfChanged_NoChanges_WritesNothing() {
+        AutoSnapshotScheduler scheduler = scheduler(10, 3);
+        scheduler.snapshotIfChanged();
+        scheduler.stop();
+        assertEquals(0, scheduler.getGeneration());
+        assertFalse(fu.fileExists(marketsFile(1)));
+    }
+
+    @Test
+    void snapshotIfChanged_KeepsOnlyNewestGenerations() {
+        AutoSnapshotScheduler scheduler = scheduler(100, 2);
+        for (int i = 0; i < 4; i++) {
+            scheduler.recordChange();
+            scheduler.snapshotIfChanged();
+        }
+        scheduler.stop();
+        assertEquals(4, scheduler.getGeneration());
+        assertFalse(fu.fileExists(marketsFile(1)));
+        assertFalse(fu.fileExists(marketsFile(2)));
+        assertTrue(fu.fileExists(marketsFile(3)));
+        assertTrue(fu.fileExists(marketsFile(4)));
+    }
+
+    @Test
+    void constructor_ExistingSnapshots_ContinuesNumbering() {
+        AutoSnapshotScheduler first = scheduler(100, 3);
+        first.recordChange();
+        first.snapshotIfChanged();
+        first.stop();
+        AutoSnapshotScheduler second = scheduler(100, 3);
+        assertEquals(1, second.getGeneration());
+        second.recordChange();
+        second.snapshotIfChanged();
+        second.stop();
+        assertTrue(fu.fileExists(marketsFile(2)));
+    }
+
+    @Test
+    void snapshotIfChanged_CompressedNames_AreUsed() {
+        String markets = Constants.SUPERMARKETS_FILE_NAME + Constants.COMPRESSED_FILE_EXTENSION;
+        String products = Constants.PRODUCTS_FILE_NAME + Constants.COMPRESSED_FILE_EXTENSION;
+        AutoSnapshotScheduler scheduler = new AutoSnapshotScheduler(supermarketList, fu, io, 3600, 100, 3, markets,
+                products);
+        scheduler.recordChange();
+        scheduler.snapshotIfChanged();
+        scheduler.stop();
+        assertEquals(supermarketList.listToString(),
+                fu.extractFileIntoString(AutoSnapshotScheduler.snapshotFileName(1, markets)));
+        assertTrue(fu.fileExists(AutoSnapshotScheduler.snapshotFileName(1, products)));
+        assertFalse(fu.fileExists(marketsFile(1)));
+    }
+
+    @Test
+    void snapshotIfChanged_RuntimeException_KeepsTheChangesForTheNextAttempt() {
+        boolean[] failed = new boolean[1];
+        supermarketList = new SupermarketList() {
+            @Override
+            public Iterator<Supermarket> iterator() {
+                if (!failed[0]) {
+                    failed[0] = true;
+                    throw new IllegalStateException();
+                }
+                return super.iterator();
+            }
+        };
+        supermarketList.addSupermarket(new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f));
+        AutoSnapshotScheduler scheduler = scheduler(100, 3);
+        scheduler.recordChange();
+        scheduler.snapshotIfChanged();
+        assertEquals(0, scheduler.getGeneration());
+        scheduler.snapshotIfChanged();
+        scheduler.stop();
+        assertEquals(1, scheduler.getGeneration());
+    }
+
+    @Test
+    void snapshotIfChanged_FailedWrite_DeletesTheTemporaryFiles() throws IOException {
+        AutoSnapshotScheduler scheduler = scheduler(100, 3);
+        // un directorio no vacío con el nombre de la copia impide renombrarla
+        Path blocked = Path.of(fu.getFilePath(marketsFile(1)));
+        Files.createDirectories(blocked);
+        Files.writeString(blocked.resolve("file.txt"), "x");
+        scheduler.recordChange();
+        scheduler.snapshotIfChanged();
+        scheduler.stop();
+        assertEquals(0, scheduler.getGeneration());
+        assertFalse(fu.fileExists(Constants.TEMP_FILE_PREFIX + marketsFile(1)));
+        assertFalse(fu.fileExists(
+                Constants.TEMP_FILE_PREFIX + AutoSnapshotScheduler.snapshotFileName(1, Constants.PRODUCTS_FILE_NAME)));
+    }
+
+    @Test
+    void constructor_LeftoverTemporaryFiles_AreDeleted() throws IOException {
+        String leftover = Constants.TEMP_FILE_PREFIX + marketsFile(7);
+        Files.writeString(Path.of(fu.getFilePath(leftover)), "x");
+        AutoSnapshotScheduler scheduler = scheduler(100, 3);
+        scheduler.stop();
+        assertFalse(fu.fileExists(leftover));
+        assertEquals(0, scheduler.getGeneration());
+    }
+}
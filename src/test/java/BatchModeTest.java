@@ -0,0 +1,172 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchModeTest {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_batch";
+    private static final String VALID_DATE = LocalDate.now().plusDays(30).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+    private SupermarketList supermarketList;
+    private BatchMode batch;
+    private ByteArrayOutputStream outputStreamCaptor;
+    private EAC7S22425 program;
+    private UtilsIO io;
+    private FileUtils fu;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        io = new UtilsIO();
+        io.setAutoFlush(false);
+        supermarketList = new SupermarketList();
+        program = new EAC7S22425();
+        batch = new BatchMode(program, io, null, supermarketList);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (fu != null) {
+            try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private void useFiles() {
+        fu = new FileUtils(TEST_DIR_PATH);
+        batch = new BatchMode(program, io, fu, supermarketList);
+    }
+
+    private void run(String script) throws IOException {
+        batch.run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    void run_ValidCommands_AddsSupermarketsAndProducts() throws IOException {
+        run("# comment\n"
+                + "ADD_SUPERMARKET,Mercadona,Madrid,-3.7037899,40.4167747\n"
+                + "\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Pan Integral,1.20,150,FOOD," + VALID_DATE + "\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99,60,COSMETIC,Nivea\n");
+        Supermarket supermarket = supermarketList.lookForSupermarket("Mercadona", "Madrid");
+        assertNotNull(supermarket);
+        assertAll(
+            () -> assertEquals(3, batch.getCommandCount()),
+            () -> assertEquals(0, batch.getErrorCount()),
+            () -> assertEquals(150, supermarket.getProduct("Pan Integral").getStock()),
+            () -> assertEquals(5.99f, supermarket.getProduct("Crema").getPrice())
+        );
+    }
+
+    @Test
+    void run_InvalidCommands_CountsErrorsAndContinues() throws IOException {
+        run("ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\n"
+                + "ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\n"
+                + "ADD_SUPERMARKET,Lidl,Valencia,not_a_number,39.46\n"
+                + "ADD_PRODUCT,Lidl,Valencia,Crema,5.99,60,COSMETIC,Nivea\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99\n"
+                + "DELETE_EVERYTHING\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99,60,COSMETIC,Nivea\n");
+        assertAll(
+            () -> assertEquals(7, batch.getCommandCount()),
+            () -> assertEquals(5, batch.getErrorCount()),
+            () -> assertEquals(1, supermarketList.getSize()),
+            () -> assertTrue(supermarketList.lookForSupermarket("Mercadona", "Madrid").hasProduct("Crema"))
+        );
+    }
+
+    @Test
+    void run_NonNumericFields_ShowNumberError() throws IOException {
+        run("ADD_SUPERMARKET,Lidl,Valencia,not_a_number,39.46\n"
+                + "ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,cinc,60,COSMETIC,Nivea\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99,molts,COSMETIC,Nivea\n");
+        String output = outputStreamCaptor.toString();
+        assertAll(
+            () -> assertEquals(3, batch.getErrorCount()),
+            () -> assertTrue(output.contains(Constants.ERROR_IMPORT_NOT_A_NUMBER.substring(0, 9))),
+            () -> assertFalse(supermarketList.lookForSupermarket("Mercadona", "Madrid").hasProduct("Crema"))
+        );
+    }
+
+    @Test
+    void run_DuplicateProduct_ShowsAlreadyExists() throws IOException {
+        run("ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99,60,COSMETIC,Nivea\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,6.99,10,COSMETIC,Nivea\n");
+        assertAll(
+            () -> assertEquals(1, batch.getErrorCount()),
+            () -> assertTrue(outputStreamCaptor.toString().contains(Constants.ERROR_PRODUCT_ALREADY_EXISTS)),
+            () -> assertEquals(5.99f,
+                    supermarketList.lookForSupermarket("Mercadona", "Madrid").getProduct("Crema").getPrice())
+        );
+    }
+
+    @Test
+    void run_ShowsOnlySummaryWithoutPrompts() throws IOException {
+        run("ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\nUNKNOWN\n");
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains(Constants.INFO_HEADER));
+        assertTrue(output.contains(Constants.ERROR_BATCH_UNKNOWN_COMMAND.substring(0, 5)));
+    }
+
+    @Test
+    void run_FailingExports_CountAsErrors() throws IOException {
+        useFiles();
+        run("EXPORT\n");
+        assertEquals(1, batch.getErrorCount());
+
+        // un directorio con el nombre del fichero impide escribirlo
+        new File(fu.getFilePath(program.marketFileName)).mkdirs();
+        run("ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\nEXPORT\n");
+        assertEquals(2, batch.getErrorCount());
+    }
+
+    @Test
+    void run_SuccessfulExportAndImport_CountNoErrors() throws IOException {
+        useFiles();
+        run("ADD_SUPERMARKET,Mercadona,Madrid,-3.70,40.41\n"
+                + "ADD_PRODUCT,Mercadona,Madrid,Crema,5.99,60,COSMETIC,Nivea\n"
+                + "EXPORT\nIMPORT\n");
+        assertEquals(4, batch.getCommandCount());
+        assertEquals(0, batch.getErrorCount());
+    }
+
+    @Test
+    void run_ImportWithoutFilesOrWithRejectedRows_CountsErrors() throws IOException {
+        useFiles();
+        run("IMPORT\n");
+        assertEquals(1, batch.getErrorCount());
+
+        fu.createFileFromString(program.marketFileName, "Mercadona,Madrid,-3.70,40.41\n");
+        fu.createFileFromString(program.productsFileName, "Mercadona,Madrid,Crema,5.99,60,COSMETIC,Nivea\n"
+                + "Mercadona,Madrid,Gel,abc,60,COSMETIC,Nivea\n"
+                + "Mercadona,Madrid,Pan,1.20,abc,FOOD," + VALID_DATE + "\n");
+        run("IMPORT\n");
+        assertEquals(2, batch.getCommandCount());
+        assertEquals(3, batch.getErrorCount());
+        assertTrue(supermarketList.lookForSupermarket("Mercadona", "Madrid").hasProduct("Crema"));
+    }
+}
@@ -0,0 +1,149 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueEventsTest {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_events";
+
+    private EAC7S22425 program;
+    private FileUtils fu;
+    private UtilsIO io;
+    private SupermarketList supermarketList;
+    private PrintStream originalOut;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        program = new EAC7S22425();
+        fu = new FileUtils(TEST_DIR_PATH);
+        io = new UtilsIO();
+        supermarketList = new SupermarketList();
+        recording = new Recording();
+        for (String event : new String[] { "catalogue.ImportPhase", "catalogue.ImportBatch", "catalogue.Export",
+                "catalogue.FileRead", "catalogue.FileWrite", "catalogue.DiscountRun", "catalogue.ProductDiscount",
+                "catalogue.Lookup" }) {
+            recording.enable(event).withoutThreshold();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.setOut(originalOut);
+        recording.close();
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private List<RecordedEvent> stopAndRead(String eventName) throws IOException {
+        recording.stop();
+        Path dump = Path.of(fu.getFilePath("recording.jfr"));
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+
+    @Test
+    void importSupermarkets_RecordsPhasesBatchesAndReads() throws IOException {
+        StringBuilder products = new StringBuilder(Constants.PRODUCTS_FORMAT_HEADER + "\n#STORE,Super One,Barcelona\n");
+        for (int i = 0; i < CatalogueEvents.ImportBatch.ROWS + 5; i++) {
+            products.append("Product ").append(i).append(",1.50,3,COSMETIC,Brand\n");
+        }
+        products.append("Bad,x,3,COSMETIC,Brand\n");
+        fu.createFileFromString(program.marketFileName, "Super One,Barcelona,2.1734,41.3851\n");
+        fu.createFileFromString(program.productsFileName, products.toString());
+        recording.start();
+        program.importSupermarkets(io, fu, supermarketList);
+        List<RecordedEvent> phases = stopAndRead("catalogue.ImportPhase");
+
+        assertEquals(2, phases.size());
+        RecordedEvent productsPhase = phases.get(1);
+        assertEquals(Constants.IMPORT_PHASE_PRODUCTS, productsPhase.getString("phase"));
+        assertEquals(CatalogueEvents.ImportBatch.ROWS + 8, productsPhase.getInt("rows"));
+        assertEquals(1, productsPhase.getInt("rejected"));
+
+        Path dump = Path.of(fu.getFilePath("recording.jfr"));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> batches = events.stream()
+                .filter(event -> event.getEventType().getName().equals("catalogue.ImportBatch")).toList();
+        assertEquals(2, batches.size());
+        assertEquals(CatalogueEvents.ImportBatch.ROWS, batches.get(0).getInt("rows"));
+        assertEquals(CatalogueEvents.ImportBatch.ROWS + 1, batches.get(1).getInt("firstRow"));
+        assertEquals(1, batches.get(1).getInt("rejected"));
+        assertTrue(batches.get(0).getLong("importTime") > 0);
+
+        List<RecordedEvent> reads = events.stream()
+                .filter(event -> event.getEventType().getName().equals("catalogue.FileRead")).toList();
+        assertEquals(2, reads.size());
+        assertTrue(reads.stream().anyMatch(event -> event.getLong("bytes") == products.length()));
+    }
+
+    @Test
+    void exportAndDiscountRun_RecordCountsAndBytes() throws IOException {
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        recording.start();
+        program.exportSupermarkets(io, fu, supermarketList);
+        supermarketList.getDiscountedStockValue(10);
+        supermarketList.lookForSupermarket("Super One", "Girona");
+        List<RecordedEvent> exports = stopAndRead("catalogue.Export");
+
+        assertEquals(1, exports.size());
+        assertEquals(1, exports.get(0).getInt("supermarkets"));
+        assertEquals(1, exports.get(0).getLong("products"));
+        long fileBytes = Files.size(Path.of(fu.getFilePath(program.marketFileName)))
+                + Files.size(Path.of(fu.getFilePath(program.productsFileName)));
+        assertEquals(fileBytes, exports.get(0).getLong("bytes"));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(fu.getFilePath("recording.jfr")));
+        assertEquals(2, events.stream().filter(event -> event.getEventType().getName().equals("catalogue.FileWrite"))
+                .count());
+        RecordedEvent discount = events.stream()
+                .filter(event -> event.getEventType().getName().equals("catalogue.DiscountRun")).findFirst().get();
+        assertEquals(10.0f, discount.getFloat("baseDiscount"));
+        assertEquals(1, discount.getInt("supermarkets"));
+        RecordedEvent lookup = events.stream()
+                .filter(event -> event.getEventType().getName().equals("catalogue.Lookup")).findFirst().get();
+        assertFalse(lookup.getBoolean("found"));
+    }
+
+    @Test
+    void applyDiscountToProduct_RecordsProductDiscount() throws IOException {
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        recording.start();
+        float discountedPrice = supermarket.applyDiscountToProduct("Shampoo", 20);
+        List<RecordedEvent> discounts = stopAndRead("catalogue.ProductDiscount");
+
+        assertEquals(1, discounts.size());
+        assertEquals("Super One", discounts.get(0).getString("supermarket"));
+        assertEquals("Barcelona", discounts.get(0).getString("city"));
+        assertEquals("Shampoo", discounts.get(0).getString("product"));
+        assertEquals(20.0f, discounts.get(0).getFloat("baseDiscount"));
+        assertEquals(discountedPrice, discounts.get(0).getFloat("discountedPrice"));
+    }
+}
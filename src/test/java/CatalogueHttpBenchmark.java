@@ -0,0 +1,91 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load harness for {@link CatalogueHttpServer}: starts a server over a
+ * generated list and sends concurrent lookups from virtual threads, reporting
+ * the throughput and the latency percentiles.
+ * <p>
+ * Run with {@code java CatalogueHttpBenchmark [supermarkets] [clients] [requests]}
+ * from the test classpath. It is not a unit test and is not run by the build.
+ * </p>
+ */
+public class CatalogueHttpBenchmark {
+
+    private static final int DEFAULT_SUPERMARKETS = 10_000;
+    private static final int DEFAULT_CLIENTS = 200;
+    private static final int DEFAULT_REQUESTS = 100;
+
+    public static void main(String[] args) throws Exception {
+        Locale.setDefault(Locale.US);
+        int supermarkets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SUPERMARKETS;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS;
+
+        SupermarketList supermarketList = new SupermarketList();
+        for (int i = 0; i < supermarkets; i++) {
+            Supermarket supermarket = new Supermarket("Super" + i, "City" + i % 50, 2.0f, 41.0f);
+            supermarket.addProduct(new CosmeticProduct("Product" + i, 1.0f + i % 100, 10, "Brand"));
+            supermarketList.addSupermarket(supermarket);
+        }
+        CatalogueHttpServer server = new CatalogueHttpServer(supermarketList, 0);
+        server.start();
+        String base = "http://localhost:" + server.getPort();
+        HttpClient client = HttpClient.newHttpClient();
+
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int c = 0; c < clients; c++) {
+            int seed = c;
+            results.add(executor.submit(() -> runClient(client, base, supermarkets, seed, requests)));
+        }
+        executor.shutdown();
+        long[] latencies = new long[clients * requests];
+        int count = 0;
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            System.arraycopy(clientLatencies, 0, latencies, count, clientLatencies.length);
+            count += clientLatencies.length;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        server.stop();
+
+        Arrays.sort(latencies, 0, count);
+        System.out.printf("%d requests from %d clients in %d ms: %.0f req/s%n", count, clients,
+                elapsedNanos / 1_000_000, count * 1_000_000_000.0 / elapsedNanos);
+        System.out.printf("latency p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                percentile(latencies, count, 0.50), percentile(latencies, count, 0.99),
+                percentile(latencies, count, 0.999), latencies[count - 1] / 1_000_000.0);
+    }
+
+    private static long[] runClient(HttpClient client, String base, int supermarkets, int seed, int requests)
+            throws Exception {
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            int index = (seed * 31 + i * 17) % supermarkets;
+            String path = i % 2 == 0
+                    ? "/supermarket?name=Super" + index + "&city=City" + index % 50
+                    : "/product?name=Super" + index + "&city=City" + index % 50 + "&product=Product" + index;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+            long start = System.nanoTime();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, int count, double fraction) {
+        int index = Math.min(count - 1, (int) Math.ceil(fraction * count) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
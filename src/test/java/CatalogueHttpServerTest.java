@@ -0,0 +1,187 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueHttpServerTest {
+
+    private SupermarketList supermarketList;
+    private CatalogueHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        supermarketList = new SupermarketList();
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        supermarketList.addSupermarket(new Supermarket("Super Two", "Girona", 2.8214f, 41.9794f));
+        server = new CatalogueHttpServer(supermarketList, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + pathAndQuery))
+                .GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void constructor_NullList_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueHttpServer(null, 0));
+    }
+
+    @Test
+    void lookForSupermarket_Existing_ReturnsSupermarket() throws Exception {
+        HttpResponse<String> response = get("/supermarket?name=Super%20One&city=Barcelona");
+        assertEquals(200, response.statusCode());
+        assertEquals(supermarketList.lookForSupermarket("Super One", "Barcelona").supermarketToString(),
+                response.body());
+    }
+
+    @Test
+    void lookForSupermarket_Missing_ReturnsNotFound() throws Exception {
+        assertEquals(404, get("/supermarket?name=Nope&city=Barcelona").statusCode());
+    }
+
+    @Test
+    void filterByCity_ReturnsMatchingSupermarkets() throws Exception {
+        HttpResponse<String> response = get("/supermarkets/city?city=Girona");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("Super Two,Girona,"));
+    }
+
+    @Test
+    void filterByName_ReturnsMatchingSupermarkets() throws Exception {
+        HttpResponse<String> response = get("/supermarkets/name?name=Super+One");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("Super One,Barcelona,"));
+    }
+
+    @Test
+    void getProduct_Existing_ReturnsProduct() throws Exception {
+        HttpResponse<String> response = get("/product?name=Super%20One&city=Barcelona&product=Shampoo");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Shampoo"));
+    }
+
+    @Test
+    void getProduct_Missing_ReturnsNotFound() throws Exception {
+        assertEquals(404, get("/product?name=Super%20One&city=Barcelona&product=Soap").statusCode());
+    }
+
+    @Test
+    void applyDiscount_ValidDiscount_ReturnsDiscountedPrice() throws Exception {
+        HttpResponse<String> response = get("/discount?name=Super%20One&city=Barcelona&product=Shampoo&discount=10");
+        assertEquals(200, response.statusCode());
+        float expected = new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX").applyDiscount(10);
+        assertEquals(String.format("%.2f%n", expected), response.body());
+    }
+
+    @Test
+    void applyDiscount_InvalidDiscount_ReturnsBadRequest() throws Exception {
+        HttpResponse<String> notANumber = get("/discount?name=Super%20One&city=Barcelona&product=Shampoo&discount=abc");
+        assertEquals(400, notANumber.statusCode());
+        assertTrue(notANumber.body().startsWith(Constants.ERROR_IMPORT_NOT_A_NUMBER.substring(0, 9)));
+        assertEquals(400, get("/discount?name=Super%20One&city=Barcelona&product=Shampoo").statusCode());
+    }
+
+    @Test
+    void cheapest_SeveralStores_ReturnsStoresByPrice() throws Exception {
+        Supermarket supermarket = supermarketList.lookForSupermarket("Super Two", "Girona");
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 8.0f, 2, "BrandY"));
+
+        HttpResponse<String> response = get("/cheapest?product=Shampoo&count=2");
+        assertEquals(200, response.statusCode());
+        assertEquals("Super Two,Girona," + supermarket.getProduct("Shampoo").toString()
+                + "Super One,Barcelona," + new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX").toString(),
+                response.body());
+        assertEquals("Super Two,Girona," + supermarket.getProduct("Shampoo").toString(),
+                get("/cheapest?product=Shampoo").body());
+    }
+
+    @Test
+    void cheapest_MissingProductOrInvalidCount_ReturnsError() throws Exception {
+        assertEquals(404, get("/cheapest?product=Soap").statusCode());
+        assertEquals(400, get("/cheapest?product=Shampoo&count=0").statusCode());
+        assertEquals(400, get("/cheapest?product=Shampoo&count=abc").statusCode());
+    }
+
+    @Test
+    void search_PrefixAndText_ReturnsProductNames() throws Exception {
+        supermarketList.lookForSupermarket("Super Two", "Girona").addProduct(new CosmeticProduct("Shower Gel", 4.0f,
+                1, "BrandY"));
+
+        HttpResponse<String> response = get("/search?prefix=Sh");
+        assertEquals(200, response.statusCode());
+        assertEquals("Shampoo\nShower Gel\n", response.body());
+        assertEquals("Shower Gel\n", get("/search?text=Gel&count=5").body());
+        assertEquals(400, get("/search").statusCode());
+        assertEquals(400, get("/search?prefix=Sh&count=0").statusCode());
+    }
+
+    @Test
+    void handler_UnexpectedException_ReturnsInternalError() throws Exception {
+        SupermarketList failing = new SupermarketList() {
+            @Override
+            public Supermarket lookForSupermarket(String name, String city) {
+                throw new IllegalStateException("failure");
+            }
+        };
+        CatalogueHttpServer failingServer = new CatalogueHttpServer(failing, 0);
+        failingServer.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + failingServer.getPort()
+                    + "/supermarket?name=Super%20One&city=Barcelona")).GET().build();
+            assertEquals(500, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        } finally {
+            failingServer.stop();
+        }
+    }
+
+    @Test
+    void stock_ReturnsTotalStockAndDiscountedValue() throws Exception {
+        HttpResponse<String> response = get("/stock");
+        assertEquals(200, response.statusCode());
+        assertEquals(String.format("%d%n%.2f%n", 5, 50.0), response.body());
+        double discounted = 5.0 * new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX").applyDiscount(10);
+        assertEquals(String.format("%d%n%.2f%n", 5, discounted), get("/stock?discount=10").body());
+        assertEquals(400, get("/stock?discount=101").statusCode());
+        assertEquals(400, get("/stock?discount=abc").statusCode());
+        assertTrue(get("/stock?discount=abc").body().startsWith(Constants.ERROR_IMPORT_NOT_A_NUMBER.substring(0, 9)));
+    }
+
+    @Test
+    void handler_PostRequest_ReturnsMethodNotAllowed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/supermarket"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        assertEquals(405, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void parseQuery_DecodesParameters() {
+        Map<String, String> query = CatalogueHttpServer.parseQuery("name=Super+One&city=Barcelona&empty&x=a%2Cb");
+        assertEquals("Super One", query.get("name"));
+        assertEquals("Barcelona", query.get("city"));
+        assertEquals("", query.get("empty"));
+        assertEquals("a,b", query.get("x"));
+        assertTrue(CatalogueHttpServer.parseQuery(null).isEmpty());
+    }
+}
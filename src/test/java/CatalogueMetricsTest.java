@@ -0,0 +1,146 @@
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueMetricsTest {
+
+    private SupermarketList supermarketList;
+    private CatalogueMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        supermarketList = new SupermarketList();
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarket.addProduct(new CosmeticProduct("Soap", 2.0f, 5, "BrandX"));
+        supermarket.addProduct(new FoodProduct("Milk", 1.0f, 5, "20991231"));
+        supermarketList.addSupermarket(supermarket);
+        supermarketList.addSupermarket(new Supermarket("Super Two", "Girona", 2.8214f, 41.9794f));
+        metrics = new CatalogueMetrics(supermarketList);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.unregister();
+    }
+
+    @Test
+    void constructor_NullList_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueMetrics(null));
+    }
+
+    @Test
+    void catalogueSizes_AreCountedOnceTheListIsMeasured() {
+        assertEquals(0, metrics.getCosmeticProductCount());
+        supermarketList.setMetrics(metrics);
+        assertEquals(2, metrics.getSupermarketCount());
+        assertEquals(2, metrics.getCosmeticProductCount());
+        assertEquals(1, metrics.getFoodProductCount());
+        long heap = metrics.getEstimatedHeapBytes();
+        assertTrue(heap > 0);
+        supermarketList.getSupermarket(1).addProduct(new CosmeticProduct("Gel", 4.0f, 2, "BrandY"));
+        assertTrue(metrics.getEstimatedHeapBytes() > heap);
+    }
+
+    @Test
+    void catalogueSizes_FollowTheChanges() {
+        supermarketList.setMetrics(metrics);
+        Supermarket first = supermarketList.getSupermarket(0);
+        first.updateProduct(new FoodProduct("Shampoo", 3.0f, 1, "20991231"));
+        first.mergeCosmeticProduct("Milk", 2.0f, 4, "BrandZ");
+        first.mergeFoodProduct("Bread", 1.0f, 4, "20991231");
+        first.setName("Super One Renamed");
+        Supermarket third = new Supermarket("Super Three", "Lleida", 0.62f, 41.61f);
+        third.addProduct(new CosmeticProduct("Gel", 4.0f, 2, "BrandY"));
+        supermarketList.addSupermarket(third);
+        supermarketList.removeSupermarket("Super Two", "Girona");
+        assertEquals(2, metrics.getFoodProductCount());
+        assertEquals(3, metrics.getCosmeticProductCount());
+        long heap = metrics.getEstimatedHeapBytes();
+
+        // otras métricas vuelven a contar la lista desde cero
+        CatalogueMetrics recount = new CatalogueMetrics(supermarketList);
+        supermarketList.setMetrics(recount);
+        assertEquals(2, recount.getFoodProductCount());
+        assertEquals(3, recount.getCosmeticProductCount());
+        assertEquals(heap, recount.getEstimatedHeapBytes());
+        assertEquals(0, metrics.getFoodProductCount());
+        assertEquals(0, metrics.getCosmeticProductCount());
+        assertEquals(0, metrics.getEstimatedHeapBytes());
+
+        supermarketList.setMetrics(null);
+        assertEquals(0, recount.getEstimatedHeapBytes());
+    }
+
+    @Test
+    void throughput_IsAmountPerSecondSpent() {
+        assertEquals(0, metrics.getRowsImportedPerSecond());
+        metrics.recordImport(1000, 500_000_000L);
+        metrics.recordImport(1000, 500_000_000L);
+        assertEquals(2000, metrics.getRowsImported());
+        assertEquals(2000.0, metrics.getRowsImportedPerSecond(), 0.001);
+        metrics.recordExport(4096, 2_000_000_000L);
+        assertEquals(4096, metrics.getExportBytes());
+        assertEquals(2048.0, metrics.getExportBytesPerSecond(), 0.001);
+        metrics.resetCounters();
+        assertEquals(0, metrics.getRowsImported());
+        assertEquals(0, metrics.getExportBytesPerSecond());
+    }
+
+    @Test
+    void lookupPercentiles_AreReadFromTheHistogram() {
+        assertEquals(0, metrics.getLookupLatencyP50Micros());
+        for (int i = 0; i < 90; i++) {
+            metrics.recordLookup(1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            metrics.recordLookup(100_000);
+        }
+        metrics.recordLookup(0);
+        assertEquals(101, metrics.getLookupCount());
+        // 1000 ns está en el cubo [512, 1024) y 100000 ns en [65536, 131072)
+        assertEquals(1.024, metrics.getLookupLatencyP50Micros(), 0.0001);
+        assertEquals(131.072, metrics.getLookupLatencyP95Micros(), 0.0001);
+        assertEquals(131.072, metrics.getLookupLatencyP99Micros(), 0.0001);
+    }
+
+    @Test
+    void lookForSupermarket_WithMetrics_IsRecorded() {
+        supermarketList.lookForSupermarket("Super One", "Barcelona");
+        assertEquals(0, metrics.getLookupCount());
+        supermarketList.setMetrics(metrics);
+        supermarketList.lookForSupermarket("Super One", "Barcelona");
+        supermarketList.lookForSupermarket("Super One", "Girona");
+        assertEquals(2, metrics.getLookupCount());
+        assertTrue(metrics.getLookupLatencyP99Micros() > 0);
+    }
+
+    @Test
+    void register_PublishesTheAttributes() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Constants.METRICS_OBJECT_NAME);
+        supermarketList.setMetrics(metrics);
+        metrics.register();
+        new CatalogueMetrics(supermarketList).register();
+        metrics.register();
+        assertEquals(2, server.getAttribute(name, "SupermarketCount"));
+        assertEquals(1L, server.getAttribute(name, "FoodProductCount"));
+        metrics.recordLookup(10);
+        assertEquals(1L, server.getAttribute(name, "LookupCount"));
+        server.invoke(name, "resetCounters", null, null);
+        assertEquals(0L, server.getAttribute(name, "LookupCount"));
+        metrics.unregister();
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueRouterTest {
+
+    private final List<CatalogueShardServer> servers = new ArrayList<>();
+    private final List<SupermarketList> shardLists = new ArrayList<>();
+    private CatalogueRouter router;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        router = new CatalogueRouter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+        for (CatalogueShardServer server : servers) {
+            server.stop();
+        }
+    }
+
+    private int startShard() throws IOException {
+        SupermarketList list = new SupermarketList();
+        CatalogueShardServer server = new CatalogueShardServer(list, 0);
+        server.start();
+        servers.add(server);
+        shardLists.add(list);
+        return server.getPort();
+    }
+
+    private static Supermarket supermarket(int i) {
+        Supermarket supermarket = new Supermarket("Super " + i, "City " + (i % 7), 2.0f, 41.0f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, i, "BrandX"));
+        return supermarket;
+    }
+
+    @Test
+    void calls_NoShards_ThrowException() {
+        assertThrows(IllegalStateException.class, () -> router.lookForSupermarket("Super 1", "City 1"));
+    }
+
+    @Test
+    void addShard_SamePortTwice_ThrowsException() throws IOException {
+        int port = startShard();
+        router.addShard(port);
+        assertThrows(IllegalArgumentException.class, () -> router.addShard(port));
+    }
+
+    @Test
+    void calls_AreForwardedToTheOwner() throws IOException {
+        router.addShard(startShard());
+        router.addShard(startShard());
+        for (int i = 0; i < 50; i++) {
+            router.addSupermarket(supermarket(i));
+        }
+        assertEquals(50, shardLists.get(0).getSize() + shardLists.get(1).getSize());
+        assertTrue(shardLists.get(0).getSize() > 0 && shardLists.get(1).getSize() > 0);
+
+        int owner = router.getShardPort("Super 3", "City 3");
+        assertNotNull(shardLists.get(servers.get(0).getPort() == owner ? 0 : 1).lookForSupermarket("Super 3", "City 3"));
+        assertEquals("Super 3,City 3,2.0000000,41.0000000", router.lookForSupermarket("Super 3", "City 3"));
+        assertNull(router.lookForSupermarket("Super 3", "City 4"));
+        assertEquals("Shampoo,10.00,3,COSMETIC,BrandX", router.getProduct("Super 3", "City 3", "Shampoo"));
+        assertNull(router.getProduct("Super 3", "City 3", "Soap"));
+        assertEquals(7.5f, router.applyDiscountToProduct("Super 3", "City 3", "Shampoo", 25), 0.001f);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> router.applyDiscountToProduct("Super 3", "City 3", "Soap", 25));
+        assertEquals(Constants.ERROR_PRODUCT_NOT_FOUND, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class,
+                () -> router.applyDiscountToProduct("Super 3", "City 3", "Shampoo", 250));
+        assertEquals(Constants.ERROR_BASE_DISCOUNT_OUT_OF_RANGE, e.getMessage());
+    }
+
+    @Test
+    void addShard_MovesOnlyTheSupermarketsItNowOwns() throws IOException {
+        assertEquals(0, router.addShard(startShard()));
+        for (int i = 0; i < 200; i++) {
+            router.addSupermarket(supermarket(i));
+        }
+        int moved = router.addShard(startShard());
+        assertEquals(shardLists.get(1).getSize(), moved);
+        assertTrue(moved > 0 && moved < 200);
+
+        int first = shardLists.get(0).getSize();
+        int second = shardLists.get(1).getSize();
+        moved = router.addShard(startShard());
+        int third = shardLists.get(2).getSize();
+        assertEquals(third, moved);
+        assertEquals(third, first - shardLists.get(0).getSize() + second - shardLists.get(1).getSize());
+        assertEquals(200, shardLists.get(0).getSize() + shardLists.get(1).getSize() + third);
+        for (int i = 0; i < 200; i++) {
+            Supermarket expected = supermarket(i);
+            int owner = router.getShardPort(expected.getName(), expected.getCity());
+            int index = servers.get(0).getPort() == owner ? 0 : servers.get(1).getPort() == owner ? 1 : 2;
+            Supermarket actual = shardLists.get(index).lookForSupermarket(expected.getName(), expected.getCity());
+            assertNotNull(actual);
+            assertEquals(i, actual.getProduct("Shampoo").getStock());
+        }
+    }
+
+    @Test
+    void shardProcesses_ServeTheRouter() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            List<Process> processes = new ArrayList<>();
+            try {
+                for (int i = 0; i < 2; i++) {
+                    Process process = new ProcessBuilder(
+                            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                            "-cp", System.getProperty("java.class.path"),
+                            "EAC7S22425", Constants.SHARD_MODE_ARGUMENT, "0")
+                            .redirectErrorStream(true).start();
+                    processes.add(process);
+                    BufferedReader output = new BufferedReader(
+                            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                    String line;
+                    do {
+                        line = output.readLine();
+                        assertNotNull(line);
+                    } while (!line.matches(".*\\d.*"));
+                    router.addShard(Integer.parseInt(line.replaceAll(".*\\D(\\d+)\\D*$", "$1")));
+                    if (i == 0) {
+                        for (int s = 0; s < 30; s++) {
+                            router.addSupermarket(supermarket(s));
+                        }
+                    }
+                }
+                for (int s = 0; s < 30; s++) {
+                    assertEquals("Shampoo,10.00," + s + ",COSMETIC,BrandX",
+                            router.getProduct("Super " + s, "City " + (s % 7), "Shampoo"));
+                }
+            } finally {
+                for (Process process : processes) {
+                    process.destroy();
+                }
+            }
+        });
+    }
+}
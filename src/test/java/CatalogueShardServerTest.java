@@ -0,0 +1,119 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueShardServerTest {
+
+    private SupermarketList supermarketList;
+    private CatalogueShardServer server;
+    private Socket socket;
+    private Utf8LineReader in;
+    private Writer out;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        supermarketList = new SupermarketList();
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.5f, 41.5f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        server = new CatalogueShardServer(supermarketList, 0);
+        server.start();
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        in = new Utf8LineReader(socket.getInputStream());
+        out = new Utf8Writer(socket.getOutputStream());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        socket.close();
+        server.stop();
+    }
+
+    private List<String> send(String... lines) throws IOException {
+        for (String line : lines) {
+            out.append(line).append('\n');
+        }
+        out.flush();
+        List<String> answer = new ArrayList<>();
+        String status = in.readLine();
+        answer.add(status);
+        if (status.startsWith("OK ")) {
+            for (int i = Integer.parseInt(status.substring(3)); i > 0; i--) {
+                answer.add(in.readLine());
+            }
+        }
+        return answer;
+    }
+
+    @Test
+    void constructor_NullList_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueShardServer(null, 0));
+    }
+
+    @Test
+    void lookupAndProduct_Existing_AnswerTheLines() throws IOException {
+        assertEquals(List.of("OK 1", "Super One,Barcelona,2.5000000,41.5000000"),
+                send("LOOKUP,Super One,Barcelona"));
+        assertEquals(List.of("OK 1", "Shampoo,10.00,5,COSMETIC,BrandX"), send("PRODUCT,Super One,Barcelona,Shampoo"));
+        assertEquals(List.of("OK 1", "9.0"), send("DISCOUNT,Super One,Barcelona,Shampoo,10"));
+    }
+
+    @Test
+    void requests_MissingOrInvalid_AnswerNotFoundOrError() throws IOException {
+        assertEquals(List.of("NOT_FOUND " + Constants.ERROR_SUPERMARKET_NOT_FOUND), send("LOOKUP,Super One,Girona"));
+        assertEquals(List.of("NOT_FOUND " + Constants.ERROR_PRODUCT_NOT_FOUND), send("PRODUCT,Super One,Barcelona,Soap"));
+        assertEquals(List.of("ERROR " + Constants.ERROR_BASE_DISCOUNT_OUT_OF_RANGE),
+                send("DISCOUNT,Super One,Barcelona,Shampoo,150"));
+        assertEquals(List.of("ERROR " + Constants.ERROR_BATCH_WRONG_FIELDS), send("LOOKUP,Super One"));
+        assertEquals(List.of("ERROR " + Constants.ERROR_BATCH_UNKNOWN_COMMAND), send("DROP"));
+    }
+
+    @Test
+    void getPutRemoveKeys_MoveASupermarket() throws IOException {
+        List<String> copy = send("GET,Super One,Barcelona");
+        assertEquals(List.of("OK 3", "Super One,Barcelona,2.5000000,41.5000000", "#STORE,Super One,Barcelona",
+                "Shampoo,10.00,5,COSMETIC,BrandX"), copy);
+        assertEquals(List.of("OK 0"), send("REMOVE,Super One,Barcelona"));
+        assertEquals(List.of("OK 0"), send("KEYS"));
+
+        List<String> put = new ArrayList<>(copy.subList(1, 4));
+        put.set(0, "Super Two,Girona,2.8214000,41.9794000");
+        put.set(1, "#STORE,Super Two,Girona");
+        put.add(0, "PUT,3");
+        assertEquals(List.of("OK 0"), send(put.toArray(new String[0])));
+        assertEquals(List.of("OK 1", "Super Two,Girona"), send("KEYS"));
+        assertTrue(supermarketList.lookForSupermarket("Super Two", "Girona").hasProduct("Shampoo"));
+        assertNull(supermarketList.lookForSupermarket("Super One", "Barcelona"));
+    }
+
+    @Test
+    void put_RejectedRow_LeavesTheListUnchanged() throws IOException {
+        assertEquals(List.of("ERROR " + Constants.ERROR_IMPORT_NOT_A_NUMBER),
+                send("PUT,4", "Super Two,Girona,2.8214000,41.9794000", "#STORE,Super Two,Girona",
+                        "Soap,3.00,2,COSMETIC,BrandY", "Gel,abc,1,COSMETIC,BrandY"));
+        assertEquals(List.of("ERROR " + Constants.ERROR_IMPORT_NOT_A_NUMBER),
+                send("PUT,4", "Super One,Barcelona,2.5000000,41.5000000", "#STORE,Super One,Barcelona",
+                        "Shampoo,12.00,9,COSMETIC,BrandX", "Gel,abc,1,COSMETIC,BrandY"));
+        assertEquals(List.of("OK 1", "Super One,Barcelona"), send("KEYS"));
+        assertEquals(List.of("OK 1", "Shampoo,10.00,5,COSMETIC,BrandX"), send("PRODUCT,Super One,Barcelona,Shampoo"));
+    }
+
+    @Test
+    void discount_NotANumber_AnswersError() throws IOException {
+        assertEquals(List.of("ERROR " + Constants.ERROR_IMPORT_NOT_A_NUMBER),
+                send("DISCOUNT,Super One,Barcelona,Shampoo,abc"));
+    }
+}
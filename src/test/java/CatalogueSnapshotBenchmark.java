@@ -0,0 +1,90 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures how long a {@link CatalogueSnapshot} keeps the list locked: taking
+ * the snapshot, compared with deep-copying every supermarket as a full copy
+ * would, and the longest wait of a thread that keeps changing the list while
+ * the snapshot is written.
+ * <p>
+ * Run with {@code java CatalogueSnapshotBenchmark [stores] [productsPerStore]
+ * [rounds]} from the test classpath. It is not a unit test and is not run by
+ * the build.
+ * </p>
+ */
+public class CatalogueSnapshotBenchmark {
+
+    private static final int DEFAULT_STORES = 10_000;
+    private static final int DEFAULT_PRODUCTS_PER_STORE = 100;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final String DIRECTORY = "benchmark_snapshot";
+
+    public static void main(String[] args) throws Exception {
+        Locale.setDefault(Locale.US);
+        int stores = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STORES;
+        int products = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PRODUCTS_PER_STORE;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+        SupermarketList list = new SupermarketList();
+        for (int s = 0; s < stores; s++) {
+            Supermarket supermarket = new Supermarket("Super " + s, "City " + s % 50, 2.0f, 41.0f);
+            for (int p = 0; p < products; p++) {
+                supermarket.addProduct(new CosmeticProduct("Product " + p, 1.0f + p, p, "Brand"));
+            }
+            list.addSupermarket(supermarket);
+        }
+        FileUtils fu = new FileUtils(DIRECTORY);
+
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            int copied = 0;
+            synchronized (list) {
+                for (Supermarket supermarket : list) {
+                    copied += supermarket.copy().products.size();
+                }
+            }
+            long deepCopy = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CatalogueSnapshot snapshot = CatalogueSnapshot.of(list);
+            long taken = System.nanoTime() - start;
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            long[] longestWait = new long[1];
+            int[] changes = new int[1];
+            Thread writer = new Thread(() -> {
+                int i = 0;
+                while (running.get()) {
+                    long waitStart = System.nanoTime();
+                    synchronized (list) {
+                        longestWait[0] = Math.max(longestWait[0], System.nanoTime() - waitStart);
+                        list.lookForSupermarket("Super " + i % stores, "City " + i % stores % 50)
+                                .getProduct("Product " + i % products).setStock(i);
+                    }
+                    changes[0]++;
+                    i += 7;
+                    Thread.yield();
+                }
+            });
+            writer.start();
+            long written;
+            start = System.nanoTime();
+            try {
+                snapshot.writeFiles(fu, "markets.txt", "products.txt");
+                written = System.nanoTime() - start;
+            } finally {
+                running.set(false);
+                writer.join();
+            }
+
+            System.out.printf("Round %d: deep copy %7.1f ms | snapshot taken %6.2f ms | written %7.1f ms"
+                    + " | longest wait while writing %6.2f ms (%d changes, %d products)%n", round,
+                    deepCopy / 1e6, taken / 1e6, written / 1e6, longestWait[0] / 1e6, changes[0], copied);
+        }
+        Files.deleteIfExists(Path.of(fu.getFilePath("markets.txt")));
+        Files.deleteIfExists(Path.of(fu.getFilePath("products.txt")));
+        new File(fu.getDataDirectory()).delete();
+    }
+}
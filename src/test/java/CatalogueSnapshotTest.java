@@ -0,0 +1,181 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogueSnapshotTest {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_snapshot";
+
+    private SupermarketList supermarketList;
+    private Supermarket supermarket;
+    private FileUtils fu;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        supermarketList = new SupermarketList();
+        supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        fu = new FileUtils(TEST_DIR_PATH);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void of_NullList_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogueSnapshot.of(null));
+    }
+
+    @Test
+    void of_LaterChanges_AreNotSeen() {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        String products = supermarket.productsToString();
+        supermarket.getProduct("Shampoo").setStock(0);
+        supermarketList.addSupermarket(new Supermarket("Super Two", "Girona", 2.8214f, 41.9794f));
+        assertEquals(1, snapshot.getSize());
+        assertEquals(products, snapshot.getSupermarkets().get(0).productsToString());
+    }
+
+    @Test
+    void writeFiles_WritesExportFormat() throws IOException {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        snapshot.writeFiles(fu, "markets.txt", "products.txt");
+        assertEquals(supermarketList.listToString(), fu.extractFileIntoString("markets.txt"));
+        StringBuilder expectedProducts = new StringBuilder(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+        supermarket.writeProductSectionTo(expectedProducts);
+        assertEquals(expectedProducts.toString(), fu.extractFileIntoString("products.txt"));
+        assertFalse(fu.fileExists(Constants.TEMP_FILE_PREFIX + "markets.txt"));
+        assertFalse(fu.fileExists(Constants.TEMP_FILE_PREFIX + "products.txt"));
+    }
+
+    private String expectedProducts(Supermarket... supermarkets) throws IOException {
+        StringBuilder expected = new StringBuilder(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+        for (Supermarket each : supermarkets) {
+            each.writeProductSectionTo(expected);
+        }
+        return expected.toString();
+    }
+
+    @Test
+    void writeFiles_ChangesAfterTheSnapshot_AreNotWritten() throws IOException {
+        Supermarket second = new Supermarket("Super Two", "Girona", 2.8214f, 41.9794f);
+        second.addProduct(new FoodProduct("Milk", 1.5f, 10, "20991231"));
+        supermarketList.addSupermarket(second);
+        String markets = supermarketList.listToString();
+        String products = expectedProducts(supermarket, second);
+
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        supermarket.getProduct("Shampoo").setPrice(12.0f);
+        supermarket.getProduct("Shampoo").decrementStock();
+        supermarket.addProduct(new CosmeticProduct("Soap", 3.0f, 1, "BrandY"));
+        ((FoodProduct) second.getProduct("Milk")).updateExpirationDate("20991130");
+        second.setLatitude(42.0f);
+        supermarketList.removeSupermarket("Super Two", "Girona");
+        supermarketList.addSupermarket(new Supermarket("Super Three", "Lleida", 0.62f, 41.61f));
+
+        snapshot.writeFiles(fu, "markets.txt", "products.txt");
+        assertEquals(markets, fu.extractFileIntoString("markets.txt"));
+        assertEquals(products, fu.extractFileIntoString("products.txt"));
+    }
+
+    @Test
+    void getSupermarkets_OnlyChangedSupermarketsAreKept() {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        Supermarket unchanged = snapshot.getSupermarkets().get(0);
+        assertNotSame(supermarket, unchanged);
+        assertNotSame(unchanged, snapshot.getSupermarkets().get(0));
+
+        supermarket.getProduct("Shampoo").setStock(0);
+        Supermarket before = snapshot.getSupermarkets().get(0);
+        assertSame(before, snapshot.getSupermarkets().get(0));
+        assertEquals(5, before.getProduct("Shampoo").getStock());
+    }
+
+    @Test
+    void merge_RowsThatChangeNothing_CopyNothing() {
+        supermarket.addProduct(new FoodProduct("Milk", 1.5f, 10, "20991231"));
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_FORMAT,
+                supermarket.mergeFoodProduct("Milk", 1.5f, 10, "2099xx31"));
+        assertNull(supermarket.mergeFoodProduct("Milk", 1.5f, 10, "20991231"));
+        assertNull(supermarket.mergeCosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        assertNotSame(snapshot.getSupermarkets().get(0), snapshot.getSupermarkets().get(0));
+
+        assertNull(supermarket.mergeCosmeticProduct("Shampoo", 10.0f, 6, "BrandX"));
+        Supermarket before = snapshot.getSupermarkets().get(0);
+        assertSame(before, snapshot.getSupermarkets().get(0));
+        assertEquals(5, before.getProduct("Shampoo").getStock());
+    }
+
+    @Test
+    void writeFiles_Twice_ThrowsException() throws IOException {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        snapshot.writeFiles(fu, "markets.txt", "products.txt");
+        assertThrows(IllegalStateException.class, () -> snapshot.writeFiles(fu, "markets.txt", "products.txt"));
+        assertThrows(IllegalStateException.class, snapshot::getSupermarkets);
+    }
+
+    @Test
+    void release_StopsCopyingForTheSnapshot() {
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        snapshot.release();
+        snapshot.release();
+        supermarket.getProduct("Shampoo").setStock(0);
+        assertThrows(IllegalStateException.class, () -> snapshot.writeFiles(fu, "markets.txt", "products.txt"));
+    }
+
+    @Test
+    void writeFiles_WhileTheListChanges_WritesTheListAsItWas() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            Supermarket other = new Supermarket("Super " + i, "City " + i % 5, 2.0f, 41.0f);
+            for (int p = 0; p < 20; p++) {
+                other.addProduct(new CosmeticProduct("Product " + p, 1.0f + p, p, "Brand"));
+            }
+            supermarketList.addSupermarket(other);
+        }
+        String markets = supermarketList.listToString();
+        StringBuilder products = new StringBuilder(Constants.PRODUCTS_FORMAT_HEADER).append('\n');
+        for (Supermarket each : supermarketList) {
+            each.writeProductSectionTo(products);
+        }
+
+        CatalogueSnapshot snapshot = CatalogueSnapshot.of(supermarketList);
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 500; i += 7) {
+                    synchronized (supermarketList) {
+                        Supermarket other = supermarketList.lookForSupermarket("Super " + i, "City " + i % 5);
+                        other.getProduct("Product " + round).setStock(1000 + round);
+                        other.getProduct("Product 0").setPrice(50.0f + round);
+                    }
+                }
+            }
+        });
+        writer.start();
+        snapshot.writeFiles(fu, "markets.txt", "products.txt");
+        writer.join();
+
+        assertEquals(markets, fu.extractFileIntoString("markets.txt"));
+        assertEquals(products.toString(), fu.extractFileIntoString("products.txt"));
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ConsoleReaderTest {
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    private static ConsoleReader reader(String input) {
+        return new ConsoleReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readLine_DifferentTerminators_ReturnsEachLine() {
+        ConsoleReader reader = reader("one\ntwo\r\nthree\rfour");
+        assertEquals("one", reader.readLine());
+        assertEquals("two", reader.readLine());
+        assertEquals("three", reader.readLine());
+        assertEquals("four", reader.readLine());
+        assertThrows(NoSuchElementException.class, reader::readLine);
+    }
+
+    @Test
+    void readLine_EmptyLine_ReturnsEmptyString() {
+        ConsoleReader reader = reader("\nDía\n");
+        assertEquals("", reader.readLine());
+        assertEquals("Día", reader.readLine());
+    }
+
+    @Test
+    void nextToken_SkipsWhitespaceAndLineBreaks() {
+        ConsoleReader reader = reader("  first \n\n second\tthird\nrest of line\nnext");
+        assertEquals("first", reader.nextToken());
+        assertEquals("second", reader.nextToken());
+        assertEquals("third", reader.nextToken());
+        assertEquals("rest", reader.nextToken());
+        reader.skipLine();
+        assertEquals("next", reader.readLine());
+        assertThrows(NoSuchElementException.class, reader::nextToken);
+    }
+
+    @Test
+    void sharedReader_KeepsBufferedInputBetweenCalls() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            input.append(i).append('\n');
+        }
+        ConsoleReader reader = reader(input.toString());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(String.valueOf(i), reader.nextToken());
+            reader.skipLine();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "6", "-6", "+6", "2147483647", "-2147483648"})
+    void isInteger_ValidTokens_ReturnsTrue(String token) {
+        assertTrue(ConsoleReader.isInteger(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "6.3", "abc", "2147483648", "-2147483649", "99999999999999999999"})
+    void isInteger_InvalidTokens_ReturnsFalse(String token) {
+        assertFalse(ConsoleReader.isInteger(token));
+    }
+
+    @Test
+    void normalizeDecimal_ValidAndInvalidTokens() {
+        assertEquals("6.3", ConsoleReader.normalizeDecimal("6.3"));
+        assertEquals("-6", ConsoleReader.normalizeDecimal("-6"));
+        assertEquals(".5", ConsoleReader.normalizeDecimal(".5"));
+        assertNull(ConsoleReader.normalizeDecimal("."));
+        assertNull(ConsoleReader.normalizeDecimal("1.2.3"));
+        assertNull(ConsoleReader.normalizeDecimal("NaN"));
+        assertNull(ConsoleReader.normalizeDecimal("1f"));
+    }
+
+    @Test
+    void normalizeDecimal_LocaleSeparator_ConvertedToDot() {
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            assertEquals("6.3", ConsoleReader.normalizeDecimal("6,3"));
+        } finally {
+            Locale.setDefault(Locale.US);
+        }
+    }
+}
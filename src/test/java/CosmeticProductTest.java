@@ -1,7 +1,10 @@
+import java.io.IOException;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -115,6 +118,14 @@ public class CosmeticProductTest {
         assertEquals(expected, product.toString());
     }
 
+    @Test
+    void writeTo_ValidProduct_WritesSameAsToString() throws IOException {
+        CosmeticProduct product = new CosmeticProduct(VALID_NAME, VALID_PRICE, VALID_STOCK, VALID_BRAND);
+        StringBuilder sb = new StringBuilder();
+        product.writeTo(sb);
+        assertEquals(product.toString(), sb.toString());
+    }
+
     /**
      * Test of setPrice method, of class CosmeticProduct (inherited from Product).
      */
@@ -141,4 +152,21 @@ public class CosmeticProductTest {
         CosmeticProduct product = new CosmeticProduct(VALID_NAME, VALID_PRICE, 1, VALID_BRAND);
         assertTrue(product.thereIsStock());
     }
-}
\ No newline at end of file
+
+    @Test
+    void create_ValidParameters_ReturnsProduct() {
+        ValidationResult<CosmeticProduct> result = CosmeticProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, VALID_BRAND);
+        assertTrue(result.isValid());
+        assertNull(result.getError());
+        assertEquals(VALID_BRAND, result.getValue().getBrand());
+    }
+
+    @Test
+    void create_InvalidParameters_ReturnsError() {
+        assertEquals(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY, CosmeticProduct.create("", VALID_PRICE, VALID_STOCK, VALID_BRAND).getError());
+        assertEquals(Constants.ERROR_STOCK_NEGATIVE, CosmeticProduct.create(VALID_NAME, VALID_PRICE, -1, VALID_BRAND).getError());
+        assertEquals(Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY, CosmeticProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, null).getError());
+        assertEquals(Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY, CosmeticProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, "").getError());
+        assertFalse(CosmeticProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, null).isValid());
+    }
+}
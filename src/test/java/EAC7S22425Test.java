@@ -0,0 +1,189 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EAC7S22425Test {
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_import";
+    private static final String VALID_DATE = LocalDate.now().plusDays(30).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+    private EAC7S22425 program;
+    private FileUtils fu;
+    private UtilsIO io;
+    private SupermarketList supermarketList;
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        program = new EAC7S22425();
+        fu = new FileUtils(TEST_DIR_PATH);
+        io = new UtilsIO();
+        supermarketList = new SupermarketList();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.setOut(originalOut);
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private ImportReport importFiles(String markets, String products) {
+        fu.createFileFromString(program.marketFileName, markets);
+        fu.createFileFromString(program.productsFileName, products);
+        return program.importSupermarkets(io, fu, supermarketList);
+    }
+
+    @Test
+    void importSupermarkets_MissingFiles_ReturnsNull() {
+        assertNull(program.importSupermarkets(io, fu, supermarketList));
+    }
+
+    @Test
+    void importSupermarkets_ValidRows_ImportsEverything() {
+        ImportReport report = importFiles("Super One,Barcelona,2.1734000,41.3851000\n",
+                "Super One,Barcelona,Shampoo,10.00,5,COSMETIC,BrandX\n"
+                        + "Super One,Barcelona,Milk,1.20,10,FOOD," + VALID_DATE + "\n");
+        assertEquals(3, report.getImportedCount());
+        assertEquals(0, report.getRejectedCount());
+        Supermarket supermarket = supermarketList.lookForSupermarket("Super One", "Barcelona");
+        assertNotNull(supermarket);
+        assertEquals(2, supermarket.getProducts().size());
+    }
+
+    @Test
+    void importSupermarkets_BadRows_AreReportedWithLineNumbers() {
+        ImportReport report = importFiles("Super One,Barcelona,2.17,41.38\nBroken\nSuper Two,Girona,x,41.9\n",
+                "Super One,Barcelona,Shampoo,10.00,5,COSMETIC,BrandX\n"
+                        + "Super One,Barcelona,Soap,abc,5,COSMETIC,BrandX\n"
+                        + "Super One,Barcelona,Gel,2.00,5,TOY,BrandX\n"
+                        + "Super One,Barcelona,Cream,2.00\n");
+        assertEquals(2, report.getImportedCount());
+        assertEquals(5, report.getRejectedCount());
+        String summary = report.summary();
+        assertTrue(summary.contains(String.format(Constants.ERROR_IMPORT_ROW, program.marketFileName, 2,
+                Constants.ERROR_IMPORT_WRONG_FIELDS)));
+        assertTrue(summary.contains(String.format(Constants.ERROR_IMPORT_ROW, program.marketFileName, 3,
+                Constants.ERROR_IMPORT_NOT_A_NUMBER)));
+        assertTrue(summary.contains(String.format(Constants.ERROR_IMPORT_ROW, program.productsFileName, 2,
+                Constants.ERROR_IMPORT_NOT_A_NUMBER)));
+        assertTrue(summary.contains(String.format(Constants.ERROR_IMPORT_ROW, program.productsFileName, 4,
+                Constants.ERROR_IMPORT_WRONG_FIELDS)));
+        assertEquals(1, supermarketList.getSize());
+    }
+
+    @Test
+    void importSupermarkets_ExpiredFood_IsRestored() {
+        String pastDate = LocalDate.now().minusDays(30).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        ImportReport report = importFiles("Super One,Barcelona,2.17,41.38\n",
+                "Super One,Barcelona,Milk,1.20,10,FOOD," + pastDate + "\n");
+        assertEquals(0, report.getRejectedCount());
+        Product milk = supermarketList.lookForSupermarket("Super One", "Barcelona").getProduct("Milk");
+        assertTrue(((FoodProduct) milk).isExpired());
+    }
+
+    @Test
+    void exportAndImport_CompressedFiles_RoundTrip() {
+        program.marketFileName += Constants.COMPRESSED_FILE_EXTENSION;
+        program.productsFileName += Constants.COMPRESSED_FILE_EXTENSION;
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarket.addProduct(new FoodProduct("Milk", 1.2f, 10, VALID_DATE));
+        supermarketList.addSupermarket(supermarket);
+        program.exportSupermarkets(io, fu, supermarketList);
+
+        SupermarketList imported = new SupermarketList();
+        ImportReport report = program.importSupermarkets(io, fu, imported);
+        assertEquals(0, report.getRejectedCount());
+        assertEquals(supermarketList.listToString(), imported.listToString());
+        assertEquals(supermarket.productsToString(),
+                imported.lookForSupermarket("Super One", "Barcelona").productsToString());
+    }
+
+    @Test
+    void importSupermarkets_SectionedFormat_ImportsRowsOfEachStore() {
+        ImportReport report = importFiles("Super One,Barcelona,2.17,41.38\nSuper Two,Girona,2.82,41.98\n",
+                Constants.PRODUCTS_FORMAT_HEADER + "\n"
+                        + Constants.PRODUCTS_STORE_PREFIX + "Super One,Barcelona\n"
+                        + "Shampoo,10.00,5,COSMETIC,BrandX\n"
+                        + "Milk,1.20,10,FOOD," + VALID_DATE + "\n"
+                        + Constants.PRODUCTS_STORE_PREFIX + "Unknown,Nowhere\n"
+                        + "Ghost,1.00,1,COSMETIC,BrandX\n"
+                        + Constants.PRODUCTS_STORE_PREFIX + "Super Two,Girona\n"
+                        + "Soap,abc,5,COSMETIC,BrandX\n"
+                        + "Gel,2.00,5,COSMETIC,BrandY\n");
+        assertEquals(5, report.getImportedCount());
+        assertEquals(1, report.getRejectedCount());
+        assertTrue(report.summary().contains(String.format(Constants.ERROR_IMPORT_ROW, program.productsFileName, 8,
+                Constants.ERROR_IMPORT_NOT_A_NUMBER)));
+        assertEquals(2, supermarketList.lookForSupermarket("Super One", "Barcelona").getProducts().size());
+        assertTrue(supermarketList.lookForSupermarket("Super Two", "Girona").hasProduct("Gel"));
+    }
+
+    @Test
+    void exportSupermarkets_WritesSectionedFormat() {
+        Supermarket supermarket = new Supermarket("Super One", "Barcelona", 2.1734f, 41.3851f);
+        supermarket.addProduct(new CosmeticProduct("Shampoo", 10.0f, 5, "BrandX"));
+        supermarketList.addSupermarket(supermarket);
+        program.exportSupermarkets(io, fu, supermarketList);
+        assertEquals(Constants.PRODUCTS_FORMAT_HEADER + "\n" + Constants.PRODUCTS_STORE_PREFIX + "Super One,Barcelona\n"
+                + "Shampoo,10.00,5,COSMETIC,BrandX\n", fu.extractFileIntoString(program.productsFileName));
+    }
+
+    /**
+     * Runs the program with some arguments that make it stop before starting,
+     * and returns what it shows.
+     */
+    private static String mainOutput(String... args) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        EAC7S22425.main(args);
+        return output.toString();
+    }
+
+    @Test
+    void main_CompressionLevelOutOfRange_ShowsError() {
+        String error = Constants.ERROR_COMPRESSION_LEVEL.substring(0, 10);
+        assertTrue(mainOutput(Constants.COMPRESS_ARGUMENT, "12").contains(error));
+        assertTrue(mainOutput(Constants.COMPRESS_ARGUMENT, "0").contains(error));
+        assertTrue(mainOutput(Constants.COMPRESS_ARGUMENT, "-2").contains(error));
+    }
+
+    @Test
+    void main_HttpPortInvalid_ShowsError() {
+        String error = Constants.ERROR_HTTP_PORT.substring(0, 10);
+        assertTrue(mainOutput(Constants.HTTP_MODE_ARGUMENT, "abc").contains(error));
+        assertTrue(mainOutput(Constants.HTTP_MODE_ARGUMENT, "65536").contains(error));
+        assertTrue(mainOutput(Constants.HTTP_MODE_ARGUMENT, "-1").contains(error));
+    }
+
+    @Test
+    void parsePort_ChecksTheRange() {
+        assertEquals(0, EAC7S22425.parsePort("0", 0));
+        assertEquals(65535, EAC7S22425.parsePort("65535", 1));
+        assertEquals(-1, EAC7S22425.parsePort("0", 1));
+        assertEquals(-1, EAC7S22425.parsePort("65536", 0));
+        assertEquals(-1, EAC7S22425.parsePort("-5", 0));
+        assertEquals(-1, EAC7S22425.parsePort("abc", 0));
+    }
+}
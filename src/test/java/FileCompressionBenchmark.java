@@ -0,0 +1,70 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Compares writing and reading a generated products file through
+ * {@link FileUtils} uncompressed and compressed with gzip at several levels,
+ * reporting the throughput and the size on disk.
+ * <p>
+ * Run with {@code java FileCompressionBenchmark [rows] [rounds]} from the test
+ * classpath. It is not a unit test and is not run by the build.
+ * </p>
+ */
+public class FileCompressionBenchmark {
+
+    private static final int DEFAULT_ROWS = 2_000_000;
+    private static final int DEFAULT_ROUNDS = 3;
+    private static final String DIRECTORY = "benchmark_data";
+
+    public static void main(String[] args) throws IOException {
+        Locale.setDefault(Locale.US);
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        FileUtils fu = new FileUtils(DIRECTORY);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                System.out.println("Round " + round + " (" + rows + " rows)");
+                run(fu, "products.txt", Deflater.DEFAULT_COMPRESSION, rows);
+                run(fu, "products.txt.gz", Deflater.BEST_SPEED, rows);
+                run(fu, "products.txt.gz", Deflater.DEFAULT_COMPRESSION, rows);
+                run(fu, "products.txt.gz", Deflater.BEST_COMPRESSION, rows);
+            }
+        } finally {
+            for (String name : new String[] {"products.txt", "products.txt.gz"}) {
+                Files.deleteIfExists(Path.of(fu.getFilePath(name)));
+            }
+            new File(fu.getDataDirectory()).delete();
+        }
+    }
+
+    private static void run(FileUtils fu, String fileName, int level, int rows) throws IOException {
+        fu.setCompressionLevel(level);
+        long start = System.nanoTime();
+        long bytes = 0;
+        try (Writer writer = fu.openWriter(fileName)) {
+            for (int i = 0; i < rows; i++) {
+                String line = "Super " + (i % 500) + ",City " + (i % 40) + ",Product " + i + ","
+                        + (1 + i % 100) + ".99," + (i % 50) + ",FOOD,20301231\n";
+                bytes += line.length();
+                writer.write(line);
+            }
+        }
+        long written = System.nanoTime();
+        long lines = 0;
+        try (Utf8LineReader reader = fu.openReader(fileName)) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        long read = System.nanoTime();
+        long size = Files.size(Path.of(fu.getFilePath(fileName)));
+        System.out.printf("  %-16s level %2d: write %7.1f MB/s, read %7.1f MB/s, %6.1f MB on disk (%.1f%%), %d lines%n",
+                fileName, level, bytes / 1e6 / ((written - start) / 1e9), bytes / 1e6 / ((read - written) / 1e9),
+                size / 1e6, 100.0 * size / bytes, lines);
+    }
+}
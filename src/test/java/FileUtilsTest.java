@@ -4,10 +4,13 @@
  */
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Locale;
+import java.util.zip.Deflater;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -402,4 +405,73 @@ public class FileUtilsTest {
         assertThrows(IllegalArgumentException.class, () -> fu.createFileFromString(filename, null), ERROR_CONTENT_NULL);
     }
 
-  }
\ No newline at end of file
+  
+    @Test
+    void testOpenWriter_WritesFile() throws IOException {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        try (Writer writer = fu.openWriter("stream.txt")) {
+            writer.write("line1\nline2\n");
+        }
+        assertEquals("line1\nline2\n", fu.extractFileIntoString("stream.txt"));
+        assertThrows(IllegalArgumentException.class, () -> fu.openWriter(""));
+    }
+
+    @Test
+    void testReplaceFile_ReplacesTarget() throws IOException {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        fu.createFileFromString("target.txt", "old\n");
+        fu.createFileFromString("source.txt", "new\n");
+        fu.replaceFile("source.txt", "target.txt");
+        assertFalse(fu.fileExists("source.txt"));
+        assertEquals("new\n", fu.extractFileIntoString("target.txt"));
+    }
+
+    @Test
+    void testCompressedFile_RoundTripsThroughGzip() throws IOException {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("Super One,Barcelona,Product ").append(i).append(",1.00,5,COSMETIC,BrandX\n");
+        }
+        fu.createFileFromString("products.txt.gz", content.toString());
+        byte[] bytes = Files.readAllBytes(Path.of(fu.getFilePath("products.txt.gz")));
+        assertEquals((byte) 0x1f, bytes[0]); // gzip magic number
+        assertEquals((byte) 0x8b, bytes[1]);
+        assertTrue(bytes.length < content.length() / 5);
+        assertEquals(content.toString(), fu.extractFileIntoString("products.txt.gz"));
+    }
+
+    @Test
+    void testCompressionLevel_ChangesOutputSize() throws IOException {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("Super One,Barcelona,Product ").append(i * 7919 % 10007).append(",1.00,5,FOOD,20301231\n");
+        }
+        fu.setCompressionLevel(Deflater.BEST_SPEED);
+        fu.createFileFromString("fast.txt.gz", content.toString());
+        fu.setCompressionLevel(Deflater.BEST_COMPRESSION);
+        fu.createFileFromString("best.txt.gz", content.toString());
+        assertTrue(Files.size(Path.of(fu.getFilePath("best.txt.gz"))) < Files.size(Path.of(fu.getFilePath("fast.txt.gz"))));
+        assertEquals(content.toString(), fu.extractFileIntoString("fast.txt.gz"));
+    }
+
+    @Test
+    void testSetCompressionLevel_OutOfRange_ThrowsException() {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        assertThrows(IllegalArgumentException.class, () -> fu.setCompressionLevel(0));
+        assertThrows(IllegalArgumentException.class, () -> fu.setCompressionLevel(10));
+        fu.setCompressionLevel(Deflater.DEFAULT_COMPRESSION);
+        assertEquals(Deflater.DEFAULT_COMPRESSION, fu.getCompressionLevel());
+    }
+
+    @Test
+    void testFiles_AreUtf8WhateverThePlatformCharset() throws IOException {
+        FileUtils fu = new FileUtils(TEST_DIR_PATH);
+        String content = "D\u00eda,Champ\u00fa\n";
+        fu.createFileFromString("utf8.txt", content);
+        assertEquals(content, new String(Files.readAllBytes(Path.of(fu.getFilePath("utf8.txt"))),
+                StandardCharsets.UTF_8));
+        assertEquals(content, fu.extractFileIntoString("utf8.txt"));
+    }
+}
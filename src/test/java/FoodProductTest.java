@@ -1,9 +1,12 @@
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -124,6 +127,14 @@ class FoodProductTest {
         assertEquals(expected, product.toString());
     }
 
+    @Test
+    void writeTo_WritesSameAsToString() throws IOException {
+        FoodProduct product = new FoodProduct(VALID_NAME, VALID_PRICE, VALID_STOCK, VALID_DATE);
+        StringBuilder sb = new StringBuilder();
+        product.writeTo(sb);
+        assertEquals(product.toString(), sb.toString());
+    }
+
     @Test
     void getExpirationDate_ReturnsFormattedString() {
         FoodProduct product = new FoodProduct(VALID_NAME, VALID_PRICE, getCloseExpirationDate());
@@ -146,4 +157,69 @@ class FoodProductTest {
         FoodProduct overThresholdProduct = new FoodProduct(VALID_NAME, VALID_PRICE, overThresholdDate);
         assertEquals(VALID_PRICE, overThresholdProduct.applyDiscount(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void restore_PastDate_CreatesExpiredProduct() {
+        String pastDate = LocalDate.now().minusDays(10).format(DATE_FORMATTER);
+        FoodProduct product = FoodProduct.restore(VALID_NAME, VALID_PRICE, VALID_STOCK, pastDate);
+        assertEquals(pastDate, product.getExpirationDate());
+        assertEquals(VALID_STOCK, product.getStock());
+        assertTrue(product.isExpired());
+    }
+
+    @Test
+    void restore_FutureDate_IsNotExpired() {
+        assertFalse(FoodProduct.restore(VALID_NAME, VALID_PRICE, VALID_STOCK, VALID_DATE).isExpired());
+    }
+
+    @Test
+    void restore_InvalidValues_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> FoodProduct.restore(VALID_NAME, VALID_PRICE, VALID_STOCK, INVALID_DATE));
+        assertThrows(IllegalArgumentException.class,
+            () -> FoodProduct.restore(VALID_NAME, VALID_PRICE, VALID_STOCK, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> FoodProduct.restore(VALID_NAME, 0, VALID_STOCK, VALID_DATE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"20230231", "20240230", "20231231", "20230132", "20231301", "00000101", "2023010a",
+        "202301011", "2023011", "99991231"})
+    void parseDate_MatchesDateFormatter(String date) {
+        LocalDate expected;
+        try {
+            expected = LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            expected = null;
+        }
+        assertEquals(expected, FoodProduct.parseDate(date));
+    }
+
+    @Test
+    void create_ValidParameters_ReturnsProduct() {
+        ValidationResult<FoodProduct> result = FoodProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, VALID_DATE);
+        assertTrue(result.isValid());
+        assertEquals(VALID_DATE, result.getValue().getExpirationDate());
+    }
+
+    @Test
+    void create_InvalidParameters_ReturnsSameErrorAsConstructor() {
+        String pastDate = LocalDate.now().minusDays(1).format(DATE_FORMATTER);
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_PAST,
+            FoodProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, pastDate).getError());
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_FORMAT,
+            FoodProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, INVALID_DATE).getError());
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_NULL_OR_EMPTY,
+            FoodProduct.create(VALID_NAME, VALID_PRICE, VALID_STOCK, "").getError());
+        assertEquals(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO,
+            FoodProduct.create(VALID_NAME, 0, VALID_STOCK, VALID_DATE).getError());
+    }
+
+    @Test
+    void createRestored_PastDate_ReturnsExpiredProduct() {
+        String pastDate = LocalDate.now().minusDays(1).format(DATE_FORMATTER);
+        ValidationResult<FoodProduct> result = FoodProduct.createRestored(VALID_NAME, VALID_PRICE, VALID_STOCK, pastDate);
+        assertTrue(result.isValid());
+        assertTrue(result.getValue().isExpired());
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FormatUtilsTest {
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    @AfterEach
+    void tearDown() {
+        Locale.setDefault(Locale.US);
+    }
+
+    private static String fixed(float value, int decimals) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        FormatUtils.appendFixed(sb, value, decimals);
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {0f, -0f, 1.2f, 8.99f, 0.125f, 0.005f, 1.005f, 2.675f, 99.995f, -3.7037899f,
+        40.4167747f, 1e-7f, 5e-8f, 123456.79f, 16777216f, 3.4e10f, 1e30f, Float.MIN_VALUE,
+        Float.MAX_VALUE, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY})
+    void appendFixed_SpecialValues_MatchesStringFormat(float value) throws IOException {
+        assertEquals(String.format("%.2f", value), fixed(value, 2));
+        assertEquals(String.format("%.7f", value), fixed(value, 7));
+    }
+
+    @Test
+    void appendFixed_RandomValues_MatchesStringFormat() throws IOException {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            float value = i % 2 == 0
+                    ? random.nextInt(1000000) / 100.0f + random.nextFloat() / 1000
+                    : Float.intBitsToFloat(random.nextInt());
+            int decimals = random.nextInt(9);
+            assertEquals(String.format("%." + decimals + "f", value), fixed(value, decimals), "value " + value);
+        }
+    }
+
+    @Test
+    void appendFixed_OtherLocale_UsesLocaleSeparator() throws IOException {
+        Locale.setDefault(Locale.GERMANY);
+        assertEquals(String.format("%.2f", 8.99f), fixed(8.99f, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 7, -42, 150, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    void appendInt_MatchesStringFormat(int value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        FormatUtils.appendInt(sb, value);
+        assertEquals(String.format("%d", value), sb.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {0f, -3.7037899f, 40.4167747f, -15.4134302f, 123456.79f, -1e20f, Float.NaN})
+    void appendFixed_WithWidth_MatchesStringFormat(float value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        FormatUtils.appendFixed(sb, value, 7, 11);
+        assertEquals(String.format("%11.7f", value), sb.toString());
+    }
+
+    @Test
+    void appendPadded_MatchesStringFormat() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        FormatUtils.appendPadded(sb, "Mercadona", 28);
+        FormatUtils.appendPadded(sb, "Las Palmas de Gran Canaria but longer", 29);
+        FormatUtils.appendPadded(sb, null, 6);
+        assertEquals(String.format("%-28s%-29s%-6s", "Mercadona", "Las Palmas de Gran Canaria but longer", null), sb.toString());
+    }
+}
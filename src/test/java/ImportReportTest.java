@@ -0,0 +1,60 @@
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImportReportTest {
+
+    private ImportReport report;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        report = new ImportReport();
+    }
+
+    @Test
+    void newReport_HasNoRejections() {
+        assertFalse(report.hasRejections());
+        assertEquals(0, report.getImportedCount());
+        assertEquals(0, report.getRejectedCount());
+    }
+
+    @Test
+    void accept_CountsImportedRows() {
+        report.accept();
+        report.accept();
+        assertEquals(2, report.getImportedCount());
+        assertFalse(report.hasRejections());
+    }
+
+    @Test
+    void reject_KeepsFileLineAndReason() {
+        report.reject("products.txt", 3, "reason");
+        assertTrue(report.hasRejections());
+        assertEquals(1, report.getRejectedCount());
+        assertEquals(String.format(Constants.ERROR_IMPORT_ROW, "products.txt", 3, "reason"),
+                report.getRejections().get(0));
+    }
+
+    @Test
+    void reject_OverCap_CountsButDoesNotKeep() {
+        int total = Constants.IMPORT_MAX_REPORTED_ERRORS + 5;
+        for (int i = 1; i <= total; i++) {
+            report.reject("products.txt", i, "reason");
+        }
+        assertEquals(total, report.getRejectedCount());
+        assertEquals(Constants.IMPORT_MAX_REPORTED_ERRORS, report.getRejections().size());
+        assertTrue(report.summary().endsWith(String.format(Constants.MESSAGE_IMPORT_MORE_ERRORS, 5)));
+    }
+
+    @Test
+    void summary_StartsWithCounts() {
+        report.accept();
+        report.reject("supermarkets.txt", 1, "reason");
+        assertTrue(report.summary().startsWith(String.format(Constants.MESSAGE_IMPORT_SUMMARY, 1, 1)));
+    }
+}
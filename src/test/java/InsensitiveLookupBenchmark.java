@@ -0,0 +1,92 @@
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Compares the lookups that ignore case and accents, which fold the keys once
+ * when they are indexed, with the exact lookups and with normalizing both
+ * sides of every comparison of a scan.
+ * <p>
+ * Run with {@code java InsensitiveLookupBenchmark [stores] [productsPerStore]
+ * [rounds]} from the test classpath. It is not a unit test and is not run by
+ * the build.
+ * </p>
+ */
+public class InsensitiveLookupBenchmark {
+
+    private static final int DEFAULT_STORES = 10_000;
+    private static final int DEFAULT_PRODUCTS_PER_STORE = 1_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int LOOKUPS = 100_000;
+    private static final int SCANS = 200;
+    private static final String[] CITIES = { "M\u00e1laga", "Le\u00f3n", "C\u00e1diz", "Barcelona", "Girona" };
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        int stores = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STORES;
+        int products = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PRODUCTS_PER_STORE;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+        SupermarketList list = SupermarketList.partitionedByCity();
+        for (int s = 0; s < stores; s++) {
+            list.addSupermarket(new Supermarket("D\u00eda " + s, CITIES[s % CITIES.length], 2.0f, 41.0f));
+        }
+        Supermarket store = new Supermarket("Super", "Girona", 2.0f, 41.0f);
+        for (int p = 0; p < products; p++) {
+            store.addProduct(new CosmeticProduct("Champ\u00fa " + p, 1.0f, 5, "Brand"));
+        }
+        list.lookForSupermarketInsensitive("dia 0", "malaga");
+        store.getProductInsensitive("champu 0");
+
+        for (int round = 1; round <= rounds; round++) {
+            int found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int s = i * 7919 % stores;
+                if (list.lookForSupermarket("D\u00eda " + s, CITIES[s % CITIES.length]) != null) {
+                    found++;
+                }
+            }
+            long exact = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                int s = i * 7919 % stores;
+                if (list.lookForSupermarketInsensitive("dia " + s, CITIES[s % CITIES.length].toUpperCase()) != null) {
+                    found++;
+                }
+                if (store.getProductInsensitive("CHAMPU " + i % products) != null) {
+                    found++;
+                }
+            }
+            long folded = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < SCANS; i++) {
+                if (scan(store, "CHAMPU " + i * 31 % products) != null) {
+                    found++;
+                }
+            }
+            long normalized = System.nanoTime() - start;
+
+            System.out.printf("Round %d: exact supermarket %6.2f us | folded supermarket + product %6.2f us"
+                    + " | normalized product scan %8.1f us (%d found)%n", round, exact / 1_000.0 / LOOKUPS,
+                    folded / 1_000.0 / LOOKUPS, normalized / 1_000.0 / SCANS, found);
+        }
+    }
+
+    /**
+     * Finds a product the way it would be done without the folded keys.
+     */
+    private static Product scan(Supermarket supermarket, String productName) {
+        String wanted = strip(productName);
+        for (Product product : supermarket.products) {
+            if (strip(product.getName()).equalsIgnoreCase(wanted)) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private static String strip(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
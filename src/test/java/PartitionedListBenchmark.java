@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Compares a flat {@link SupermarketList} with one partitioned by city on the
+ * city-scoped lookups and on the operations over the whole list: the export,
+ * the total stock and the discounted stock value.
+ * <p>
+ * Run with {@code java PartitionedListBenchmark [cities] [storesPerCity]
+ * [productsPerStore] [rounds]} from the test classpath. It is not a unit test
+ * and is not run by the build.
+ * </p>
+ */
+public class PartitionedListBenchmark {
+
+    private static final int DEFAULT_CITIES = 200;
+    private static final int DEFAULT_STORES_PER_CITY = 25;
+    private static final int DEFAULT_PRODUCTS_PER_STORE = 200;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int LOOKUPS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        Locale.setDefault(Locale.US);
+        int cities = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CITIES;
+        int stores = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STORES_PER_CITY;
+        int products = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PRODUCTS_PER_STORE;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ROUNDS;
+        SupermarketList flat = new SupermarketList();
+        SupermarketList partitioned = SupermarketList.partitionedByCity();
+        for (int s = 0; s < stores; s++) {
+            for (int c = 0; c < cities; c++) {
+                Supermarket supermarket = new Supermarket("Super " + s, "City " + c, 2.0f, 41.0f);
+                for (int p = 0; p < products; p++) {
+                    supermarket.addProduct(new CosmeticProduct("Product " + p, 1.0f + p % 100, p % 50, "Brand"));
+                }
+                flat.addSupermarket(supermarket);
+                partitioned.addSupermarket(supermarket);
+            }
+        }
+        for (int round = 1; round <= rounds; round++) {
+            System.out.println("Round " + round + " (" + flat.getSize() + " supermarkets, " + cities + " cities)");
+            run("flat       ", flat, cities, stores);
+            run("partitioned", partitioned, cities, stores);
+        }
+    }
+
+    private static void run(String label, SupermarketList list, int cities, int stores) throws IOException {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (list.lookForSupermarket("Super " + (i % stores), "City " + (i * 7 % cities)) != null) {
+                found++;
+            }
+        }
+        long lookups = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        CountingWriter markets = new CountingWriter();
+        CountingWriter products = new CountingWriter();
+        list.writeExportTo(markets, products);
+        long export = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long stock = list.getTotalStock();
+        double value = list.getDiscountedStockValue(10);
+        long aggregates = System.nanoTime() - start;
+
+        System.out.printf("  %s lookups %6.0f ns/op (%d found) | export %5d ms (%d chars) | aggregates %4d ms"
+                + " (stock %d, value %.0f)%n", label, (double) lookups / LOOKUPS, found, export / 1_000_000,
+                markets.count + products.count, aggregates / 1_000_000, stock, value);
+    }
+
+    /**
+     * A writer that only counts the characters, so the export is measured
+     * without any I/O.
+     */
+    private static final class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            count += csq.length();
+            return this;
+        }
+
+        @Override
+        public Writer append(char c) {
+            count++;
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares {@link ProductMap} with {@link HashMap} on the operations used by
+ * {@link Supermarket}: the import insert path, {@code hasProduct} and
+ * {@code getProduct}.
+ * <p>
+ * Run with {@code java ProductMapBenchmark [products] [rounds]} from the test
+ * classpath. It is not a unit test and is not run by the build.
+ * </p>
+ */
+public class ProductMapBenchmark {
+
+    private static final int DEFAULT_PRODUCTS = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PRODUCTS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        String[] names = new String[count];
+        Product[] products = new Product[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "Product " + i;
+            products[i] = new CosmeticProduct(names[i], 1.0f + i % 100, i % 50, "Brand");
+        }
+        for (int round = 1; round <= rounds; round++) {
+            System.out.println("Round " + round + " (" + count + " products)");
+            runHashMap(names, products);
+            runProductMap(names, products);
+        }
+    }
+
+    private static void runHashMap(String[] names, Product[] products) {
+        long start = System.nanoTime();
+        Map<String, Product> map = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (!map.containsKey(names[i])) {
+                map.put(names[i], products[i]);
+            }
+        }
+        long inserted = System.nanoTime();
+        int hits = 0;
+        for (String name : names) {
+            if (map.containsKey(name)) {
+                hits++;
+            }
+        }
+        long checked = System.nanoTime();
+        for (String name : names) {
+            if (map.get(name) != null) {
+                hits++;
+            }
+        }
+        long fetched = System.nanoTime();
+        report("HashMap   ", names.length, start, inserted, checked, fetched, hits);
+    }
+
+    private static void runProductMap(String[] names, Product[] products) {
+        long start = System.nanoTime();
+        ProductMap map = new ProductMap();
+        for (int i = 0; i < names.length; i++) {
+            if (!map.containsKey(names[i])) {
+                map.put(names[i], products[i]);
+            }
+        }
+        long inserted = System.nanoTime();
+        int hits = 0;
+        for (String name : names) {
+            if (map.containsKey(name)) {
+                hits++;
+            }
+        }
+        long checked = System.nanoTime();
+        for (String name : names) {
+            if (map.get(name) != null) {
+                hits++;
+            }
+        }
+        long fetched = System.nanoTime();
+        report("ProductMap", names.length, start, inserted, checked, fetched, hits);
+    }
+
+    private static void report(String label, int count, long start, long inserted, long checked, long fetched, int hits) {
+        System.out.printf("  %s insert %6.1f ns/op  hasProduct %6.1f ns/op  getProduct %6.1f ns/op  (%d hits)%n",
+                label,
+                (inserted - start) / (double) count,
+                (checked - inserted) / (double) count,
+                (fetched - checked) / (double) count,
+                hits);
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductMapTest {
+    private static final String BRAND = "Nivea";
+    private ProductMap productMap;
+
+    @BeforeEach
+    void setUp() {
+        productMap = new ProductMap();
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    private static Product product(String name) {
+        return new CosmeticProduct(name, 1.5f, 10, BRAND);
+    }
+
+    @Test
+    void get_EmptyMap_ReturnsNull() {
+        assertNull(productMap.get("Crema"));
+        assertFalse(productMap.containsKey("Crema"));
+        assertTrue(productMap.isEmpty());
+    }
+
+    @Test
+    void put_NewProduct_CanBeRetrieved() {
+        Product crema = product("Crema");
+        assertNull(productMap.put("Crema", crema));
+        assertSame(crema, productMap.get("Crema"));
+        assertTrue(productMap.containsKey("Crema"));
+        assertEquals(1, productMap.size());
+    }
+
+    @Test
+    void put_ExistingProduct_ReplacesAndReturnsPrevious() {
+        Product first = product("Crema");
+        Product second = product("Crema");
+        productMap.put("Crema", first);
+        assertSame(first, productMap.put("Crema", second));
+        assertSame(second, productMap.get("Crema"));
+        assertEquals(1, productMap.size());
+    }
+
+    @Test
+    void put_NullArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> productMap.put(null, product("Crema")));
+        assertThrows(IllegalArgumentException.class, () -> productMap.put("Crema", null));
+    }
+
+    @Test
+    void get_NullName_ReturnsNull() {
+        assertNull(productMap.get(null));
+        assertFalse(productMap.containsKey(null));
+    }
+
+    @Test
+    void remove_ExistingProduct_RemovesOnlyThatProduct() {
+        Product crema = product("Crema");
+        Product gel = product("Gel");
+        productMap.put("Crema", crema);
+        productMap.put("Gel", gel);
+        assertSame(crema, productMap.remove("Crema"));
+        assertNull(productMap.get("Crema"));
+        assertSame(gel, productMap.get("Gel"));
+        assertEquals(1, productMap.size());
+        assertNull(productMap.remove("Crema"));
+    }
+
+    @Test
+    void values_ReturnsEveryProduct() {
+        productMap.put("Crema", product("Crema"));
+        productMap.put("Gel", product("Gel"));
+        ArrayList<Product> values = productMap.values();
+        assertEquals(2, values.size());
+        int iterated = 0;
+        for (Product product : productMap) {
+            assertTrue(values.contains(product));
+            iterated++;
+        }
+        assertEquals(2, iterated);
+    }
+
+    @Test
+    void randomOperations_BehaveLikeHashMap() {
+        Map<String, Product> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String name = "Product " + random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertSame(reference.remove(name), productMap.remove(name));
+            } else {
+                Product product = product(name);
+                assertSame(reference.put(name, product), productMap.put(name, product));
+            }
+        }
+        assertEquals(reference.size(), productMap.size());
+        for (Map.Entry<String, Product> entry : reference.entrySet()) {
+            assertSame(entry.getValue(), productMap.get(entry.getKey()));
+        }
+    }
+}
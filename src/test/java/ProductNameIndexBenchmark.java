@@ -0,0 +1,94 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the prefix and substring searches of a {@link ProductNameIndex}
+ * with scanning every name, and measures how long it takes to index and
+ * remove them.
+ * <p>
+ * Run with {@code java ProductNameIndexBenchmark [names] [rounds]} from the
+ * test classpath; a million names need a heap of about 2 GB. It is not a unit
+ * test and is not run by the build.
+ * </p>
+ */
+public class ProductNameIndexBenchmark {
+
+    private static final int DEFAULT_NAMES = 1_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int QUERIES = 10_000;
+    private static final int SCANS = 20;
+    private static final int TOP = 10;
+    private static final String[] WORDS = { "Pan", "Leche", "Queso", "Aceite", "Arroz", "Pasta", "Tomate", "Yogur",
+            "Integral", "Entera", "Desnatada", "Oliva", "Virgen", "Natural", "Fresco", "Curado", "Gel", "Champu" };
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NAMES;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                    + Integer.toString(i, 36));
+        }
+        long start = System.nanoTime();
+        ProductNameIndex index = new ProductNameIndex();
+        for (String name : names) {
+            index.add(name);
+        }
+        System.out.printf("Indexed %d names in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+
+        // quitar y volver a archivar nombres cuyos trigramas comparten listas muy largas
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            String name = names.get(i * 7919 % count);
+            index.remove(name);
+            index.add(name);
+        }
+        System.out.printf("Removed and re-added %d names in %.2f us each%n", QUERIES,
+                (System.nanoTime() - start) / 1_000.0 / QUERIES);
+
+        for (int round = 1; round <= rounds; round++) {
+            long found = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < SCANS; i++) {
+                found += scan(names, "ite " + Integer.toString(i * 7919 % count, 36));
+            }
+            long scan = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                found += index.startingWith(WORDS[i % WORDS.length] + " " + WORDS[i * 7 % WORDS.length], TOP).size();
+            }
+            long prefix = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                found += index.containing("ite " + Integer.toString(i * 7919 % count, 36), TOP).size();
+            }
+            long rare = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                found += index.containing(WORDS[i % WORDS.length].substring(1), TOP).size();
+            }
+            long common = System.nanoTime() - start;
+
+            System.out.printf("Round %d: scan %7.0f us | prefix %6.2f us | rare text %6.2f us | common text %6.2f us"
+                    + " (%d found)%n", round, scan / 1_000.0 / SCANS, prefix / 1_000.0 / QUERIES,
+                    rare / 1_000.0 / QUERIES, common / 1_000.0 / QUERIES, found);
+        }
+    }
+
+    private static int scan(List<String> names, String text) {
+        int found = 0;
+        for (String name : names) {
+            if (found < TOP && name.contains(text)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
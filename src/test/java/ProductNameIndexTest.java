@@ -0,0 +1,107 @@
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductNameIndexTest {
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        index = new ProductNameIndex();
+        for (String name : List.of("Pan Integral", "Pan Blanco", "Panela", "Pasta", "Leche Entera", "Leche Desnatada")) {
+            index.add(name);
+        }
+    }
+
+    @Test
+    void startingWith_Prefix_ReturnsNamesInOrder() {
+        assertEquals(List.of("Pan Blanco", "Pan Integral", "Panela"), index.startingWith("Pan", 10));
+        assertEquals(List.of("Pan Blanco", "Pan Integral"), index.startingWith("Pan", 2));
+        assertEquals(List.of("Leche Desnatada"), index.startingWith("", 1));
+        assertTrue(index.startingWith("Queso", 10).isEmpty());
+        assertTrue(index.startingWith("pan", 10).isEmpty());
+    }
+
+    @Test
+    void containing_LongText_UsesGramsAndChecksWholeText() {
+        assertEquals(List.of("Leche Entera"), index.containing("Ente", 10));
+        assertEquals(List.of("Pan Integral"), index.containing("Integral", 10));
+        assertEquals(List.of("Leche Desnatada", "Leche Entera"), index.containing("che ", 10));
+        // con más coincidencias que las pedidas se devuelven las primeras archivadas
+        assertEquals(List.of("Leche Entera"), index.containing("che ", 1));
+        assertTrue(index.containing("Integrales", 10).isEmpty());
+        assertTrue(index.containing("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void containing_ShortText_ScansNames() {
+        assertEquals(List.of("Pasta"), index.containing("st", 10));
+        assertEquals(List.of("Panela"), index.containing("el", 10));
+        assertEquals(6, index.containing("", 10).size());
+    }
+
+    @Test
+    void remove_NameSharedByProducts_StaysUntilLastOne() {
+        index.add("Pasta");
+        index.remove("Pasta");
+        assertEquals(List.of("Pasta"), index.containing("ast", 10));
+        index.remove("Pasta");
+        assertTrue(index.containing("ast", 10).isEmpty());
+        assertTrue(index.startingWith("Pas", 10).isEmpty());
+        assertEquals(5, index.getNameCount());
+        index.remove("Pasta");
+        assertEquals(5, index.getNameCount());
+    }
+
+    @Test
+    void remove_MiddleOfSharedGram_KeepsTheOtherNames() {
+        // "Pan" está archivado bajo los tres primeros nombres: se quita el del medio
+        index.remove("Pan Blanco");
+        assertEquals(List.of("Pan Integral", "Panela"), index.containing("Pan", 10));
+        index.remove("Pan Integral");
+        index.add("Pan Blanco");
+        assertEquals(List.of("Pan Blanco", "Panela"), index.containing("Pan", 10));
+        index.remove("Panela");
+        index.remove("Pan Blanco");
+        assertTrue(index.containing("Pan", 10).isEmpty());
+        index.add("Panela");
+        assertEquals(List.of("Panela"), index.containing("ane", 10));
+    }
+
+    @Test
+    void search_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> index.startingWith(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.containing(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.startingWith("Pan", 0));
+    }
+
+    @Test
+    void enableProductNameIndex_FollowsEverySupermarketOfTheList() {
+        SupermarketList supermarketList = new SupermarketList();
+        Supermarket supermarket1 = new Supermarket("FreshMart", "New York", -74.0060f, 40.7128f);
+        Supermarket supermarket2 = new Supermarket("GreenGrocer", "Los Angeles", -118.2437f, 34.0522f);
+        supermarket1.addProduct(new CosmeticProduct("Shampoo", 5.0f, 10, "BrandA"));
+        supermarket2.addProduct(new CosmeticProduct("Shampoo", 3.0f, 20, "BrandB"));
+        supermarketList.addSupermarket(supermarket1);
+        assertNull(supermarketList.getProductNameIndex());
+
+        ProductNameIndex names = supermarketList.enableProductNameIndex();
+        assertSame(names, supermarketList.getProductNameIndex());
+        supermarketList.addSupermarket(supermarket2);
+        assertNull(supermarket2.mergeCosmeticProduct("Shower Gel", 4.0f, 1, "BrandB"));
+        assertEquals(List.of("Shampoo", "Shower Gel"), names.startingWith("Sh", 10));
+
+        supermarketList.removeSupermarket("GreenGrocer", "Los Angeles");
+        assertEquals(List.of("Shampoo"), names.startingWith("Sh", 10));
+        supermarketList.removeSupermarket("FreshMart", "New York");
+        assertEquals(0, names.getNameCount());
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares finding the cheapest stores for a product by scanning every
+ * supermarket of the list with asking the {@link ProductPriceIndex}, and
+ * measures the cost of the price changes that keep the index up to date.
+ * <p>
+ * Run with {@code java ProductPriceIndexBenchmark [stores] [productsPerStore]
+ * [rounds]} from the test classpath. It is not a unit test and is not run by
+ * the build.
+ * </p>
+ */
+public class ProductPriceIndexBenchmark {
+
+    private static final int DEFAULT_STORES = 100_000;
+    private static final int DEFAULT_PRODUCTS_PER_STORE = 20;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int TOP = 10;
+    private static final int QUERIES = 100_000;
+    private static final int SCANS = 20;
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        int stores = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STORES;
+        int products = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PRODUCTS_PER_STORE;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+        SupermarketList list = new SupermarketList();
+        for (int s = 0; s < stores; s++) {
+            Supermarket supermarket = new Supermarket("Super " + s, "City " + s % 100, 2.0f, 41.0f);
+            for (int p = 0; p < products; p++) {
+                supermarket.addProduct(new CosmeticProduct("Product " + p, 1.0f + (s * 31 + p) % 997, 5, "Brand"));
+            }
+            list.addSupermarket(supermarket);
+        }
+        long start = System.nanoTime();
+        ProductPriceIndex index = list.enablePriceIndex();
+        System.out.printf("Index built in %d ms (%d stores, %d products each)%n",
+                (System.nanoTime() - start) / 1_000_000, stores, products);
+
+        for (int round = 1; round <= rounds; round++) {
+            start = System.nanoTime();
+            float checksum = 0;
+            for (int i = 0; i < SCANS; i++) {
+                checksum += scan(list, "Product " + i % products);
+            }
+            long scan = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                checksum += index.cheapest("Product " + i % products, TOP).get(0).getPrice();
+            }
+            long indexed = System.nanoTime() - start;
+
+            List<Supermarket> supermarkets = list.getSupermarketList();
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                Supermarket supermarket = supermarkets.get(i % supermarkets.size());
+                supermarket.getProduct("Product " + i % products).setPrice(1.0f + i % 997);
+            }
+            long updates = System.nanoTime() - start;
+
+            System.out.printf("Round %d: scan %8.0f us/query | index %6.2f us/query | setPrice %6.2f us/op"
+                    + " (checksum %.0f)%n", round, scan / 1_000.0 / SCANS, indexed / 1_000.0 / QUERIES,
+                    updates / 1_000.0 / QUERIES, checksum);
+        }
+    }
+
+    /**
+     * Finds the price of the cheapest store the way it had to be done without
+     * the index.
+     */
+    private static float scan(SupermarketList list, String productName) {
+        float cheapest = Float.MAX_VALUE;
+        for (Supermarket supermarket : list) {
+            Product product = supermarket.getProduct(productName);
+            if (product != null && product.getPrice() < cheapest) {
+                cheapest = product.getPrice();
+            }
+        }
+        return cheapest;
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductPriceIndexTest {
+    private SupermarketList supermarketList;
+    private Supermarket supermarket1;
+    private Supermarket supermarket2;
+    private Supermarket supermarket3;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        supermarketList = new SupermarketList();
+        supermarket1 = new Supermarket("FreshMart", "New York", -74.0060f, 40.7128f);
+        supermarket2 = new Supermarket("GreenGrocer", "Los Angeles", -118.2437f, 34.0522f);
+        supermarket3 = new Supermarket("FreshMart", "Chicago", -87.6298f, 41.8781f);
+        supermarket1.addProduct(new CosmeticProduct("Shampoo", 5.0f, 10, "BrandA"));
+        supermarket2.addProduct(new CosmeticProduct("Shampoo", 3.0f, 20, "BrandB"));
+        supermarket3.addProduct(new CosmeticProduct("Shampoo", 4.0f, 30, "BrandC"));
+        supermarketList.addSupermarket(supermarket1);
+        supermarketList.addSupermarket(supermarket2);
+    }
+
+    private static List<Supermarket> stores(List<ProductPriceIndex.Entry> entries) {
+        return entries.stream().map(ProductPriceIndex.Entry::getSupermarket).toList();
+    }
+
+    @Test
+    void getPriceIndex_NotEnabled_ReturnsNull() {
+        assertNull(supermarketList.getPriceIndex());
+    }
+
+    @Test
+    void enablePriceIndex_ExistingAndAddedSupermarkets_AreIndexedByPrice() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        assertSame(index, supermarketList.enablePriceIndex());
+        supermarketList.addSupermarket(supermarket3);
+
+        assertEquals(List.of(supermarket2, supermarket3, supermarket1), stores(index.cheapest("Shampoo", 5)));
+        assertEquals(List.of(supermarket2, supermarket3), stores(index.cheapest("Shampoo", 2)));
+        assertEquals(3, index.getStoreCount("Shampoo"));
+        assertTrue(index.cheapest("Soap", 1).isEmpty());
+        assertTrue(index.cheapest(null, 1).isEmpty());
+    }
+
+    @Test
+    void cheapest_Entry_HasPriceAndLiveStock() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        ProductPriceIndex.Entry entry = index.cheapest("Shampoo", 1).get(0);
+        assertEquals(3.0f, entry.getPrice());
+        assertSame(supermarket2.getProduct("Shampoo"), entry.getProduct());
+        supermarket2.getProduct("Shampoo").setStock(7);
+        assertEquals(7, entry.getStock());
+    }
+
+    @Test
+    void setPrice_ReordersStores() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        supermarket1.getProduct("Shampoo").setPrice(1.0f);
+
+        assertEquals(List.of(supermarket1, supermarket2), stores(index.cheapest("Shampoo", 5)));
+        assertEquals(1.0f, index.cheapest("Shampoo", 1).get(0).getPrice());
+        assertEquals(2, index.getStoreCount("Shampoo"));
+    }
+
+    @Test
+    void samePrice_StoresInCreationOrder() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        supermarket1.getProduct("Shampoo").setPrice(3.0f);
+
+        assertEquals(List.of(supermarket1, supermarket2), stores(index.cheapest("Shampoo", 5)));
+    }
+
+    @Test
+    void updateProduct_ReplacesIndexedProduct() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        Product old = supermarket2.getProduct("Shampoo");
+        supermarket2.updateProduct(new CosmeticProduct("Shampoo", 9.0f, 1, "BrandB"));
+
+        assertEquals(List.of(supermarket1, supermarket2), stores(index.cheapest("Shampoo", 5)));
+        old.setPrice(0.5f);
+        assertEquals(List.of(supermarket1, supermarket2), stores(index.cheapest("Shampoo", 5)));
+    }
+
+    @Test
+    void merge_ExistingAndNewProducts_AreIndexed() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        assertNull(supermarket1.mergeCosmeticProduct("Shampoo", 2.0f, 10, "BrandA"));
+        assertNull(supermarket2.mergeCosmeticProduct("Shampoo", 6.0f, 10, "OtherBrand"));
+        assertNull(supermarket1.mergeFoodProduct("Milk", 1.5f, 10, "20991231"));
+
+        assertEquals(List.of(supermarket1, supermarket2), stores(index.cheapest("Shampoo", 5)));
+        assertEquals(6.0f, index.cheapest("Shampoo", 2).get(1).getPrice());
+        assertEquals(List.of(supermarket1), stores(index.cheapest("Milk", 5)));
+    }
+
+    @Test
+    void removeSupermarket_RemovesItsProducts() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        supermarketList.removeSupermarket("GreenGrocer", "Los Angeles");
+
+        assertEquals(List.of(supermarket1), stores(index.cheapest("Shampoo", 5)));
+        supermarket2.getProduct("Shampoo").setPrice(0.1f);
+        assertEquals(List.of(supermarket1), stores(index.cheapest("Shampoo", 5)));
+    }
+
+    @Test
+    void filterByCity_FilteredList_KeepsIndexOfOriginal() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        supermarketList.filterByCity("New York");
+
+        assertEquals(List.of(supermarket2, supermarket1), stores(index.cheapest("Shampoo", 5)));
+    }
+
+    @Test
+    void copy_CopiedSupermarket_IsNotIndexedUntilAdded() {
+        ProductPriceIndex index = supermarketList.enablePriceIndex();
+        Supermarket copy = supermarket1.copy();
+        copy.getProduct("Shampoo").setPrice(0.5f);
+        assertEquals(2, index.getStoreCount("Shampoo"));
+
+        supermarketList.addSupermarket(copy);
+        assertEquals(List.of(copy, supermarket2, supermarket1), stores(index.cheapest("Shampoo", 5)));
+    }
+}
@@ -2,6 +2,8 @@ import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -143,4 +145,24 @@ public class ProductTest {
         String expected = String.format("%s,%.2f,%d\n", VALID_NAME, VALID_PRICE, 5);
         assertEquals(expected, product.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void copy_ReturnsIndependentCopy() {
+        TestProduct product = new TestProduct(VALID_NAME, VALID_PRICE, 5);
+        Product copy = product.copy();
+        assertNotSame(product, copy);
+        assertEquals(product.toString(), copy.toString());
+        product.setPrice(VALID_PRICE + 1);
+        product.setStock(7);
+        assertEquals(VALID_PRICE, copy.getPrice());
+        assertEquals(5, copy.getStock());
+    }
+
+    @Test
+    void validate_ReturnsErrorOrNull() {
+        assertNull(Product.validate(VALID_NAME, VALID_PRICE, 0));
+        assertEquals(Constants.ERROR_PRODUCT_NAME_NULL_OR_EMPTY, Product.validate(null, VALID_PRICE, 0));
+        assertEquals(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO, Product.validate(VALID_NAME, -1, 0));
+        assertEquals(Constants.ERROR_STOCK_NEGATIVE, Product.validate(VALID_NAME, VALID_PRICE, -1));
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares the price queries of a {@link Supermarket} with copying its
+ * products and sorting them, which was the only way to answer them before the
+ * products were kept ordered by price.
+ * <p>
+ * Run with {@code java ProductsByPriceBenchmark [products] [rounds]} from the
+ * test classpath. It is not a unit test and is not run by the build.
+ * </p>
+ */
+public class ProductsByPriceBenchmark {
+
+    private static final int DEFAULT_PRODUCTS = 100_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int QUERIES = 1_000;
+    private static final int TOP = 10;
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PRODUCTS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Supermarket supermarket = new Supermarket("Super", "City", 2.0f, 41.0f);
+        for (int p = 0; p < products; p++) {
+            supermarket.addProduct(new CosmeticProduct("Product " + p, 1.0f + (p * 7919) % 10_000 / 100.0f, 5, "Brand"));
+        }
+        Comparator<Product> byPrice = Comparator.comparingDouble(Product::getPrice).thenComparing(Product::getName);
+        for (int round = 1; round <= rounds; round++) {
+            long found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES / 100; i++) {
+                ArrayList<Product> sorted = supermarket.getProducts();
+                sorted.sort(byPrice);
+                found += sorted.subList(sorted.size() - TOP, sorted.size()).size();
+                float min = 2.0f + i % 50;
+                found += sorted.stream().filter(p -> p.getPrice() >= min && p.getPrice() <= min + 0.5f).count();
+            }
+            long sort = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                List<Product> top = supermarket.getMostExpensiveProducts(TOP);
+                float min = 2.0f + i % 50;
+                found += top.size() + supermarket.getProductsByPrice(min, min + 0.5f).size();
+            }
+            long ordered = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                supermarket.getProduct("Product " + i * 97 % products).setPrice(1.0f + i % 10_000 / 100.0f);
+            }
+            long updates = System.nanoTime() - start;
+
+            System.out.printf("Round %d: copy+sort %8.0f us/query | ordered %7.2f us/query | setPrice %5.2f us/op"
+                    + " (%d found)%n", round, sort / 1_000.0 / (QUERIES / 100), ordered / 1_000.0 / QUERIES,
+                    updates / 1_000.0 / QUERIES, found);
+        }
+    }
+}
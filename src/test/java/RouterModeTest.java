@@ -0,0 +1,167 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouterModeTest {
+
+    private static final String TEST_DIR_PATH = "src" + File.separator + "test" + File.separator + "java"
+            + File.separator + "temp_router";
+
+    private final List<CatalogueShardServer> servers = new ArrayList<>();
+    private final List<SupermarketList> shardLists = new ArrayList<>();
+    private ByteArrayOutputStream outputStreamCaptor;
+    private CatalogueRouter router;
+    private EAC7S22425 program;
+    private UtilsIO io;
+    private FileUtils fu;
+    private RouterMode mode;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+        outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        io = new UtilsIO();
+        io.setAutoFlush(false);
+        program = new EAC7S22425();
+        fu = new FileUtils(TEST_DIR_PATH);
+        router = new CatalogueRouter();
+        router.addShard(startShard());
+        router.addShard(startShard());
+        mode = new RouterMode(program, io, fu, router);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        router.close();
+        for (CatalogueShardServer server : servers) {
+            server.stop();
+        }
+        try (Stream<Path> files = Files.walk(Path.of(fu.getDataDirectory()))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private int startShard() throws IOException {
+        SupermarketList list = new SupermarketList();
+        CatalogueShardServer server = new CatalogueShardServer(list, 0);
+        server.start();
+        servers.add(server);
+        shardLists.add(list);
+        return server.getPort();
+    }
+
+    private void exportFiles(int count) {
+        SupermarketList list = new SupermarketList();
+        for (int i = 0; i < count; i++) {
+            Supermarket supermarket = new Supermarket("Super " + i, "City " + (i % 3), 2.0f, 41.0f);
+            supermarket.addProduct(new CosmeticProduct("Crema", 10.0f, i, "Nivea"));
+            list.addSupermarket(supermarket);
+        }
+        assertTrue(program.exportSupermarkets(io, fu, list));
+    }
+
+    private void run(String script) throws IOException {
+        mode.run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    void importFiles_SpreadsTheSupermarketsOverTheShards() {
+        exportFiles(20);
+        assertEquals(20, mode.importFiles());
+        assertEquals(20, shardLists.get(0).getSize() + shardLists.get(1).getSize());
+        assertTrue(shardLists.get(0).getSize() > 0 && shardLists.get(1).getSize() > 0);
+    }
+
+    @Test
+    void importFiles_MissingFiles_ReturnsMinusOne() {
+        assertEquals(-1, mode.importFiles());
+        assertEquals(0, shardLists.get(0).getSize() + shardLists.get(1).getSize());
+    }
+
+    @Test
+    void run_AnswersTheLookups() throws IOException {
+        exportFiles(10);
+        run("IMPORT\n"
+                + "# consultes\n"
+                + "LOOKUP,Super 4,City 1\n"
+                + "PRODUCT,Super 4,City 1,Crema\n"
+                + "DISCOUNT,Super 4,City 1,Crema,50\n");
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("Super 4,City 1,2.0000000,41.0000000"));
+        assertTrue(output.contains("Crema,10.00,4,COSMETIC,Nivea"));
+        assertTrue(output.contains("5.00"));
+    }
+
+    @Test
+    void run_WrongCommands_ShowErrorsAndGoOn() throws IOException {
+        exportFiles(1);
+        run("LOOKUP,Super 0\n"
+                + "UNKNOWN\n"
+                + "LOOKUP,Super 9,City 9\n"
+                + "DISCOUNT,Super 0,City 0,Crema,abc\n"
+                + "IMPORT\n"
+                + "LOOKUP,Super 0,City 0\n");
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains(Constants.ERROR_BATCH_WRONG_FIELDS));
+        assertTrue(output.contains(Constants.ERROR_BATCH_UNKNOWN_COMMAND));
+        assertTrue(output.contains(Constants.ERROR_SUPERMARKET_NOT_FOUND));
+        assertTrue(output.contains(Constants.ERROR_IMPORT_NOT_A_NUMBER.substring(0, 9)));
+        assertTrue(output.contains("Super 0,City 0,2.0000000,41.0000000"));
+    }
+
+    @Test
+    void parsePorts_ChecksEveryPort() {
+        assertArrayEquals(new int[] { 7001, 7002 }, EAC7S22425.parsePorts("7001,7002"));
+        assertNull(EAC7S22425.parsePorts("7001,abc"));
+        assertNull(EAC7S22425.parsePorts(""));
+        assertNull(EAC7S22425.parsePorts("7001,0"));
+        assertNull(EAC7S22425.parsePorts("70000"));
+    }
+
+    @Test
+    void main_ShardPortNotInteger_ShowsError() {
+        EAC7S22425.main(new String[] { Constants.SHARD_MODE_ARGUMENT, "abc" });
+        assertTrue(outputStreamCaptor.toString().contains(Constants.ERROR_SHARD_PORT.substring(0, 10)));
+    }
+
+    @Test
+    void main_ShardPortOutOfRange_ShowsError() {
+        EAC7S22425.main(new String[] { Constants.SHARD_MODE_ARGUMENT, "-5" });
+        EAC7S22425.main(new String[] { Constants.SHARD_MODE_ARGUMENT, "70000" });
+        String error = Constants.ERROR_SHARD_PORT.substring(0, 10);
+        String output = outputStreamCaptor.toString();
+        // Cada llamada muestra su propio error
+        assertTrue(output.indexOf(error) >= 0 && output.lastIndexOf(error) > output.indexOf(error));
+    }
+
+    @Test
+    void main_RouterPortOutOfRange_ShowsError() {
+        EAC7S22425.main(new String[] { Constants.ROUTER_MODE_ARGUMENT, "7001,70000" });
+        assertTrue(outputStreamCaptor.toString().contains(Constants.ERROR_ROUTER_PORTS.substring(0, 10)));
+    }
+
+    @Test
+    void main_RouterPortsNotIntegers_ShowsError() {
+        EAC7S22425.main(new String[] { Constants.ROUTER_MODE_ARGUMENT, "7001,x" });
+        assertTrue(outputStreamCaptor.toString().contains(Constants.ERROR_ROUTER_PORTS.substring(0, 10)));
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Locale;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -206,4 +207,148 @@ class SupermarketListTest {
         String expected = supermarket1.supermarketToString() + supermarket2.supermarketToString();
         assertEquals(expected, supermarketList.listToString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void iterator_IteratesInInsertionOrderWithoutCopy() {
+        supermarketList.addSupermarket(supermarket1);
+        supermarketList.addSupermarket(supermarket2);
+        int index = 0;
+        for (Supermarket supermarket : supermarketList) {
+            assertEquals(supermarketList.getSupermarket(index++), supermarket);
+        }
+        assertEquals(2, index);
+        assertThrows(UnsupportedOperationException.class, () -> {
+            var iterator = supermarketList.iterator();
+            iterator.next();
+            iterator.remove();
+        });
+    }
+
+    private SupermarketList partitionedListWithProducts() {
+        SupermarketList partitioned = SupermarketList.partitionedByCity();
+        supermarket1.addProduct(new CosmeticProduct("Shampoo", 10.0f, 3, "Brand"));
+        supermarket2.addProduct(new CosmeticProduct("Soap", 2.0f, 5, "Brand"));
+        supermarket3.addProduct(new CosmeticProduct("Shampoo", 10.0f, 1, "Brand"));
+        Supermarket supermarket4 = new Supermarket("GreenGrocer", "New York", -73.9f, 40.7f);
+        supermarket4.addProduct(new CosmeticProduct("Gel", 4.0f, 2, "Brand"));
+        partitioned.addSupermarket(supermarket1);
+        partitioned.addSupermarket(supermarket2);
+        partitioned.addSupermarket(supermarket3);
+        partitioned.addSupermarket(supermarket4);
+        return partitioned;
+    }
+
+    @Test
+    void partitionedByCity_KeepsInsertionOrderAndCountsCities() {
+        SupermarketList partitioned = partitionedListWithProducts();
+        assertTrue(partitioned.isPartitioned());
+        assertFalse(supermarketList.isPartitioned());
+        assertEquals(4, partitioned.getSize());
+        assertEquals(3, partitioned.getPartitionCount());
+        assertEquals(supermarket2, partitioned.getSupermarket(1));
+        assertEquals(supermarket3, partitioned.getSupermarketList().get(2));
+    }
+
+    @Test
+    void partitionedByCity_LookForSupermarketAndFilterByCity_UseTheCity() {
+        SupermarketList partitioned = partitionedListWithProducts();
+        assertEquals(supermarket3, partitioned.lookForSupermarket("FreshMart", "Chicago"));
+        assertNull(partitioned.lookForSupermarket("FreshMart", "Los Angeles"));
+        assertNull(partitioned.lookForSupermarket("FreshMart", null));
+
+        SupermarketList newYork = partitioned.filterByCity("New York");
+        assertEquals(2, newYork.getSize());
+        assertEquals(supermarket1, newYork.getSupermarket(0));
+        assertEquals(0, partitioned.filterByCity("Boston").getSize());
+        assertEquals(2, partitioned.filterByName("FreshMart").getSize());
+    }
+
+    @Test
+    void writeExportTo_PartitionedList_WritesCitiesInOrder() throws Exception {
+        SupermarketList partitioned = partitionedListWithProducts();
+        StringBuilder markets = new StringBuilder();
+        StringBuilder products = new StringBuilder();
+        partitioned.writeExportTo(markets, products);
+
+        StringBuilder expectedMarkets = new StringBuilder();
+        StringBuilder expectedProducts = new StringBuilder();
+        for (int i : new int[] { 0, 3, 1, 2 }) {
+            partitioned.getSupermarket(i).writeTo(expectedMarkets);
+            partitioned.getSupermarket(i).writeProductSectionTo(expectedProducts);
+        }
+        assertEquals(expectedMarkets.toString(), markets.toString());
+        assertEquals(expectedProducts.toString(), products.toString());
+    }
+
+    @Test
+    void writeExportTo_PartitionedListInWindows_WritesCitiesInOrder() throws Exception {
+        SupermarketList partitioned = partitionedListWithProducts();
+        StringBuilder expectedMarkets = new StringBuilder();
+        StringBuilder expectedProducts = new StringBuilder();
+        partitioned.writeExportTo(expectedMarkets, expectedProducts, 1);
+        for (int window : new int[] { 2, 3, 8 }) {
+            StringBuilder markets = new StringBuilder();
+            StringBuilder products = new StringBuilder();
+            partitioned.writeExportTo(markets, products, window);
+            assertEquals(expectedMarkets.toString(), markets.toString());
+            assertEquals(expectedProducts.toString(), products.toString());
+        }
+    }
+
+    @Test
+    void writeExportTo_FlatList_WritesInInsertionOrder() throws Exception {
+        supermarketList.addSupermarket(supermarket2);
+        supermarketList.addSupermarket(supermarket1);
+        StringBuilder markets = new StringBuilder();
+        StringBuilder products = new StringBuilder();
+        supermarketList.writeExportTo(markets, products);
+        assertEquals(supermarketList.listToString(), markets.toString());
+        assertTrue(products.toString().indexOf("GreenGrocer") < products.toString().indexOf("FreshMart"));
+    }
+
+    @Test
+    void aggregates_PartitionedAndFlatLists_Match() {
+        SupermarketList partitioned = partitionedListWithProducts();
+        SupermarketList flat = new SupermarketList();
+        for (Supermarket supermarket : partitioned) {
+            flat.addSupermarket(supermarket);
+        }
+        assertEquals(11, partitioned.getTotalStock());
+        assertEquals(11, flat.getTotalStock());
+        assertEquals(58.0, partitioned.getDiscountedStockValue(0), 0.001);
+        assertEquals(flat.getDiscountedStockValue(25), partitioned.getDiscountedStockValue(25), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> partitioned.getDiscountedStockValue(101));
+    }
+
+    @Test
+    void lookForSupermarketInsensitive_IgnoresCaseAndAccents() {
+        Supermarket dia = new Supermarket("D\u00eda", "M\u00e1laga", -4.4214f, 36.7213f);
+        supermarketList.addSupermarket(supermarket1);
+        supermarketList.addSupermarket(dia);
+
+        assertSame(dia, supermarketList.lookForSupermarketInsensitive("dia", "MALAGA"));
+        assertSame(supermarket1, supermarketList.lookForSupermarketInsensitive("freshmart", "new york"));
+        assertNull(supermarketList.lookForSupermarket("dia", "malaga"));
+        assertNull(supermarketList.lookForSupermarketInsensitive("dia", "Madrid"));
+        assertNull(supermarketList.lookForSupermarketInsensitive("", "Madrid"));
+        assertNull(supermarketList.lookForSupermarketInsensitive("dia", null));
+    }
+
+    @Test
+    void lookForSupermarketInsensitive_KeepsKeysUpToDate() {
+        SupermarketList partitioned = SupermarketList.partitionedByCity();
+        partitioned.addSupermarket(supermarket1);
+        assertNull(partitioned.lookForSupermarketInsensitive("GREENGROCER", "los angeles"));
+
+        partitioned.addSupermarket(supermarket2);
+        Supermarket upper = new Supermarket("FRESHMART", "NEW YORK", -74.0060f, 40.7128f);
+        partitioned.addSupermarket(upper);
+        assertSame(supermarket2, partitioned.lookForSupermarketInsensitive("GREENGROCER", "los angeles"));
+        assertSame(supermarket1, partitioned.lookForSupermarketInsensitive("freshmart", "new york"));
+
+        partitioned.removeSupermarket("FreshMart", "New York");
+        assertSame(upper, partitioned.lookForSupermarketInsensitive("freshmart", "new york"));
+        partitioned.removeSupermarket("FRESHMART", "NEW YORK");
+        assertNull(partitioned.lookForSupermarketInsensitive("freshmart", "new york"));
+    }
+}
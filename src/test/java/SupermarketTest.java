@@ -1,10 +1,15 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -228,4 +233,206 @@ class SupermarketTest {
             () -> supermarket.applyDiscountToProduct(PRODUCT_NAME, -10.0f)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void copy_CopiesSupermarketAndProducts() {
+        supermarket.addProduct(product);
+        Supermarket copy = supermarket.copy();
+        assertEquals(supermarket.supermarketToString(), copy.supermarketToString());
+        assertEquals(supermarket.productsToString(), copy.productsToString());
+        product.setStock(1);
+        supermarket.addProduct(new CosmeticProduct("Pear", PRODUCT_PRICE, PRODUCT_STOCK, BRAND));
+        assertEquals(PRODUCT_STOCK, copy.getProduct(PRODUCT_NAME).getStock());
+        assertFalse(copy.hasProduct("Pear"));
+    }
+
+    @Test
+    void mergeCosmeticProduct_NewProduct_AddsIt() {
+        assertNull(supermarket.mergeCosmeticProduct(PRODUCT_NAME, PRODUCT_PRICE, PRODUCT_STOCK, BRAND));
+        Product merged = supermarket.getProduct(PRODUCT_NAME);
+        assertTrue(merged instanceof CosmeticProduct);
+        assertEquals(PRODUCT_STOCK, merged.getStock());
+    }
+
+    @Test
+    void mergeCosmeticProduct_ExistingProduct_UpdatesInPlace() {
+        supermarket.addProduct(product);
+        assertNull(supermarket.mergeCosmeticProduct(PRODUCT_NAME, 2.5f, 7, BRAND));
+        assertSame(product, supermarket.getProduct(PRODUCT_NAME));
+        assertEquals(2.5f, product.getPrice());
+        assertEquals(7, product.getStock());
+    }
+
+    @Test
+    void mergeCosmeticProduct_OtherBrand_ReplacesProduct() {
+        supermarket.addProduct(product);
+        assertNull(supermarket.mergeCosmeticProduct(PRODUCT_NAME, 2.5f, 7, "Other"));
+        assertEquals("Other", ((CosmeticProduct) supermarket.getProduct(PRODUCT_NAME)).getBrand());
+        assertEquals(1, supermarket.getProducts().size());
+    }
+
+    @Test
+    void mergeCosmeticProduct_InvalidValues_ReturnsErrorAndKeepsProduct() {
+        supermarket.addProduct(product);
+        assertEquals(Constants.ERROR_PRICE_NEGATIVE_OR_ZERO, supermarket.mergeCosmeticProduct(PRODUCT_NAME, 0, 7, BRAND));
+        assertEquals(Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY, supermarket.mergeCosmeticProduct(PRODUCT_NAME, 1, 7, ""));
+        assertEquals(PRODUCT_PRICE, product.getPrice());
+    }
+
+    @Test
+    void mergeFoodProduct_ExistingProduct_UpdatesInPlace() {
+        String date = LocalDate.now().plusDays(20).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String pastDate = LocalDate.now().minusDays(20).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        FoodProduct food = new FoodProduct("Milk", 1.0f, 3, date);
+        supermarket.addProduct(food);
+        assertNull(supermarket.mergeFoodProduct("Milk", 1.5f, 4, date));
+        assertNull(supermarket.mergeFoodProduct("Milk", 1.5f, 5, pastDate));
+        assertSame(food, supermarket.getProduct("Milk"));
+        assertEquals(5, food.getStock());
+        assertEquals(pastDate, food.getExpirationDate());
+        assertTrue(food.isExpired());
+    }
+
+    @Test
+    void mergeFoodProduct_InvalidDate_ReturnsErrorAndKeepsProduct() {
+        String date = LocalDate.now().plusDays(20).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        FoodProduct food = new FoodProduct("Milk", 1.0f, 3, date);
+        supermarket.addProduct(food);
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_FORMAT, supermarket.mergeFoodProduct("Milk", 1.5f, 4, "2024xx01"));
+        assertEquals(Constants.ERROR_EXPIRATION_DATE_FORMAT, supermarket.mergeFoodProduct("Bread", 1.5f, 4, "20241301"));
+        assertEquals(3, food.getStock());
+        assertFalse(supermarket.hasProduct("Bread"));
+    }
+
+    @Test
+    void mergeFoodProduct_ReplacesCosmeticWithSameName() {
+        supermarket.addProduct(product);
+        String date = LocalDate.now().plusDays(20).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        assertNull(supermarket.mergeFoodProduct(PRODUCT_NAME, 1.5f, 4, date));
+        assertTrue(supermarket.getProduct(PRODUCT_NAME) instanceof FoodProduct);
+    }
+
+    @Test
+    void writeProductSectionTo_WritesStoreLineAndRowsWithoutKey() throws IOException {
+        supermarket.addProduct(product);
+        StringBuilder section = new StringBuilder();
+        supermarket.writeProductSectionTo(section);
+        assertEquals(Constants.PRODUCTS_STORE_PREFIX + SUPERMARKET_NAME + "," + SUPERMARKET_CITY + "\n"
+                + product.toString(), section.toString());
+    }
+
+    private void addPricedProducts() {
+        supermarket.addProduct(new CosmeticProduct("Soap", 2.0f, 1, BRAND));
+        supermarket.addProduct(new CosmeticProduct("Gel", 5.0f, 1, BRAND));
+        supermarket.addProduct(new CosmeticProduct("Cream", 3.5f, 1, BRAND));
+        supermarket.addProduct(new CosmeticProduct("Balm", 2.0f, 1, BRAND));
+        supermarket.addProduct(new CosmeticProduct("Lotion", 8.0f, 1, BRAND));
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+
+    @Test
+    void getProductsByPrice_Range_ReturnsProductsByPriceAndName() {
+        addPricedProducts();
+        assertEquals(List.of("Balm", "Soap", "Cream", "Gel"), names(supermarket.getProductsByPrice(2.0f, 5.0f)));
+        assertEquals(List.of("Cream"), names(supermarket.getProductsByPrice(3.5f, 3.5f)));
+        assertTrue(supermarket.getProductsByPrice(10.0f, 20.0f).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> supermarket.getProductsByPrice(5.0f, 2.0f));
+    }
+
+    @Test
+    void getCheapestAndMostExpensiveProducts_ReturnsTopK() {
+        addPricedProducts();
+        assertEquals(List.of("Balm", "Soap"), names(supermarket.getCheapestProducts(2)));
+        assertEquals(List.of("Lotion", "Gel", "Cream"), names(supermarket.getMostExpensiveProducts(3)));
+        assertEquals(5, supermarket.getMostExpensiveProducts(10).size());
+        assertThrows(IllegalArgumentException.class, () -> supermarket.getCheapestProducts(0));
+    }
+
+    @Test
+    void getProductsByPrice_AfterChanges_KeepsOrderUpToDate() {
+        addPricedProducts();
+        assertEquals(List.of("Balm"), names(supermarket.getCheapestProducts(1)));
+
+        supermarket.getProduct("Lotion").setPrice(1.0f);
+        supermarket.addProduct(new CosmeticProduct("Oil", 9.0f, 1, BRAND));
+        supermarket.updateProduct(new CosmeticProduct("Gel", 0.5f, 1, BRAND));
+        assertNull(supermarket.mergeCosmeticProduct("Soap", 7.0f, 1, BRAND));
+        assertNull(supermarket.mergeCosmeticProduct("Cream", 6.0f, 1, "Other"));
+
+        assertEquals(List.of("Gel", "Lotion", "Balm", "Cream", "Soap", "Oil"),
+                names(supermarket.getProductsByPrice(0.0f, 100.0f)));
+        assertEquals(List.of("Oil", "Soap"), names(supermarket.getMostExpensiveProducts(2)));
+    }
+
+    @Test
+    void findProducts_ByPrefixAndText_ReturnsProductsByName() {
+        addPricedProducts();
+        assertEquals(List.of("Gel"), names(supermarket.findProductsStartingWith("G", 10)));
+        assertEquals(List.of("Cream", "Gel"), names(supermarket.findProductsContaining("e", 10)));
+        assertEquals(List.of("Lotion"), names(supermarket.findProductsContaining("otio", 10)));
+
+        supermarket.addProduct(new CosmeticProduct("Golden Lotion", 9.0f, 1, BRAND));
+        assertNull(supermarket.mergeCosmeticProduct("Gel", 1.0f, 1, "Other"));
+        assertEquals(List.of("Gel", "Golden Lotion"), names(supermarket.findProductsStartingWith("G", 10)));
+        assertEquals(List.of("Golden Lotion", "Lotion"), names(supermarket.findProductsContaining("otio", 10)));
+        assertSame(supermarket.getProduct("Gel"), supermarket.findProductsStartingWith("Gel", 1).get(0));
+    }
+
+    @Test
+    void getProductInsensitive_IgnoresCaseAndAccents() {
+        Product coffee = new CosmeticProduct("Caf\u00e9 Molido", 3.0f, 1, BRAND);
+        supermarket.addProduct(product);
+        supermarket.addProduct(coffee);
+
+        assertSame(coffee, supermarket.getProductInsensitive("cafe molido"));
+        assertSame(product, supermarket.getProductInsensitive("APPLE"));
+        assertNull(supermarket.getProduct("cafe molido"));
+        assertNull(supermarket.getProductInsensitive("Te"));
+        assertThrows(IllegalArgumentException.class, () -> supermarket.getProductInsensitive(""));
+    }
+
+    @Test
+    void getProductInsensitive_AfterChanges_KeepsKeysUpToDate() {
+        supermarket.addProduct(product);
+        assertNull(supermarket.getProductInsensitive("cafe"));
+
+        Product coffee = new CosmeticProduct("CAF\u00c9", 3.0f, 1, BRAND);
+        supermarket.addProduct(coffee);
+        assertNull(supermarket.mergeCosmeticProduct("Cafe", 2.0f, 1, BRAND));
+        assertSame(coffee, supermarket.getProductInsensitive("cafe"));
+
+        Product replacement = new CosmeticProduct("CAF\u00c9", 4.0f, 1, BRAND);
+        supermarket.updateProduct(replacement);
+        assertSame(replacement, supermarket.getProductInsensitive("cafe"));
+        assertSame(supermarket.getProduct("Cafe"), supermarket.getProductInsensitive("Cafe"));
+        supermarket.updateProduct(new CosmeticProduct("Cafe", 1.0f, 1, BRAND));
+        assertSame(replacement, supermarket.getProductInsensitive("Caf\u00e9"));
+    }
+
+    @Test
+    void getProductInsensitive_SeveralMatches_PrefersExactThenAlphabetical() {
+        Product upper = new CosmeticProduct("CAFE", 3.0f, 1, BRAND);
+        Product accented = new CosmeticProduct("Caf\u00e9", 3.0f, 1, BRAND);
+        Product plain = new CosmeticProduct("Cafe", 3.0f, 1, BRAND);
+        supermarket.addProduct(accented);
+        supermarket.addProduct(plain);
+        supermarket.addProduct(upper);
+
+        assertSame(plain, supermarket.getProductInsensitive("Cafe"));
+        assertSame(accented, supermarket.getProductInsensitive("Caf\u00e9"));
+        assertSame(upper, supermarket.getProductInsensitive("cafe"));
+        assertSame(upper, supermarket.getProductInsensitive("caf\u00e9"));
+    }
+
+    @Test
+    void mergeCosmeticProduct_EmptyBrand_ReturnsBrandError() {
+        assertEquals(Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY,
+                supermarket.mergeCosmeticProduct(PRODUCT_NAME, PRODUCT_PRICE, PRODUCT_STOCK, ""));
+        assertEquals(Constants.ERROR_PRODUCT_BRAND_NULL_OR_EMPTY,
+                supermarket.mergeCosmeticProduct(PRODUCT_NAME, PRODUCT_PRICE, PRODUCT_STOCK, null));
+        assertFalse(supermarket.hasProduct(PRODUCT_NAME));
+    }
+}
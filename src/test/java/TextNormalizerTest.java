@@ -0,0 +1,43 @@
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TextNormalizerTest {
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    @Test
+    void fold_AsciiText_LowercasesOnlyLetters() {
+        assertEquals("supermercado 24h, s.a.", TextNormalizer.fold("Supermercado 24H, S.A."));
+        assertEquals("madrid", TextNormalizer.fold("MADRID"));
+        assertEquals("", TextNormalizer.fold(""));
+    }
+
+    @Test
+    void fold_FoldedText_ReturnsSameInstance() {
+        String text = "pan integral";
+        assertSame(text, TextNormalizer.fold(text));
+    }
+
+    @Test
+    void fold_AccentedText_StripsMarksAndCase() {
+        assertEquals("dia", TextNormalizer.fold("D\u00eda"));
+        assertEquals("malaga", TextNormalizer.fold("M\u00c1LAGA"));
+        assertEquals("champu", TextNormalizer.fold("Champu\u0301"));
+        assertEquals("pinon", TextNormalizer.fold("Pi\u00f1\u00f3n"));
+        assertEquals("lleida l\u00b7l", TextNormalizer.fold("Lleida L\u00b7L"));
+        assertEquals(TextNormalizer.fold("Cig\u00fce\u00f1a"), TextNormalizer.fold("CIGUENA"));
+    }
+
+    @Test
+    void fold_Null_ReturnsNull() {
+        assertNull(TextNormalizer.fold(null));
+    }
+}
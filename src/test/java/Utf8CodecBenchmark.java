@@ -0,0 +1,98 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Compares {@link FileReader} and {@link FileWriter} with an explicit UTF-8
+ * charset against {@link Utf8LineReader} and {@link Utf8Writer} on a generated
+ * products file, once with ASCII-only rows and once with one row in ten
+ * containing accents.
+ * <p>
+ * Run with {@code java Utf8CodecBenchmark [rows] [rounds]} from the test
+ * classpath. It is not a unit test and is not run by the build.
+ * </p>
+ */
+public class Utf8CodecBenchmark {
+
+    private static final int DEFAULT_ROWS = 2_000_000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final String DIRECTORY = "benchmark_data";
+    private static final String FILE_NAME = "products.txt";
+
+    public static void main(String[] args) throws IOException {
+        Locale.setDefault(Locale.US);
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        FileUtils fu = new FileUtils(DIRECTORY);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                System.out.println("Round " + round + " (" + rows + " rows)");
+                run(fu, rows, false);
+                run(fu, rows, true);
+            }
+        } finally {
+            Files.deleteIfExists(Path.of(fu.getFilePath(FILE_NAME)));
+            new File(fu.getDataDirectory()).delete();
+        }
+    }
+
+    private static String row(int i, boolean accents) {
+        String product = accents && i % 10 == 0 ? "Champú Día " : "Shampoo Day ";
+        return "Super " + (i % 500) + ",City " + (i % 40) + "," + product + i + "," + (1 + i % 100) + ".99,"
+                + (i % 50) + ",FOOD,20301231\n";
+    }
+
+    private static void run(FileUtils fu, int rows, boolean accents) throws IOException {
+        String path = fu.getFilePath(FILE_NAME);
+        String label = accents ? "10% accented" : "ASCII only  ";
+
+        long start = System.nanoTime();
+        try (Writer writer = new BufferedWriter(new FileWriter(path, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(row(i, accents));
+            }
+        }
+        long fileWriter = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try (Writer writer = fu.openWriter(FILE_NAME)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(row(i, accents));
+            }
+        }
+        long utf8Writer = System.nanoTime() - start;
+        double megabytes = Files.size(Path.of(path)) / 1e6;
+
+        start = System.nanoTime();
+        long chars = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(path, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chars += line.length();
+            }
+        }
+        long fileReader = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try (Utf8LineReader reader = fu.openReader(FILE_NAME)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chars -= line.length();
+            }
+        }
+        long utf8Reader = System.nanoTime() - start;
+
+        System.out.printf("  %s write: FileWriter %7.1f MB/s, Utf8Writer %7.1f MB/s | read: FileReader %7.1f MB/s,"
+                + " Utf8LineReader %7.1f MB/s%s%n", label, megabytes / (fileWriter / 1e9),
+                megabytes / (utf8Writer / 1e9), megabytes / (fileReader / 1e9), megabytes / (utf8Reader / 1e9),
+                chars == 0 ? "" : " (MISMATCH)");
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class Utf8LineReaderTest {
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    private static List<String> readAll(byte[] bytes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (Utf8LineReader reader = new Utf8LineReader(new ByteArrayInputStream(bytes))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> readAll(String text) throws IOException {
+        return readAll(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readLine_AsciiAndUtf8Lines_DecodesBoth() throws IOException {
+        assertEquals(List.of("Super One,Barcelona", "Día,Champú", "€😀"),
+                readAll("Super One,Barcelona\nDía,Champú\n€😀\n"));
+    }
+
+    @Test
+    void readLine_AllTerminators_SplitsLikeBufferedReader() throws IOException {
+        assertEquals(List.of("a", "b", "c", "", "d"), readAll("a\r\nb\rc\n\nd"));
+    }
+
+    @Test
+    void readLine_EmptyStream_ReturnsNull() throws IOException {
+        try (Utf8LineReader reader = new Utf8LineReader(new ByteArrayInputStream(new byte[0]))) {
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void readLine_MalformedBytes_AreReplaced() throws IOException {
+        assertEquals(List.of("a�b"), readAll(new byte[] {'a', (byte) 0xC3, 'b'}));
+    }
+
+    @Test
+    void readLine_LinesAcrossReads_AreJoined() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append(i % 7 == 0 ? "Café " : "Shop ").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        text.append("x".repeat(200_000)).append('ñ');
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        // returns at most 1000 bytes per read, so lines and characters span reads
+        InputStream trickle = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1000));
+            }
+        };
+        List<String> lines = new ArrayList<>();
+        try (Utf8LineReader reader = new Utf8LineReader(trickle)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        assertEquals(text.toString().lines().toList(), lines);
+    }
+}
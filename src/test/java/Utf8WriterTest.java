@@ -0,0 +1,57 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class Utf8WriterTest {
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(Locale.US);  // Set the default locale to US to ensure consistent behavior across all environments
+    }
+
+    private static byte[] write(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Utf8Writer writer = new Utf8Writer(bytes)) {
+            writer.write(text);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void write_MixedText_MatchesJdkEncoder() throws IOException {
+        String text = "Super One,Barcelona\nDía,Champú,€,😀\n";
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), write(text));
+    }
+
+    @Test
+    void write_UnpairedSurrogates_AreReplaced() throws IOException {
+        String text = "a\ud83db\ude00c\ud83d";
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), write(text));
+    }
+
+    @Test
+    void write_PairSplitAcrossCalls_IsEncodedOnce() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Utf8Writer writer = new Utf8Writer(bytes)) {
+            writer.write('\ud83d');
+            writer.write("\ude00!".toCharArray());
+            writer.append("ñ");
+        }
+        assertEquals("😀!ñ", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_LargeText_FlushesBuffer() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            text.append(i % 5 == 0 ? "Café," : "Shop,").append(i).append('\n');
+        }
+        assertArrayEquals(text.toString().getBytes(StandardCharsets.UTF_8), write(text.toString()));
+    }
+}
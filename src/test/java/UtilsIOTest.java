@@ -1,12 +1,14 @@
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
 import java.util.Locale;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -419,4 +421,105 @@ public class UtilsIOTest {
                 io.showSupermarkets("DateTime1,Supermarket1,City1,text_instead_of_float,1\nDateTime2,Supermarket2,City2,1,1\nDateTime3,Supermarket3,City3,1,1\nDateTime4,Supermarket4,1,1\n");
         });
     }
+
+    /**
+     * Test of showSupermarketBoard method, of class UtilsIO.
+     */
+    @Test
+    public void testShowSupermarketBoard_SameOutputAsShowSupermarkets() {
+        SupermarketList list = new SupermarketList();
+        list.addSupermarket(new Supermarket("Mercadona", "Madrid", -3.7037899f, 40.4167747f));
+        list.addSupermarket(new Supermarket("Día", "Zaragoza", -0.8865930f, 41.6488228f));
+        list.addSupermarket(new Supermarket("El Corte Inglés", "Las Palmas de Gran Canaria", -15.4134302f, 28.1235504f));
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(expected));
+        new UtilsIO().showSupermarkets(list.listToString());
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(actual));
+        new UtilsIO().showSupermarketBoard(list);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testShowSupermarketBoard_EmptyList_NoOutput() {
+        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        UtilsIO io = new UtilsIO();
+        io.showSupermarketBoard(null);
+        io.showSupermarketBoard(List.of());
+        assertTrue(outputStreamCaptor.toString().isEmpty());
+    }
+
+    @Test
+    public void testShowSupermarketBoardPage_ShowsOnlyRequestedRows() {
+        SupermarketList list = new SupermarketList();
+        for (int i = 0; i < 5; i++) {
+            list.addSupermarket(new Supermarket("Market" + i, "City" + i, i, i));
+        }
+        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        UtilsIO io = new UtilsIO();
+
+        assertTrue(io.showSupermarketBoardPage(list, 1, 2));
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("Market2") && output.contains("Market3"));
+        assertFalse(output.contains("Market1") || output.contains("Market4"));
+        assertTrue(output.contains("2 de 3"));
+
+        assertFalse(io.showSupermarketBoardPage(list, 2, 2));
+        assertFalse(io.showSupermarketBoardPage(list, 3, 2));
+    }
+
+    @Test
+    public void testSetAutoFlushFalse_OutputBufferedUntilFlush() {
+        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        UtilsIO io = new UtilsIO();
+        io.setAutoFlush(false);
+        io.showInfo("content");
+        io.showError("error");
+        assertTrue(outputStreamCaptor.toString().isEmpty());
+
+        io.flush();
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("content") && output.contains("error"));
+    }
+
+    @Test
+    public void testSetAutoFlushTrue_FlushesPendingOutput() {
+        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        UtilsIO io = new UtilsIO();
+        io.setAutoFlush(false);
+        io.showInfo("content");
+        io.setAutoFlush(true);
+        assertTrue(outputStreamCaptor.toString().contains("content"));
+    }
+
+    @Test
+    public void testAskForString_FlushesBufferedOutputBeforeReading() {
+        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStreamCaptor));
+        UtilsIO io = new UtilsIO();
+        io.setAutoFlush(false);
+        io.showInfo("content");
+        provideInput(MESSAGE_TEST_INPUT);
+        io.askForString(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR);
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("content") && output.contains(MESSAGE_ASK_ANYTHING));
+    }
+
+    @Test
+    public void testAskSequence_SharedReaderKeepsPipedInput() {
+        provideInput("1\nMercadona\n-3.70\n40.41\n0\n");
+        UtilsIO io = new UtilsIO();
+        assertEquals(1, io.askForInteger(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR));
+        assertEquals("Mercadona", new UtilsIO().askForString(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR));
+        assertEquals(-3.70f, io.askForFloat(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR));
+        assertEquals(40.41f, io.askForFloat(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR));
+        assertEquals(0, io.askForInteger(MESSAGE_ASK_ANYTHING, MESSAGE_ERROR));
+    }
 }